@@ -0,0 +1,72 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.ConnectionPool.ConnectionPoolConfig;
+import QueryExecutor.Record.Record;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**<h1>BenchmarkDatabase class</h1>
+ * <h2>
+ * In-memory H2 database in MySQL compatibility mode used by the benchmarks instead of a MySQL server.
+ * </h2>
+ * <h3>
+ * The database lives as long as the JVM of the benchmark fork, so benchmarks work offline and without containers.
+ * Numbers measure the client side of the executor (SQL building, binding, row mapping, pooling) plus the
+ * embedded engine, they are comparable between releases, not with a networked MySQL server.
+ * </h3>
+ */
+class BenchmarkDatabase {
+    static final String URL = "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String USER = "sa";
+    static final String PASSWORD = "";
+
+    private BenchmarkDatabase() {
+    }
+
+    static void createTable(String tableName) throws SQLException {
+        execute("DROP TABLE IF EXISTS " + tableName,
+                "CREATE TABLE " + tableName + " (id INT, name VARCHAR(64), date DATE, temperature DOUBLE)");
+    }
+
+    static void execute(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            for (String sql: statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+
+    static MySQLQueryExecutor openExecutor() throws SQLException {
+        MySQLQueryExecutor executor = MySQLQueryExecutor.forUrl(URL, USER, PASSWORD,
+                new ConnectionPoolConfig().setMaxPoolSize(4).setEvictionIntervalMillis(0));
+        executor.openConnection();
+        return executor;
+    }
+
+    static Record record(int id) {
+        Record record = new Record();
+        record.addField("id", id);
+        record.addField("name", "name-" + id);
+        record.addField("date", "2020-11-08");
+        record.addField("temperature", 20.0 + id % 20);
+        return record;
+    }
+
+    static List<Record> records(int count) {
+        List<Record> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(record(i));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,36 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**<h1>BenchmarkRunner class</h1>
+ * <h2>
+ * Runs the benchmark suite and writes the results as JSON, so they can be compared between releases.
+ * </h2>
+ * <h3>
+ * Every benchmark reports throughput and sampled latency percentiles, {@link GCProfiler} adds the allocation rate
+ * ({@code gc.alloc.rate.norm} is bytes allocated per operation).
+ * Arguments: {@code [include regex] [result file]}, by default all benchmarks and {@code jmh-result.json}.
+ * The suite is run by {@code gradle :benchmarks:jmh}, arguments are given as {@code -Pinclude=… -Presult=…}.
+ * </h3>
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "QueryExecutor\\..*Benchmark";
+        String result = args.length > 1 ? args[1] : "jmh-result.json";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .forks(1)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
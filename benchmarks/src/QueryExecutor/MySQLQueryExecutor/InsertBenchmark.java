@@ -0,0 +1,71 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.Record.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**<h1>InsertBenchmark class</h1>
+ * <h2>
+ * Compares inserting records one by one with {@link MySQLQueryExecutor#insert} against
+ * multi-row inserts of {@link MySQLQueryExecutor#insertAll}.
+ * </h2>
+ * <h3>
+ * Every invocation writes {@code rowCount} rows. The table is truncated before each iteration,
+ * so it does not grow without bound during a long run.
+ * </h3>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertBenchmark {
+    private static final String TABLE = "bench_insert";
+
+    @Param({"10", "100", "1000"})
+    public int rowCount;
+
+    private MySQLQueryExecutor executor;
+    private List<Record> records;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createTable(TABLE);
+        executor = BenchmarkDatabase.openExecutor();
+        records = BenchmarkDatabase.records(rowCount);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        executor.truncate(TABLE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        executor.closeConnection();
+    }
+
+    @Benchmark
+    public int insertOneByOne() throws SQLException {
+        int inserted = 0;
+        for (Record record: records) {
+            inserted += executor.insert(TABLE, record);
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public List<Integer> insertAll() throws SQLException {
+        return executor.insertAll(TABLE, records);
+    }
+}
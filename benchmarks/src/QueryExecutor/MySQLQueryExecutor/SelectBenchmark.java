@@ -0,0 +1,90 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.Mapping.RowMapper;
+import QueryExecutor.Mapping.RowMappers;
+import QueryExecutor.Record.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**<h1>SelectBenchmark class</h1>
+ * <h2>
+ * Measures full {@link MySQLQueryExecutor#select(String)} calls and, separately, only the mapping of
+ * result rows to {@link Record} by {@link MySQLQueryExecutor#getRecordsFromResSet} and to objects by {@link RowMappers}.
+ * </h2>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SelectBenchmark {
+    private static final String TABLE = "bench_select";
+
+    @Param({"100", "1000"})
+    public int rowCount;
+
+    private MySQLQueryExecutor executor;
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createTable(TABLE);
+        executor = BenchmarkDatabase.openExecutor();
+        executor.insertAll(TABLE, BenchmarkDatabase.records(rowCount));
+        connection = BenchmarkDatabase.connect();
+        statement = connection.prepareStatement("SELECT * FROM " + TABLE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        statement.close();
+        connection.close();
+        executor.closeConnection();
+    }
+
+    @Benchmark
+    public List<Record> select() throws SQLException {
+        return executor.select(TABLE);
+    }
+
+    @Benchmark
+    public List<Record> mapRows() throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            return executor.getRecordsFromResSet(rs, rs.getMetaData());
+        }
+    }
+
+    @Benchmark
+    public List<Measurement> mapObjects() throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            RowMapper<Measurement> mapper = RowMappers.forClass(Measurement.class, rs.getMetaData());
+            List<Measurement> measurements = new ArrayList<>(rowCount);
+            while (rs.next()) {
+                measurements.add(mapper.map(rs));
+            }
+            return measurements;
+        }
+    }
+
+    public static class Measurement {
+        private int id;
+        private String name;
+        private java.sql.Date date;
+        private double temperature;
+    }
+}
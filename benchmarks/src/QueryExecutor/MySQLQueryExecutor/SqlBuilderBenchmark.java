@@ -0,0 +1,62 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.Record.Record;
+import QueryExecutor.Schema.TableSchema;
+import Tools.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**<h1>SqlBuilderBenchmark class</h1>
+ * <h2>
+ * Measures SQL generation of the executor without touching the database.
+ * </h2>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlBuilderBenchmark {
+    private static final String TABLE = "bench_sql";
+
+    private MySQLQueryExecutor executor;
+    private TableSchema schema;
+    private Record record;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createTable(TABLE);
+        executor = BenchmarkDatabase.openExecutor();
+        schema = executor.getTableSchema(TABLE);
+        record = BenchmarkDatabase.record(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        executor.closeConnection();
+    }
+
+    @Benchmark
+    public Pair<String, List<Object>> buildSetExpression() {
+        return executor.buildSetExpression(record);
+    }
+
+    @Benchmark
+    public Pair<String, List<Object>> getMatches() {
+        return executor.getMatches(schema, record);
+    }
+
+    @Benchmark
+    public String buildInsertStatement() {
+        return executor.buildInsertStatement(TABLE, "(id, name, date, temperature)", schema.getColumnCount(), 100);
+    }
+}
@@ -0,0 +1,66 @@
+package QueryExecutor.Record;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**<h1>RecordBenchmark class</h1>
+ * <h2>
+ * Measures {@link Record#equals(Object)} and {@link Record#hashCode()} of map-backed records
+ * and of records backed by a shared {@link RecordSchema}.
+ * </h2>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecordBenchmark {
+    private Record mapRecord;
+    private Record otherMapRecord;
+    private Record schemaRecord;
+    private Record otherSchemaRecord;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapRecord = mapRecord();
+        otherMapRecord = mapRecord();
+        RecordSchema schema = new RecordSchema("id", "name", "date", "temperature");
+        schemaRecord = new Record(schema, new Object[]{1, "Sosiska", "2020-11-08", 34.4});
+        otherSchemaRecord = new Record(schema, new Object[]{1, "Sosiska", "2020-11-08", 34.4});
+    }
+
+    @Benchmark
+    public boolean mapEquals() {
+        return mapRecord.equals(otherMapRecord);
+    }
+
+    @Benchmark
+    public int mapHashCode() {
+        return mapRecord.hashCode();
+    }
+
+    @Benchmark
+    public boolean schemaEquals() {
+        return schemaRecord.equals(otherSchemaRecord);
+    }
+
+    @Benchmark
+    public int schemaHashCode() {
+        return schemaRecord.hashCode();
+    }
+
+    private static Record mapRecord() {
+        Record record = new Record();
+        record.addField("id", 1);
+        record.addField("name", "Sosiska");
+        record.addField("date", "2020-11-08");
+        record.addField("temperature", 34.4);
+        return record;
+    }
+}
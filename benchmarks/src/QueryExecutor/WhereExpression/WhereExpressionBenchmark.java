@@ -0,0 +1,40 @@
+package QueryExecutor.WhereExpression;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**<h1>WhereExpressionBenchmark class</h1>
+ * <h2>
+ * Measures building a {@link WhereExpression} with several conditions and rendering it to SQL text,
+ * from raw strings and from typed {@link Predicate} conditions.
+ * </h2>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WhereExpressionBenchmark {
+
+    @Benchmark
+    public String buildExpression() {
+        WhereExpression expression = new WhereExpression();
+        expression.addCondition("id > 10")
+                .and("temperature < 35.5")
+                .or("name = 'Sosiska'")
+                .not("date = '2020-11-08'");
+        return expression.toString();
+    }
+
+    @Benchmark
+    public WhereExpression buildPredicateExpression() {
+        return new WhereExpression(Predicate.and(
+                Predicate.gt("id", 10),
+                Predicate.or(Predicate.lt("temperature", 35.5), Predicate.eq("name", "Sosiska")),
+                Predicate.not(Predicate.eq("date", "2020-11-08"))));
+    }
+}
@@ -0,0 +1,49 @@
+package QueryExecutor.Cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**<h1>CoalescingConfig class</h1>
+ * <h2>
+ * Settings of {@link QueryCoalescer}. Every setter returns the config itself, so settings can be chained:
+ * {@code new CoalescingConfig().setTableEnabled("currency", true).setTableEnabled("prices", true)}
+ * </h2>
+ * <h3>
+ * By default no table is coalesced, so the tables must be listed with {@link #setTableEnabled(String, boolean)} or
+ * all tables enabled with {@link #setDefaultEnabled(boolean)}.
+ * </h3>
+ */
+public class CoalescingConfig {
+    private boolean defaultEnabled = false;
+    private final Map<String, Boolean> tableEnabled = new HashMap<>();
+
+    /**
+     * @param defaultEnabled true coalesces selects of tables without their own setting
+     */
+    public CoalescingConfig setDefaultEnabled(boolean defaultEnabled) {
+        this.defaultEnabled = defaultEnabled;
+        return this;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @param enabled true coalesces selects of the table
+     */
+    public CoalescingConfig setTableEnabled(String tableName, boolean enabled) {
+        tableEnabled.put(tableName, enabled);
+        return this;
+    }
+
+    public boolean isDefaultEnabled() {
+        return defaultEnabled;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @return true if selects of the table are coalesced
+     */
+    public boolean isEnabled(String tableName) {
+        Boolean enabled = tableEnabled.get(tableName);
+        return enabled == null ? defaultEnabled : enabled;
+    }
+}
@@ -0,0 +1,53 @@
+package QueryExecutor.Cache;
+
+/**<h1>CoalescingStats class</h1>
+ * <h2>
+ * Immutable snapshot of {@link QueryCoalescer} counters
+ * </h2>
+ */
+public class CoalescingStats {
+    private final long executedQueries;
+    private final long coalescedCalls;
+    private final int inFlight;
+
+    CoalescingStats(long executedQueries, long coalescedCalls, int inFlight) {
+        this.executedQueries = executedQueries;
+        this.coalescedCalls = coalescedCalls;
+        this.inFlight = inFlight;
+    }
+
+    /**
+     * @return number of selects that were sent to the database
+     */
+    public long getExecutedQueries() {
+        return executedQueries;
+    }
+
+    /**
+     * @return number of calls that got the result of a select sent by another call
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls;
+    }
+
+    /**
+     * @return number of selects running at the moment of the snapshot
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public double getCoalescedRate() {
+        long calls = executedQueries + coalescedCalls;
+        return calls == 0 ? 0 : (double) coalescedCalls / calls;
+    }
+
+    @Override
+    public String toString() {
+        return "CoalescingStats{" +
+                "executedQueries=" + executedQueries +
+                ", coalescedCalls=" + coalescedCalls +
+                ", inFlight=" + inFlight +
+                '}';
+    }
+}
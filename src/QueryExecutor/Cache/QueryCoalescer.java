@@ -0,0 +1,161 @@
+package QueryExecutor.Cache;
+
+import QueryExecutor.Record.Record;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**<h1>QueryCoalescer class</h1>
+ * <h2>
+ * Single-flight execution of selects: while a select with the same table, query text and parameter values is
+ * running, later callers wait for it and get its result instead of sending the same select again.
+ * </h2>
+ * <h3>
+ * The caller that finds no running select becomes the leader and runs it on its own thread, the others block until
+ * the leader finishes. The result is shared as an unmodifiable list of read-only records
+ * ({@link Record#readOnlyCopy()}), the leader gets the same list. If the select fails, every waiting caller gets
+ * the failure: an {@link SQLException} is thrown to every follower as a new exception caused by the original one.
+ * </h3>
+ * <h3>
+ * A select is joined only while it runs, results are not kept afterwards (see {@link ResultCache} for that).
+ * {@link #detach(String)} must be called after every change of a table: callers that come after the change
+ * start a new select instead of joining one that may have read the table before the change.
+ * </h3>
+ */
+public class QueryCoalescer {
+    private final CoalescingConfig config;
+    private final Map<Key, CompletableFuture<List<Record>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public QueryCoalescer(CoalescingConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @return true if selects of the table are coalesced
+     */
+    public boolean isCoalesced(String tableName) {
+        return config.isEnabled(tableName);
+    }
+
+    /**
+     * Runs the select or joins the same select that is already running
+     * @param tableName name of the table
+     * @param query text of the select
+     * @param parameters values of the query parameters
+     * @param select runs the select, called only by the leader
+     * @return unmodifiable list of read-only records
+     * @throws SQLException if the select failed or the thread was interrupted while waiting
+     */
+    public List<Record> execute(String tableName, String query, List<Object> parameters, Query select) throws SQLException {
+        Key key = new Key(tableName, query, parameters);
+        CompletableFuture<List<Record>> flight = new CompletableFuture<>();
+        CompletableFuture<List<Record>> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        executed.increment();
+        try {
+            List<Record> result = share(select.select());
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops new callers from joining selects of the table that are running now, must be called after every change
+     * of the table
+     * @param tableName name of the table
+     */
+    public void detach(String tableName) {
+        inFlight.keySet().removeIf(key -> key.tableName.equals(tableName));
+    }
+
+    public CoalescingStats getStats() {
+        return new CoalescingStats(executed.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private static List<Record> await(CompletableFuture<List<Record>> flight) throws SQLException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a coalesced select", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                SQLException failure = (SQLException) cause;
+                throw new SQLException(failure.getMessage(), failure.getSQLState(), failure.getErrorCode(), failure);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Records that are already read-only, for example results of {@link ResultCache}, are not copied again
+     */
+    private static List<Record> share(List<Record> records) {
+        List<Record> copies = new ArrayList<>(records.size());
+        for (Record record: records) {
+            copies.add(record.isReadOnly() ? record : record.readOnlyCopy());
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Select run by the leader
+     */
+    @FunctionalInterface
+    public interface Query {
+        List<Record> select() throws SQLException;
+    }
+
+    private static class Key {
+        private final String tableName;
+        private final String query;
+        private final List<Object> parameters;
+        private final int hash;
+
+        private Key(String tableName, String query, List<Object> parameters) {
+            this.tableName = tableName;
+            this.query = query;
+            this.parameters = parameters;
+            this.hash = Objects.hash(tableName, query, parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            Key key = (Key) o;
+            return hash == key.hash && tableName.equals(key.tableName) && query.equals(key.query)
+                    && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
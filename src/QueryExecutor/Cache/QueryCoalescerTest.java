@@ -0,0 +1,135 @@
+package QueryExecutor.Cache;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class QueryCoalescerTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id", "name");
+    private static final String QUERY = "SELECT * FROM users WHERE id = ?";
+
+    @Test
+    @DisplayName("coalescing test: should run one select for identical concurrent calls")
+    void shouldRunOneSelectForConcurrentCalls() throws Exception {
+        QueryCoalescer coalescer = new QueryCoalescer(new CoalescingConfig().setTableEnabled("users", true));
+        Assertions.assertTrue(coalescer.isCoalesced("users"));
+        Assertions.assertFalse(coalescer.isCoalesced("orders"));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger selects = new AtomicInteger();
+        QueryCoalescer.Query select = () -> {
+            selects.incrementAndGet();
+            started.countDown();
+            await(release);
+            return Collections.singletonList(new Record(SCHEMA, new Object[]{1, "Ivan"}));
+        };
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Record>>> results = new ArrayList<>();
+            results.add(threads.submit(() -> coalescer.execute("users", QUERY, Collections.singletonList(1), select)));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(threads.submit(() -> coalescer.execute("users", QUERY, Collections.singletonList(1), select)));
+            }
+            for (int i = 0; i < 500 && coalescer.getStats().getCoalescedCalls() < 7; i++) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            List<Record> first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<List<Record>> result: results) {
+                Assertions.assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, selects.get());
+            Assertions.assertTrue(first.get(0).isReadOnly());
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)));
+            CoalescingStats stats = coalescer.getStats();
+            Assertions.assertEquals(1, stats.getExecutedQueries());
+            Assertions.assertEquals(7, stats.getCoalescedCalls());
+            Assertions.assertEquals(0, stats.getInFlight());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("coalescing test: should not join a select started before the table was changed")
+    void shouldNotJoinSelectAfterDetach() throws Exception {
+        QueryCoalescer coalescer = new QueryCoalescer(new CoalescingConfig().setDefaultEnabled(true));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Record>> before = threads.submit(() -> coalescer.execute("users", QUERY, Collections.singletonList(1), () -> {
+                started.countDown();
+                await(release);
+                return Collections.emptyList();
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            coalescer.detach("users");
+            List<Record> after = coalescer.execute("users", QUERY, Collections.singletonList(1),
+                    () -> Collections.singletonList(new Record(SCHEMA, new Object[]{2, "Petr"})));
+            Assertions.assertEquals(1, after.size());
+            release.countDown();
+            Assertions.assertTrue(before.get(5, TimeUnit.SECONDS).isEmpty());
+            Assertions.assertEquals(2, coalescer.getStats().getExecutedQueries());
+            Assertions.assertEquals(0, coalescer.getStats().getCoalescedCalls());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("coalescing test: should give the failure of the select to every caller")
+    void shouldGiveFailureToEveryCaller() throws Exception {
+        QueryCoalescer coalescer = new QueryCoalescer(new CoalescingConfig().setDefaultEnabled(true));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SQLException failure = new SQLException("table is locked", "HY000", 1205);
+        QueryCoalescer.Query select = () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        };
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Record>> leader = threads.submit(() -> coalescer.execute("users", QUERY, Collections.emptyList(), select));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<List<Record>> follower = threads.submit(() -> coalescer.execute("users", QUERY, Collections.emptyList(), select));
+            for (int i = 0; i < 500 && coalescer.getStats().getCoalescedCalls() < 1; i++) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            ExecutionException leaderFailure = Assertions.assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            Assertions.assertSame(failure, leaderFailure.getCause());
+            ExecutionException followerFailure = Assertions.assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            SQLException thrown = (SQLException) followerFailure.getCause();
+            Assertions.assertSame(failure, thrown.getCause());
+            Assertions.assertEquals(1205, thrown.getErrorCode());
+            Assertions.assertEquals(0, coalescer.getStats().getInFlight());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws SQLException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new SQLException(e);
+        }
+    }
+}
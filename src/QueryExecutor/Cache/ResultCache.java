@@ -0,0 +1,179 @@
+package QueryExecutor.Cache;
+
+import QueryExecutor.Record.Record;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**<h1>ResultCache class</h1>
+ * <h2>
+ * Thread-safe LRU cache of select results keyed by table, query text (selected fields and WHERE condition)
+ * and values of the query parameters.
+ * </h2>
+ * <h3>
+ * Results are stored as unmodifiable lists of read-only records ({@link Record#readOnlyCopy()}), so a hit returns
+ * the cached rows without copying and callers can not change them. Every table has a generation that is increased
+ * by {@link #invalidate(String)}. A result is stored only if the generation of its table did not change while the
+ * query was running, so a select that overlaps a write never caches rows from before the write.
+ * </h3>
+ */
+public class ResultCache {
+    private final ResultCacheConfig config;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Map<String, Long> generations = new HashMap<>();
+    private long commonGeneration;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public ResultCache(ResultCacheConfig config) {
+        this.config = config;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ResultCache.Entry> eldest) {
+                if (size() > config.getMaxEntries()) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param tableName name of the table
+     * @return true if results of the table are cached
+     */
+    public boolean isCached(String tableName) {
+        return config.getTtlMillis(tableName) > 0;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @param query text of the select
+     * @param parameters values of the query parameters
+     * @return cached result or {@code null} if it is not cached or expired
+     */
+    public synchronized List<Record> get(String tableName, String query, List<Object> parameters) {
+        Key key = new Key(tableName, query, parameters);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.records;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @return current generation of the table, must be read before the query whose result is put into the cache
+     */
+    public synchronized long getGeneration(String tableName) {
+        return generations.getOrDefault(tableName, 0L) + commonGeneration;
+    }
+
+    /**
+     * Stores the result if the table was not invalidated since {@code generation} was read
+     * @param tableName name of the table
+     * @param query text of the select
+     * @param parameters values of the query parameters
+     * @param records rows of the result
+     * @param generation generation of the table read before the query
+     * @return unmodifiable list of read-only copies of the records, whether it was stored or not
+     */
+    public List<Record> put(String tableName, String query, List<Object> parameters, List<Record> records, long generation) {
+        List<Record> copies = new ArrayList<>(records.size());
+        for (Record record: records) {
+            copies.add(record.readOnlyCopy());
+        }
+        List<Record> result = Collections.unmodifiableList(copies);
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(config.getTtlMillis(tableName));
+        if (ttlNanos <= 0) {
+            return result;
+        }
+        synchronized (this) {
+            if (getGeneration(tableName) == generation) {
+                entries.put(new Key(tableName, query, new ArrayList<>(parameters)), new Entry(result, System.nanoTime() + ttlNanos));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all results of the table, must be called after every change of the table
+     * @param tableName name of the table
+     */
+    public synchronized void invalidate(String tableName) {
+        generations.merge(tableName, 1L, Long::sum);
+        Iterator<Key> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().tableName.equals(tableName)) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        commonGeneration++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized ResultCacheStats getStats() {
+        return new ResultCacheStats(entries.size(), hits, misses, evictions, expirations, invalidations);
+    }
+
+    private static class Key {
+        private final String tableName;
+        private final String query;
+        private final List<Object> parameters;
+
+        private Key(String tableName, String query, List<Object> parameters) {
+            this.tableName = tableName;
+            this.query = query;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            Key key = (Key) o;
+            return tableName.equals(key.tableName) && query.equals(key.query) && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableName, query, parameters);
+        }
+    }
+
+    private static class Entry {
+        private final List<Record> records;
+        private final long expiresAt;
+
+        private Entry(List<Record> records, long expiresAt) {
+            this.records = records;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
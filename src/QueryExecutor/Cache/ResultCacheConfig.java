@@ -0,0 +1,64 @@
+package QueryExecutor.Cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**<h1>ResultCacheConfig class</h1>
+ * <h2>
+ * Settings of {@link ResultCache}. Every setter returns the config itself, so settings can be chained:
+ * {@code new ResultCacheConfig().setMaxEntries(500).setTableTtlMillis("currency", 60_000)}
+ * </h2>
+ * <h3>
+ * Only tables with a positive time to live are cached. By default no table has one, so the tables to cache must be
+ * listed with {@link #setTableTtlMillis(String, long)} or all tables enabled with {@link #setDefaultTtlMillis(long)}.
+ * </h3>
+ */
+public class ResultCacheConfig {
+    private int maxEntries = 1000;
+    private long defaultTtlMillis = 0;
+    private final Map<String, Long> tableTtlMillis = new HashMap<>();
+
+    /**
+     * @param maxEntries maximum number of cached results, the least recently used result is evicted first
+     */
+    public ResultCacheConfig setMaxEntries(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * @param defaultTtlMillis time to live of results of tables without their own setting, 0 does not cache them
+     */
+    public ResultCacheConfig setDefaultTtlMillis(long defaultTtlMillis) {
+        this.defaultTtlMillis = defaultTtlMillis;
+        return this;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @param ttlMillis time to live of results of the table, 0 does not cache them
+     */
+    public ResultCacheConfig setTableTtlMillis(String tableName, long ttlMillis) {
+        tableTtlMillis.put(tableName, ttlMillis);
+        return this;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getDefaultTtlMillis() {
+        return defaultTtlMillis;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @return time to live of results of the table, 0 if they are not cached
+     */
+    public long getTtlMillis(String tableName) {
+        return tableTtlMillis.getOrDefault(tableName, defaultTtlMillis);
+    }
+}
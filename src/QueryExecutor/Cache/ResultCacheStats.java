@@ -0,0 +1,77 @@
+package QueryExecutor.Cache;
+
+/**<h1>ResultCacheStats class</h1>
+ * <h2>
+ * Immutable snapshot of {@link ResultCache} counters
+ * </h2>
+ */
+public class ResultCacheStats {
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+
+    ResultCacheStats(int size, long hits, long misses, long evictions, long expirations, long invalidations) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    /**
+     * @return number of cached results
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of results removed because the cache was full
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return number of results removed because their time to live was over
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * @return number of results removed because their table was changed
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultCacheStats{" +
+                "size=" + size +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations +
+                ", invalidations=" + invalidations +
+                '}';
+    }
+}
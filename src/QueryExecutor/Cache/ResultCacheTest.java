@@ -0,0 +1,61 @@
+package QueryExecutor.Cache;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.List;
+
+class ResultCacheTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id", "name");
+    private static final List<Record> ROWS = Collections.singletonList(new Record(SCHEMA, new Object[]{1, "Ivan"}));
+
+    @Test
+    @DisplayName("cache test: should return read-only rows until the table is invalidated")
+    void shouldReturnReadOnlyRowsUntilInvalidated() {
+        ResultCache cache = new ResultCache(new ResultCacheConfig().setTableTtlMillis("users", 60_000));
+        Assertions.assertTrue(cache.isCached("users"));
+        Assertions.assertFalse(cache.isCached("orders"));
+        Assertions.assertNull(cache.get("users", "SELECT * FROM users", Collections.emptyList()));
+        cache.put("users", "SELECT * FROM users", Collections.emptyList(), ROWS, cache.getGeneration("users"));
+        List<Record> cached = cache.get("users", "SELECT * FROM users", Collections.emptyList());
+        Assertions.assertEquals(ROWS, cached);
+        Assertions.assertTrue(cached.get(0).isReadOnly());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> cached.get(0).addField("id", 2));
+        cache.invalidate("users");
+        Assertions.assertNull(cache.get("users", "SELECT * FROM users", Collections.emptyList()));
+        ResultCacheStats stats = cache.getStats();
+        Assertions.assertEquals(1, stats.getHits());
+        Assertions.assertEquals(2, stats.getMisses());
+        Assertions.assertEquals(1, stats.getInvalidations());
+    }
+
+    @Test
+    @DisplayName("cache test: should not store a result read before the table was invalidated")
+    void shouldNotStoreStaleResult() {
+        ResultCache cache = new ResultCache(new ResultCacheConfig().setDefaultTtlMillis(60_000));
+        long generation = cache.getGeneration("users");
+        cache.invalidate("users");
+        cache.put("users", "SELECT * FROM users", Collections.emptyList(), ROWS, generation);
+        Assertions.assertNull(cache.get("users", "SELECT * FROM users", Collections.emptyList()));
+    }
+
+    @Test
+    @DisplayName("cache test: should evict the least recently used result and expired results")
+    void shouldEvictLeastRecentlyUsedAndExpiredResults() throws InterruptedException {
+        ResultCache cache = new ResultCache(new ResultCacheConfig().setMaxEntries(2)
+                .setDefaultTtlMillis(60_000).setTableTtlMillis("rates", 1));
+        cache.put("users", "q1", Collections.emptyList(), ROWS, cache.getGeneration("users"));
+        cache.put("users", "q2", Collections.emptyList(), ROWS, cache.getGeneration("users"));
+        cache.get("users", "q1", Collections.emptyList());
+        cache.put("users", "q3", Collections.emptyList(), ROWS, cache.getGeneration("users"));
+        Assertions.assertNull(cache.get("users", "q2", Collections.emptyList()));
+        Assertions.assertNotNull(cache.get("users", "q1", Collections.emptyList()));
+        Assertions.assertEquals(1, cache.getStats().getEvictions());
+        cache.put("rates", "q4", Collections.emptyList(), ROWS, cache.getGeneration("rates"));
+        Thread.sleep(5);
+        Assertions.assertNull(cache.get("rates", "q4", Collections.emptyList()));
+        Assertions.assertEquals(1, cache.getStats().getExpirations());
+    }
+}
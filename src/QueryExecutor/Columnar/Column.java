@@ -0,0 +1,92 @@
+package QueryExecutor.Columnar;
+
+import java.util.BitSet;
+
+/**<h1>Column class</h1>
+ * <h2>
+ * One column of a {@link ColumnarResult}: values of all rows stored in a single array and a bitmap of NULL rows.
+ * </h2>
+ * <h3>
+ * Numeric columns are stored in primitive arrays ({@link IntColumn}, {@link LongColumn}, {@link DoubleColumn}),
+ * other columns in an object array ({@link ObjectColumn}). The primitive value of a NULL row is 0.
+ * </h3>
+ */
+public abstract class Column {
+    private final String name;
+    private final int jdbcType;
+    private final BitSet nulls = new BitSet();
+    int size;
+
+    Column(String name, int jdbcType) {
+        this.name = name;
+        this.jdbcType = jdbcType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return type of the column from {@link java.sql.Types}
+     */
+    public int getJdbcType() {
+        return jdbcType;
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        checkRow(row);
+        return nulls.get(row);
+    }
+
+    /**
+     * @return number of non-NULL values
+     */
+    public int count() {
+        return size - nulls.cardinality();
+    }
+
+    /**
+     * @return bitmap with a set bit for every NULL row
+     */
+    public BitSet getNulls() {
+        return (BitSet) nulls.clone();
+    }
+
+    /**
+     * Boxed access to the value of the row, mainly for debugging and conversion back to records
+     * @param row index of the row
+     * @return value of the row or {@code null}
+     */
+    public abstract Object getObject(int row);
+
+    void setNull(int row) {
+        nulls.set(row);
+    }
+
+    boolean hasNulls() {
+        return !nulls.isEmpty();
+    }
+
+    boolean isNullUnchecked(int row) {
+        return nulls.get(row);
+    }
+
+    void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+        }
+    }
+
+    static int grow(int capacity) {
+        return Math.max(16, capacity + (capacity >> 1));
+    }
+
+    abstract void trim();
+}
@@ -0,0 +1,38 @@
+package QueryExecutor.Columnar;
+import org.junit.jupiter.api.*;
+
+import java.sql.Types;
+
+class ColumnTest {
+
+    @Test
+    @DisplayName("aggregate test: should skip NULL rows in sum, min, max and count")
+    void shouldSkipNullsInAggregates() {
+        IntColumn column = new IntColumn("age", Types.INTEGER);
+        column.add(4);
+        column.addNull();
+        column.add(-2);
+        column.add(10);
+        column.trim();
+        Assertions.assertEquals(4, column.size());
+        Assertions.assertEquals(3, column.count());
+        Assertions.assertEquals(12, column.sum());
+        Assertions.assertEquals(-2, column.min().getAsInt());
+        Assertions.assertEquals(10, column.max().getAsInt());
+        Assertions.assertTrue(column.isNull(1));
+        Assertions.assertNull(column.getObject(1));
+        Assertions.assertEquals(4, column.getValues().length);
+    }
+
+    @Test
+    @DisplayName("aggregate test: should give empty min and max if all rows are NULL")
+    void shouldGiveEmptyMinMaxIfAllRowsAreNull() {
+        DoubleColumn column = new DoubleColumn("temperature", Types.DOUBLE);
+        column.addNull();
+        column.addNull();
+        Assertions.assertEquals(0, column.count());
+        Assertions.assertEquals(0.0, column.sum(), 0.0);
+        Assertions.assertFalse(column.min().isPresent());
+        Assertions.assertFalse(column.max().isPresent());
+    }
+}
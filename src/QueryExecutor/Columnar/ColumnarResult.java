@@ -0,0 +1,157 @@
+package QueryExecutor.Columnar;
+
+import QueryExecutor.Record.Exceptions.FieldNameDoesNotExistsException;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**<h1>ColumnarResult class</h1>
+ * <h2>
+ * Result of a select stored column by column instead of row by row.
+ * </h2>
+ * <h3>
+ * Integer columns that fit into {@code int} are read with {@link ResultSet#getInt(int)} into {@link IntColumn},
+ * other integer columns with {@link ResultSet#getLong(int)} into {@link LongColumn} and floating point columns with
+ * {@link ResultSet#getDouble(int)} into {@link DoubleColumn}, so numeric values are never boxed.
+ * DECIMAL, unsigned BIGINT and all non-numeric columns are kept as objects in {@link ObjectColumn}.
+ * </h3>
+ */
+public class ColumnarResult {
+    private final List<Column> columns;
+    private final Map<String, Column> columnsByName;
+    private final int rowCount;
+
+    private ColumnarResult(List<Column> columns, int rowCount) {
+        this.columns = Collections.unmodifiableList(columns);
+        this.columnsByName = new HashMap<>();
+        for (Column column: columns) {
+            columnsByName.put(column.getName(), column);
+        }
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Reads all remaining rows of the result set
+     * @param rs result set positioned before the first row
+     * @return columnar copy of the result
+     * @throws SQLException
+     */
+    public static ColumnarResult read(ResultSet rs) throws SQLException {
+        ResultSetMetaData rsmd = rs.getMetaData();
+        int colCount = rsmd.getColumnCount();
+        Column[] columns = new Column[colCount];
+        for (int i = 1; i <= colCount; i++) {
+            columns[i - 1] = createColumn(rsmd, i);
+        }
+        int rowCount = 0;
+        while (rs.next()) {
+            for (int i = 1; i <= colCount; i++) {
+                Column column = columns[i - 1];
+                if (column instanceof IntColumn) {
+                    int value = rs.getInt(i);
+                    if (value == 0 && rs.wasNull()) {
+                        ((IntColumn) column).addNull();
+                    } else {
+                        ((IntColumn) column).add(value);
+                    }
+                } else if (column instanceof LongColumn) {
+                    long value = rs.getLong(i);
+                    if (value == 0 && rs.wasNull()) {
+                        ((LongColumn) column).addNull();
+                    } else {
+                        ((LongColumn) column).add(value);
+                    }
+                } else if (column instanceof DoubleColumn) {
+                    double value = rs.getDouble(i);
+                    if (value == 0 && rs.wasNull()) {
+                        ((DoubleColumn) column).addNull();
+                    } else {
+                        ((DoubleColumn) column).add(value);
+                    }
+                } else {
+                    ((ObjectColumn) column).add(rs.getObject(i));
+                }
+            }
+            rowCount++;
+        }
+        List<Column> columnList = new ArrayList<>(colCount);
+        for (Column column: columns) {
+            column.trim();
+            columnList.add(column);
+        }
+        return new ColumnarResult(columnList, rowCount);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param name name of the column
+     * @return column of the result
+     * @throws FieldNameDoesNotExistsException if the result has no such column
+     */
+    public Column getColumn(String name) {
+        Column column = columnsByName.get(name);
+        if (column == null) {
+            throw new FieldNameDoesNotExistsException("Result does not contain the column with name: " + name);
+        }
+        return column;
+    }
+
+    public IntColumn getIntColumn(String name) {
+        return getColumn(name, IntColumn.class);
+    }
+
+    public LongColumn getLongColumn(String name) {
+        return getColumn(name, LongColumn.class);
+    }
+
+    public DoubleColumn getDoubleColumn(String name) {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    public ObjectColumn getObjectColumn(String name) {
+        return getColumn(name, ObjectColumn.class);
+    }
+
+    private <T extends Column> T getColumn(String name, Class<T> type) {
+        Column column = getColumn(name);
+        if (!type.isInstance(column)) {
+            throw new ClassCastException("Column '" + name + "' is " + column.getClass().getSimpleName()
+                    + ", not " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    private static Column createColumn(ResultSetMetaData rsmd, int index) throws SQLException {
+        String name = rsmd.getColumnName(index);
+        int type = rsmd.getColumnType(index);
+        switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                return new IntColumn(name, type);
+            case Types.INTEGER:
+                return rsmd.isSigned(index) ? new IntColumn(name, type) : new LongColumn(name, type);
+            case Types.BIGINT:
+                return rsmd.isSigned(index) ? new LongColumn(name, type) : new ObjectColumn(name, type);
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return new DoubleColumn(name, type);
+            default:
+                return new ObjectColumn(name, type);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package QueryExecutor.Columnar;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+/**<h1>DoubleColumn class</h1>
+ * <h2>
+ * {@link Column} of {@code double} values. Aggregates skip NULL rows and work on the primitive array without boxing.
+ * </h2>
+ */
+public class DoubleColumn extends Column {
+    private double[] values = new double[16];
+
+    DoubleColumn(String name, int jdbcType) {
+        super(name, jdbcType);
+    }
+
+    public double getDouble(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    /**
+     * @return array of all values, NULL rows hold 0. The array belongs to the column and must not be changed
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    public double sum() {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    public OptionalDouble min() {
+        boolean found = false;
+        double min = 0;
+        boolean checkNulls = hasNulls();
+        for (int i = 0; i < size; i++) {
+            if (checkNulls && isNullUnchecked(i)) {
+                continue;
+            }
+            if (!found || values[i] < min) {
+                min = values[i];
+                found = true;
+            }
+        }
+        return found ? OptionalDouble.of(min) : OptionalDouble.empty();
+    }
+
+    public OptionalDouble max() {
+        boolean found = false;
+        double max = 0;
+        boolean checkNulls = hasNulls();
+        for (int i = 0; i < size; i++) {
+            if (checkNulls && isNullUnchecked(i)) {
+                continue;
+            }
+            if (!found || values[i] > max) {
+                max = values[i];
+                found = true;
+            }
+        }
+        return found ? OptionalDouble.of(max) : OptionalDouble.empty();
+    }
+
+    void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(size));
+        }
+        values[size++] = value;
+    }
+
+    void addNull() {
+        add(0.0);
+        setNull(size - 1);
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package QueryExecutor.Columnar;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+/**<h1>IntColumn class</h1>
+ * <h2>
+ * {@link Column} of {@code int} values. Aggregates skip NULL rows and work on the primitive array without boxing.
+ * </h2>
+ */
+public class IntColumn extends Column {
+    private int[] values = new int[16];
+
+    IntColumn(String name, int jdbcType) {
+        super(name, jdbcType);
+    }
+
+    public int getInt(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    /**
+     * @return array of all values, NULL rows hold 0. The array belongs to the column and must not be changed
+     */
+    public int[] getValues() {
+        return values;
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    public OptionalInt min() {
+        boolean found = false;
+        int min = 0;
+        boolean checkNulls = hasNulls();
+        for (int i = 0; i < size; i++) {
+            if (checkNulls && isNullUnchecked(i)) {
+                continue;
+            }
+            if (!found || values[i] < min) {
+                min = values[i];
+                found = true;
+            }
+        }
+        return found ? OptionalInt.of(min) : OptionalInt.empty();
+    }
+
+    public OptionalInt max() {
+        boolean found = false;
+        int max = 0;
+        boolean checkNulls = hasNulls();
+        for (int i = 0; i < size; i++) {
+            if (checkNulls && isNullUnchecked(i)) {
+                continue;
+            }
+            if (!found || values[i] > max) {
+                max = values[i];
+                found = true;
+            }
+        }
+        return found ? OptionalInt.of(max) : OptionalInt.empty();
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(size));
+        }
+        values[size++] = value;
+    }
+
+    void addNull() {
+        add(0);
+        setNull(size - 1);
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package QueryExecutor.Columnar;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**<h1>LongColumn class</h1>
+ * <h2>
+ * {@link Column} of {@code long} values. Aggregates skip NULL rows and work on the primitive array without boxing.
+ * </h2>
+ */
+public class LongColumn extends Column {
+    private long[] values = new long[16];
+
+    LongColumn(String name, int jdbcType) {
+        super(name, jdbcType);
+    }
+
+    public long getLong(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    /**
+     * @return array of all values, NULL rows hold 0. The array belongs to the column and must not be changed
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    @Override
+    public Object getObject(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    public OptionalLong min() {
+        boolean found = false;
+        long min = 0;
+        boolean checkNulls = hasNulls();
+        for (int i = 0; i < size; i++) {
+            if (checkNulls && isNullUnchecked(i)) {
+                continue;
+            }
+            if (!found || values[i] < min) {
+                min = values[i];
+                found = true;
+            }
+        }
+        return found ? OptionalLong.of(min) : OptionalLong.empty();
+    }
+
+    public OptionalLong max() {
+        boolean found = false;
+        long max = 0;
+        boolean checkNulls = hasNulls();
+        for (int i = 0; i < size; i++) {
+            if (checkNulls && isNullUnchecked(i)) {
+                continue;
+            }
+            if (!found || values[i] > max) {
+                max = values[i];
+                found = true;
+            }
+        }
+        return found ? OptionalLong.of(max) : OptionalLong.empty();
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(size));
+        }
+        values[size++] = value;
+    }
+
+    void addNull() {
+        add(0L);
+        setNull(size - 1);
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package QueryExecutor.Columnar;
+
+import java.util.Arrays;
+
+/**<h1>ObjectColumn class</h1>
+ * <h2>
+ * {@link Column} of non-numeric values kept as objects
+ * </h2>
+ */
+public class ObjectColumn extends Column {
+    private Object[] values = new Object[16];
+
+    ObjectColumn(String name, int jdbcType) {
+        super(name, jdbcType);
+    }
+
+    @Override
+    public Object getObject(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    /**
+     * @return array of all values. The array belongs to the column and must not be changed
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    void add(Object value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, grow(size));
+        }
+        if (value == null) {
+            setNull(size);
+        }
+        values[size++] = value;
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
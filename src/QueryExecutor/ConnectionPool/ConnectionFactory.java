@@ -0,0 +1,13 @@
+package QueryExecutor.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source of new physical connections for {@link ConnectionPool}
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    Connection create() throws SQLException;
+}
@@ -0,0 +1,273 @@
+package QueryExecutor.ConnectionPool;
+
+import QueryExecutor.ConnectionPool.Exceptions.ConnectionPoolTimeoutException;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.ConnectionIsClosedException;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**<h1>ConnectionPool class</h1>
+ * <h2>
+ * A bounded, thread-safe pool of JDBC connections.
+ * </h2>
+ * <h3>
+ * The number of leased connections is bounded by a fair {@link Semaphore}, so callers are served in arrival order
+ * and wait at most {@link ConnectionPoolConfig#getBorrowTimeoutMillis()} before
+ * {@link ConnectionPoolTimeoutException} is thrown. Idle connections are kept in a LIFO deque, which keeps the most
+ * recently used (warm) connections in circulation and lets the cold ones age out. A connection is retired when it
+ * exceeds the max lifetime, stays idle longer than the idle timeout or fails validation on borrow.
+ * </h3>
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final ConnectionFactory factory;
+    private final ConnectionPoolConfig config;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalBorrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    /**
+     * Creates pool of connections obtained from {@code DriverManager}
+     * @param url full JDBC URL of database
+     * @param user username of db user
+     * @param password password of db user
+     * @param config pool settings
+     */
+    public ConnectionPool(String url, String user, String password, ConnectionPoolConfig config) {
+        this(() -> {
+            Properties properties = new Properties();
+            properties.putAll(config.getConnectionProperties());
+            properties.setProperty("user", user);
+            properties.setProperty("password", password);
+            return DriverManager.getConnection(url, properties);
+        }, config);
+    }
+
+    public ConnectionPool(ConnectionFactory factory, ConnectionPoolConfig config) {
+        this.factory = factory;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxPoolSize(), true);
+        if (config.getEvictionIntervalMillis() > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "QueryExecutor-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = config.getEvictionIntervalMillis();
+            evictor.scheduleWithFixedDelay(this::evict, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    /**
+     * Leases a connection. The lease must be closed to give the connection back.
+     * @return leased connection
+     * @throws SQLException if a new physical connection can not be opened
+     * @throws ConnectionPoolTimeoutException if no connection becomes free within the borrow timeout
+     * @throws ConnectionIsClosedException if the pool is closed
+     */
+    public PooledConnection borrow() throws SQLException {
+        checkOpen();
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new ConnectionPoolTimeoutException("No connection became available within "
+                        + config.getBorrowTimeoutMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        return lease(start);
+    }
+
+    /**
+     * Leases a connection only if one is available at once, without waiting for the borrow timeout
+     * @return leased connection or {@code null} if all connections are leased
+     * @throws SQLException if a new physical connection can not be opened
+     * @throws ConnectionIsClosedException if the pool is closed
+     */
+    public PooledConnection tryBorrow() throws SQLException {
+        checkOpen();
+        long start = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            return null;
+        }
+        return lease(start);
+    }
+
+    /**
+     * Gives an idle or a new connection for an acquired permit, the permit is released if it fails
+     */
+    private PooledConnection lease(long start) throws SQLException {
+        try {
+            checkOpen();
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(this, factory.create(), config.getStatementCacheSize());
+                created.increment();
+            }
+            pooled.markBorrowed();
+            active.incrementAndGet();
+            recordBorrow(System.nanoTime() - start);
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of connections currently leased, without creating a {@link PoolStats} snapshot
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * @return snapshot of pool counters
+     */
+    public PoolStats getStats() {
+        return new PoolStats(active.get(), idle.size(), permits.getQueueLength(),
+                created.sum(), destroyed.sum(), borrowCount.sum(), timeouts.sum(),
+                totalBorrowNanos.sum(), maxBorrowNanos.get(), statementHits.sum(), statementMisses.sum());
+    }
+
+    public ConnectionPoolConfig getConfig() {
+        return config;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes all idle connections. Leased connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        try {
+            active.decrementAndGet();
+            if (closed || pooled.isBroken() || isExpired(pooled, System.nanoTime()) || isClosed(pooled)
+                    || !pooled.resetState()) {
+                destroy(pooled);
+            } else {
+                pooled.markReturned();
+                idle.offerFirst(pooled);
+                if (closed && idle.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    void recordStatementHit() {
+        statementHits.increment();
+    }
+
+    void recordStatementMiss() {
+        statementMisses.increment();
+    }
+
+    private PooledConnection takeIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long now = System.nanoTime();
+            if (isExpired(pooled, now) || isIdleTooLong(pooled, now) || !isValid(pooled, now)) {
+                destroy(pooled);
+            } else {
+                return pooled;
+            }
+        }
+        return null;
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        for (PooledConnection pooled : idle) {
+            if ((isExpired(pooled, now) || isIdleTooLong(pooled, now)) && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        long maxLifetime = config.getMaxLifetimeMillis();
+        return maxLifetime > 0 && now - pooled.getCreatedAt() > TimeUnit.MILLISECONDS.toNanos(maxLifetime);
+    }
+
+    private boolean isIdleTooLong(PooledConnection pooled, long now) {
+        long idleTimeout = config.getIdleTimeoutMillis();
+        return idleTimeout > 0 && now - pooled.getLastReturnedAt() > TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+    }
+
+    private boolean isValid(PooledConnection pooled, long now) {
+        if (!config.isValidateOnBorrow()
+                || now - pooled.getLastReturnedAt() < TimeUnit.MILLISECONDS.toNanos(config.getValidationSkipMillis())) {
+            return true;
+        }
+        try {
+            return pooled.getConnection().isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isClosed(PooledConnection pooled) {
+        try {
+            return pooled.getConnection().isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        pooled.closePhysical();
+        destroyed.increment();
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.increment();
+        totalBorrowNanos.add(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new ConnectionIsClosedException("Connection pool is closed");
+        }
+    }
+}
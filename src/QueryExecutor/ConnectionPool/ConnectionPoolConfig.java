@@ -0,0 +1,184 @@
+package QueryExecutor.ConnectionPool;
+
+import java.util.Properties;
+
+/**<h1>ConnectionPoolConfig class</h1>
+ * <h2>
+ * Settings of {@link ConnectionPool}. Every setter returns the config itself, so settings can be chained:
+ * {@code new ConnectionPoolConfig().setMaxPoolSize(32).setBorrowTimeoutMillis(2000)}
+ * </h2>
+ */
+public class ConnectionPoolConfig {
+    private int maxPoolSize = 10;
+    private long borrowTimeoutMillis = 30_000;
+    private long idleTimeoutMillis = 600_000;
+    private long maxLifetimeMillis = 1_800_000;
+    private long evictionIntervalMillis = 30_000;
+    private boolean validateOnBorrow = true;
+    private long validationSkipMillis = 500;
+    private int validationTimeoutSeconds = 5;
+    private int statementCacheSize = 64;
+    private final Properties connectionProperties = new Properties();
+
+    /**
+     * @param maxPoolSize maximum number of physical connections (active and idle together)
+     */
+    public ConnectionPoolConfig setMaxPoolSize(int maxPoolSize) {
+        if (maxPoolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxPoolSize);
+        }
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    /**
+     * @param borrowTimeoutMillis how long a caller waits for a free connection before
+     * {@link QueryExecutor.ConnectionPool.Exceptions.ConnectionPoolTimeoutException} is thrown
+     */
+    public ConnectionPoolConfig setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @param idleTimeoutMillis idle connections older than this are closed by the evictor, 0 disables idle eviction
+     */
+    public ConnectionPoolConfig setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @param maxLifetimeMillis connections older than this are retired on borrow, return or eviction, 0 disables the limit
+     */
+    public ConnectionPoolConfig setMaxLifetimeMillis(long maxLifetimeMillis) {
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        return this;
+    }
+
+    /**
+     * @param evictionIntervalMillis period of the background evictor, 0 disables the evictor thread
+     */
+    public ConnectionPoolConfig setEvictionIntervalMillis(long evictionIntervalMillis) {
+        this.evictionIntervalMillis = evictionIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @param validateOnBorrow if true, an idle connection is checked with {@link java.sql.Connection#isValid(int)}
+     * before it is handed out
+     */
+    public ConnectionPoolConfig setValidateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+        return this;
+    }
+
+    /**
+     * @param validationSkipMillis connections returned to the pool less than this long ago are not validated again
+     */
+    public ConnectionPoolConfig setValidationSkipMillis(long validationSkipMillis) {
+        this.validationSkipMillis = validationSkipMillis;
+        return this;
+    }
+
+    public ConnectionPoolConfig setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        return this;
+    }
+
+    /**
+     * @param statementCacheSize number of prepared statements cached per connection, 0 disables the cache
+     */
+    public ConnectionPoolConfig setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    /**
+     * Switches MySQL Connector/J between client-side statement preparation (default) and server-side
+     * prepared statements, which are parsed and planned by the server once per connection and receive
+     * values in binary form
+     * @param serverPreparedStatements true to prepare statements on the server
+     */
+    public ConnectionPoolConfig setServerPreparedStatements(boolean serverPreparedStatements) {
+        return setConnectionProperty("useServerPrepStmts", String.valueOf(serverPreparedStatements));
+    }
+
+    /**
+     * Enables MySQL Connector/J server-side cursors, so streaming selects with a positive fetch size receive
+     * rows in portions instead of one by one
+     * @param cursorFetch true to fetch rows from server-side cursors
+     */
+    public ConnectionPoolConfig setCursorFetch(boolean cursorFetch) {
+        return setConnectionProperty("useCursorFetch", String.valueOf(cursorFetch));
+    }
+
+    /**
+     * Allows MySQL Connector/J to send client data for {@code LOAD DATA LOCAL INFILE}, which is required by bulk loads.
+     * The server must allow it too ({@code local_infile=ON})
+     * @param allowLoadLocalInfile true to allow local data loading
+     */
+    public ConnectionPoolConfig setAllowLoadLocalInfile(boolean allowLoadLocalInfile) {
+        return setConnectionProperty("allowLoadLocalInfile", String.valueOf(allowLoadLocalInfile));
+    }
+
+    /**
+     * Lets MySQL Connector/J rewrite a JDBC batch into multi-row INSERT or multi-statement UPDATE and DELETE, so
+     * the whole batch is sent in one round trip. Batched statements then report
+     * {@link java.sql.Statement#SUCCESS_NO_INFO} instead of row counts
+     * @param rewriteBatchedStatements true to rewrite batches
+     */
+    public ConnectionPoolConfig setRewriteBatchedStatements(boolean rewriteBatchedStatements) {
+        return setConnectionProperty("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
+    }
+
+    /**
+     * Adds a driver property that is passed to every new connection
+     * @param name property name, for example {@code useSSL}
+     * @param value property value
+     */
+    public ConnectionPoolConfig setConnectionProperty(String name, String value) {
+        connectionProperties.setProperty(name, value);
+        return this;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public long getMaxLifetimeMillis() {
+        return maxLifetimeMillis;
+    }
+
+    public long getEvictionIntervalMillis() {
+        return evictionIntervalMillis;
+    }
+
+    public boolean isValidateOnBorrow() {
+        return validateOnBorrow;
+    }
+
+    public long getValidationSkipMillis() {
+        return validationSkipMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public Properties getConnectionProperties() {
+        return connectionProperties;
+    }
+}
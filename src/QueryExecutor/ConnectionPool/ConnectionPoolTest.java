@@ -0,0 +1,162 @@
+package QueryExecutor.ConnectionPool;
+import QueryExecutor.ConnectionPool.Exceptions.ConnectionPoolTimeoutException;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.ConnectionIsClosedException;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ConnectionPoolTest {
+
+    @Test
+    @DisplayName("borrow test: should reuse a returned connection instead of opening a new one")
+    void shouldReuseReturnedConnection() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(ConnectionPoolTest::fakeConnection, getConfig(2))) {
+            Connection first;
+            try (PooledConnection connection = pool.borrow()) {
+                first = connection.getConnection();
+            }
+            try (PooledConnection connection = pool.borrow()) {
+                Assertions.assertSame(first, connection.getConnection());
+            }
+            Assertions.assertEquals(1, pool.getStats().getCreated());
+            Assertions.assertEquals(2, pool.getStats().getBorrowCount());
+        }
+    }
+
+    @Test
+    @DisplayName("borrow test: should throws ConnectionPoolTimeoutException if all connections are leased")
+    void shouldThrowExceptionIfPoolIsExhausted() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(ConnectionPoolTest::fakeConnection, getConfig(1))) {
+            PooledConnection leased = pool.borrow();
+            Assertions.assertEquals(1, pool.getStats().getActive());
+            Assertions.assertThrows(ConnectionPoolTimeoutException.class, pool::borrow);
+            leased.close();
+            Assertions.assertEquals(0, pool.getStats().getActive());
+            Assertions.assertEquals(1, pool.getStats().getIdle());
+        }
+    }
+
+    @Test
+    @DisplayName("borrow test: should give null at once instead of waiting if all connections are leased")
+    void shouldNotWaitInTryBorrow() throws SQLException {
+        ConnectionPoolConfig config = getConfig(1).setBorrowTimeoutMillis(10_000);
+        try (ConnectionPool pool = new ConnectionPool(ConnectionPoolTest::fakeConnection, config)) {
+            PooledConnection leased = pool.tryBorrow();
+            Assertions.assertNotNull(leased);
+            long start = System.nanoTime();
+            Assertions.assertNull(pool.tryBorrow());
+            Assertions.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+            leased.close();
+            try (PooledConnection connection = pool.tryBorrow()) {
+                Assertions.assertSame(leased.getConnection(), connection.getConnection());
+            }
+            Assertions.assertEquals(1, pool.getStats().getCreated());
+        }
+    }
+
+    @Test
+    @DisplayName("borrow test: should replace an idle connection that fails validation")
+    void shouldReplaceInvalidConnection() throws SQLException {
+        AtomicBoolean valid = new AtomicBoolean(true);
+        ConnectionPoolConfig config = getConfig(1).setValidationSkipMillis(0);
+        try (ConnectionPool pool = new ConnectionPool(() -> fakeConnection(valid), config)) {
+            Connection first;
+            try (PooledConnection connection = pool.borrow()) {
+                first = connection.getConnection();
+            }
+            valid.set(false);
+            try (PooledConnection connection = pool.borrow()) {
+                Assertions.assertNotEquals(first, connection.getConnection());
+            }
+            Assertions.assertEquals(1, pool.getStats().getDestroyed());
+        }
+    }
+
+    @Test
+    @DisplayName("borrow test: should throws ConnectionIsClosedException if pool is closed")
+    void shouldThrowExceptionIfPoolIsClosed() {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolTest::fakeConnection, getConfig(1));
+        pool.close();
+        Assertions.assertThrows(ConnectionIsClosedException.class, pool::borrow);
+    }
+
+    @Test
+    @DisplayName("release test: should roll back an open transaction and restore auto-commit and isolation level")
+    void shouldResetTransactionOnRelease() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        AtomicBoolean autoCommit = new AtomicBoolean(true);
+        Connection physical = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "setAutoCommit":
+                            autoCommit.set((Boolean) args[0]);
+                            calls.add(method.getName() + " " + args[0]);
+                            return null;
+                        case "getAutoCommit":
+                            return autoCommit.get();
+                        case "getTransactionIsolation":
+                            return Connection.TRANSACTION_REPEATABLE_READ;
+                        case "setTransactionIsolation":
+                            calls.add(method.getName() + " " + args[0]);
+                            return null;
+                        case "rollback":
+                            calls.add(method.getName());
+                            return null;
+                        case "isClosed":
+                            return false;
+                        default:
+                            return null;
+                    }
+                });
+        try (ConnectionPool pool = new ConnectionPool(() -> physical, getConfig(1))) {
+            try (PooledConnection connection = pool.borrow()) {
+                connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                connection.beginTransaction();
+            }
+            Assertions.assertTrue(autoCommit.get());
+            Assertions.assertEquals(Arrays.asList("setTransactionIsolation " + Connection.TRANSACTION_SERIALIZABLE,
+                    "setAutoCommit false", "rollback", "setAutoCommit true",
+                    "setTransactionIsolation " + Connection.TRANSACTION_REPEATABLE_READ), calls);
+            Assertions.assertEquals(1, pool.getStats().getIdle());
+        }
+    }
+
+    private static ConnectionPoolConfig getConfig(int size) {
+        return new ConnectionPoolConfig()
+                .setMaxPoolSize(size)
+                .setBorrowTimeoutMillis(50)
+                .setEvictionIntervalMillis(0);
+    }
+
+    private static Connection fakeConnection() {
+        return fakeConnection(new AtomicBoolean(true));
+    }
+
+    private static Connection fakeConnection(AtomicBoolean valid) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "isClosed":
+                            return closed.get();
+                        case "isValid":
+                            return valid.get() && !closed.get();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
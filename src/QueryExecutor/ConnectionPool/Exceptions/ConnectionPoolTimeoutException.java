@@ -0,0 +1,23 @@
+package QueryExecutor.ConnectionPool.Exceptions;
+
+public class ConnectionPoolTimeoutException extends RuntimeException {
+    public ConnectionPoolTimeoutException() {
+        super();
+    }
+
+    public ConnectionPoolTimeoutException(String message) {
+        super(message);
+    }
+
+    public ConnectionPoolTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ConnectionPoolTimeoutException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ConnectionPoolTimeoutException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
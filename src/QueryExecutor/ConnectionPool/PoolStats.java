@@ -0,0 +1,116 @@
+package QueryExecutor.ConnectionPool;
+
+/**<h1>PoolStats class</h1>
+ * <h2>
+ * Immutable snapshot of {@link ConnectionPool} counters
+ * </h2>
+ */
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long created;
+    private final long destroyed;
+    private final long borrowCount;
+    private final long timeouts;
+    private final long totalBorrowNanos;
+    private final long maxBorrowNanos;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    PoolStats(int active, int idle, int waiting, long created, long destroyed,
+              long borrowCount, long timeouts, long totalBorrowNanos, long maxBorrowNanos,
+              long statementCacheHits, long statementCacheMisses) {
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.created = created;
+        this.destroyed = destroyed;
+        this.borrowCount = borrowCount;
+        this.timeouts = timeouts;
+        this.totalBorrowNanos = totalBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    /**
+     * @return number of connections currently leased by callers
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return number of open connections waiting in the pool
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * @return number of callers blocked in {@link ConnectionPool#borrow()}
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getDestroyed() {
+        return destroyed;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getTotalBorrowNanos() {
+        return totalBorrowNanos;
+    }
+
+    public long getMaxBorrowNanos() {
+        return maxBorrowNanos;
+    }
+
+    /**
+     * @return number of statements reused from per-connection statement caches
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * @return number of statements that had to be prepared because their SQL shape was not cached
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    public long getAverageBorrowNanos() {
+        return borrowCount == 0 ? 0 : totalBorrowNanos / borrowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "active=" + active +
+                ", idle=" + idle +
+                ", waiting=" + waiting +
+                ", created=" + created +
+                ", destroyed=" + destroyed +
+                ", borrowCount=" + borrowCount +
+                ", timeouts=" + timeouts +
+                ", averageBorrowNanos=" + getAverageBorrowNanos() +
+                ", maxBorrowNanos=" + maxBorrowNanos +
+                ", statementCacheHits=" + statementCacheHits +
+                ", statementCacheMisses=" + statementCacheMisses +
+                '}';
+    }
+}
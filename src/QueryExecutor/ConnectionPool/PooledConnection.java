@@ -0,0 +1,182 @@
+package QueryExecutor.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**<h1>PooledConnection class</h1>
+ * <h2>
+ * A physical {@link Connection} leased from {@link ConnectionPool}.
+ * Closing the lease returns the connection to the pool instead of closing it,
+ * so leases are meant to be used in try-with-resources blocks.
+ * </h2>
+ * <h3>
+ * Statements created by {@link #prepareStatement(String)} are owned by the connection: they are kept in an LRU cache
+ * keyed by SQL text and reused by later leases, so callers must not close them.
+ * </h3>
+ */
+public class PooledConnection implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private final List<PreparedStatement> uncachedStatements = new ArrayList<>();
+    private final long createdAt;
+    private volatile long lastReturnedAt;
+    private boolean broken;
+    private boolean leased;
+    private boolean inTransaction;
+    private int originalIsolation = -1;
+
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+        this.createdAt = System.nanoTime();
+        this.lastReturnedAt = createdAt;
+    }
+
+    /**
+     * @return underlying physical connection. It must not be closed directly
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns prepared statement for the SQL text, reusing the cached one if this shape was already prepared on the
+     * connection. The statement must not be closed by the caller
+     * @param sql SQL text with {@code ?} placeholders
+     * @return prepared statement owned by the connection
+     * @throws SQLException
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        if (statementCache == null) {
+            pool.recordStatementMiss();
+            PreparedStatement statement = connection.prepareStatement(sql);
+            uncachedStatements.add(statement);
+            return statement;
+        }
+        PreparedStatement statement = statementCache.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            pool.recordStatementHit();
+            return statement;
+        }
+        pool.recordStatementMiss();
+        statement = connection.prepareStatement(sql);
+        statementCache.put(sql, statement);
+        return statement;
+    }
+
+    /**
+     * Switches auto-commit off for the rest of the lease. When the connection is returned to the pool a transaction
+     * that is still open is rolled back and auto-commit is switched on again
+     * @throws SQLException
+     */
+    public void beginTransaction() throws SQLException {
+        inTransaction = true;
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Changes the transaction isolation level for the rest of the lease. The previous level is restored when
+     * the connection is returned to the pool
+     * @param level level constant of {@link Connection}
+     * @throws SQLException
+     */
+    public void setTransactionIsolation(int level) throws SQLException {
+        if (originalIsolation < 0) {
+            originalIsolation = connection.getTransactionIsolation();
+        }
+        connection.setTransactionIsolation(level);
+    }
+
+    /**
+     * Drops cached statement, for example after the statement failed because the table was altered
+     * @param sql SQL text of the statement
+     */
+    public void evictStatement(String sql) {
+        if (statementCache != null) {
+            statementCache.remove(sql);
+        }
+    }
+
+    /**
+     * Marks the connection as unusable, so it is closed instead of being returned to the pool
+     */
+    public void invalidate() {
+        broken = true;
+    }
+
+    /**
+     * Returns the connection to the pool
+     */
+    @Override
+    public void close() {
+        if (leased) {
+            leased = false;
+            pool.release(this);
+        }
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    long getLastReturnedAt() {
+        return lastReturnedAt;
+    }
+
+    /**
+     * Undoes the transaction settings of the lease
+     * @return false if the connection could not be restored and must be discarded
+     */
+    boolean resetState() {
+        try {
+            if (inTransaction) {
+                inTransaction = false;
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            }
+            if (originalIsolation >= 0) {
+                int level = originalIsolation;
+                originalIsolation = -1;
+                connection.setTransactionIsolation(level);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void markBorrowed() {
+        leased = true;
+    }
+
+    void markReturned() {
+        for (PreparedStatement statement: uncachedStatements) {
+            StatementCache.closeQuietly(statement);
+        }
+        uncachedStatements.clear();
+        broken = false;
+        lastReturnedAt = System.nanoTime();
+    }
+
+    void closePhysical() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // the connection is being discarded anyway
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package QueryExecutor.ConnectionPool;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of prepared statements of one physical connection keyed by SQL text.
+ * It is used only by the thread that holds the lease, so it is not synchronized
+ */
+class StatementCache {
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(int maxSize) {
+        statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    PreparedStatement get(String sql) {
+        return statements.get(sql);
+    }
+
+    void put(String sql, PreparedStatement statement) {
+        statements.put(sql, statement);
+    }
+
+    void remove(String sql) {
+        PreparedStatement statement = statements.remove(sql);
+        if (statement != null) {
+            closeQuietly(statement);
+        }
+    }
+
+    void clear() {
+        for (PreparedStatement statement: statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // the statement is discarded anyway
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package QueryExecutor.Export;
+
+/**
+ * Layout of {@link ExportFormat#BINARY} files. All numbers are big-endian.
+ * <pre>
+ * file   = MAGIC:int VERSION:byte columnCount:int name* row*
+ * name   = length:int utf8-bytes
+ * row    = length:int value*          (length of the values in bytes)
+ * value  = tag:byte payload
+ * </pre>
+ * Payload by tag: NULL - nothing, INT - int, LONG - long, DOUBLE - double, FLOAT - float, BOOLEAN - byte,
+ * STRING, DECIMAL and BIG_INTEGER - length:int utf8-bytes, BYTES - length:int bytes, DATE - epoch day:long,
+ * TIME - epoch millis:long, TIMESTAMP - epoch millis:long nanos:int
+ */
+final class BinaryFormat {
+    static final int MAGIC = 0x51455842;
+    static final byte VERSION = 1;
+
+    static final byte NULL = 0;
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte FLOAT = 4;
+    static final byte BOOLEAN = 5;
+    static final byte STRING = 6;
+    static final byte DECIMAL = 7;
+    static final byte BIG_INTEGER = 8;
+    static final byte BYTES = 9;
+    static final byte DATE = 10;
+    static final byte TIME = 11;
+    static final byte TIMESTAMP = 12;
+
+    private BinaryFormat() {
+    }
+}
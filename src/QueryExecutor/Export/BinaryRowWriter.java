@@ -0,0 +1,135 @@
+package QueryExecutor.Export;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Writes rows as {@link ExportFormat#BINARY}, see {@link BinaryFormat}. Lengths of rows and strings are written
+ * in place after their content is encoded
+ */
+class BinaryRowWriter extends RowWriter {
+
+    BinaryRowWriter(ResultSetMetaData rsmd, WritableByteChannel channel, int bufferSize) throws SQLException {
+        super(rsmd, channel, bufferSize);
+    }
+
+    @Override
+    void encodeHeader() {
+        buffer.putInt(BinaryFormat.MAGIC);
+        buffer.put(BinaryFormat.VERSION);
+        buffer.putInt(names.length);
+        for (String name: names) {
+            putString(name);
+        }
+    }
+
+    @Override
+    void encodeRow(ResultSet rs) throws SQLException {
+        int start = buffer.position();
+        buffer.putInt(0);
+        for (int i = 0; i < kinds.length; i++) {
+            int column = i + 1;
+            switch (kinds[i]) {
+                case INT_VALUE: {
+                    int value = rs.getInt(column);
+                    if (value == 0 && rs.wasNull()) {
+                        buffer.put(BinaryFormat.NULL);
+                    } else {
+                        buffer.put(BinaryFormat.INT).putInt(value);
+                    }
+                    break;
+                }
+                case LONG_VALUE: {
+                    long value = rs.getLong(column);
+                    if (value == 0 && rs.wasNull()) {
+                        buffer.put(BinaryFormat.NULL);
+                    } else {
+                        buffer.put(BinaryFormat.LONG).putLong(value);
+                    }
+                    break;
+                }
+                case FLOAT_VALUE: {
+                    float value = rs.getFloat(column);
+                    if (value == 0 && rs.wasNull()) {
+                        buffer.put(BinaryFormat.NULL);
+                    } else {
+                        buffer.put(BinaryFormat.FLOAT).putFloat(value);
+                    }
+                    break;
+                }
+                case DOUBLE_VALUE: {
+                    double value = rs.getDouble(column);
+                    if (value == 0 && rs.wasNull()) {
+                        buffer.put(BinaryFormat.NULL);
+                    } else {
+                        buffer.put(BinaryFormat.DOUBLE).putDouble(value);
+                    }
+                    break;
+                }
+                default:
+                    putValue(rs.getObject(column));
+            }
+        }
+        buffer.putInt(start, buffer.position() - start - 4);
+    }
+
+    /**
+     * Values of unknown types are written as their {@code toString()}
+     */
+    private void putValue(Object value) {
+        if (value == null) {
+            buffer.put(BinaryFormat.NULL);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            buffer.put(BinaryFormat.INT).putInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            buffer.put(BinaryFormat.LONG).putLong((Long) value);
+        } else if (value instanceof Double) {
+            buffer.put(BinaryFormat.DOUBLE).putDouble((Double) value);
+        } else if (value instanceof Float) {
+            buffer.put(BinaryFormat.FLOAT).putFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            buffer.put(BinaryFormat.BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof BigDecimal) {
+            buffer.put(BinaryFormat.DECIMAL);
+            putString(value.toString());
+        } else if (value instanceof BigInteger) {
+            buffer.put(BinaryFormat.BIG_INTEGER);
+            putString(value.toString());
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            buffer.put(BinaryFormat.BYTES).putInt(bytes.length).put(bytes);
+        } else if (value instanceof java.sql.Date) {
+            buffer.put(BinaryFormat.DATE).putLong(((java.sql.Date) value).toLocalDate().toEpochDay());
+        } else if (value instanceof LocalDate) {
+            buffer.put(BinaryFormat.DATE).putLong(((LocalDate) value).toEpochDay());
+        } else if (value instanceof Time) {
+            buffer.put(BinaryFormat.TIME).putLong(((Time) value).getTime());
+        } else if (value instanceof Timestamp) {
+            putTimestamp((Timestamp) value);
+        } else if (value instanceof LocalDateTime) {
+            putTimestamp(Timestamp.valueOf((LocalDateTime) value));
+        } else {
+            buffer.put(BinaryFormat.STRING);
+            putString(value.toString());
+        }
+    }
+
+    private void putTimestamp(Timestamp timestamp) {
+        buffer.put(BinaryFormat.TIMESTAMP).putLong(timestamp.getTime()).putInt(timestamp.getNanos());
+    }
+
+    private void putString(String text) {
+        int start = buffer.position();
+        buffer.putInt(0);
+        putUtf8(text);
+        buffer.putInt(start, buffer.position() - start - 4);
+    }
+}
@@ -0,0 +1,198 @@
+package QueryExecutor.Export;
+
+import QueryExecutor.Export.Exceptions.CorruptExportFileException;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**<h1>BinaryTableReader class</h1>
+ * <h2>
+ * Reads a file written in {@link ExportFormat#BINARY} format back into {@link Record}s.
+ * </h2>
+ * <h3>
+ * The file is memory-mapped in windows of up to 64 MB, a window is moved forward when the next row does not fit
+ * into it, so files of any size are read without loading them into the heap. All records share one
+ * {@link RecordSchema} with the column names of the file and keep only an array of values. The reader must be closed.
+ * </h3>
+ */
+public class BinaryTableReader implements Iterator<Record>, AutoCloseable {
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final RecordSchema schema;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] bytes = new byte[256];
+
+    private BinaryTableReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        map(0, 9);
+        if (window.getInt() != BinaryFormat.MAGIC) {
+            throw new CorruptExportFileException("File is not a binary table export");
+        }
+        byte version = window.get();
+        if (version != BinaryFormat.VERSION) {
+            throw new CorruptExportFileException("Unsupported version of binary table export: " + version);
+        }
+        String[] names = new String[window.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            ensure(4);
+            int length = window.getInt();
+            ensure(length);
+            names[i] = readString(length);
+        }
+        schema = new RecordSchema(names);
+    }
+
+    /**
+     * @param path file written by {@link TableExporter} in {@link ExportFormat#BINARY} format
+     * @return reader positioned before the first row
+     * @throws IOException
+     * @throws CorruptExportFileException if the file is not a binary table export
+     */
+    public static BinaryTableReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new BinaryTableReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return names of the exported columns
+     */
+    public List<String> getColumnNames() {
+        String[] names = new String[schema.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = schema.getFieldName(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    @Override
+    public boolean hasNext() {
+        return windowStart + window.position() < fileSize;
+    }
+
+    /**
+     * @return next row of the file
+     * @throws CorruptExportFileException if the row is truncated or has an unknown value type
+     */
+    @Override
+    public Record next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            ensure(4);
+            int length = window.getInt();
+            ensure(length);
+            int end = window.position() + length;
+            Object[] values = new Object[schema.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue();
+            }
+            if (window.position() != end) {
+                throw new CorruptExportFileException("Row length does not match its values");
+            }
+            return new Record(schema, values);
+        } catch (IOException | BufferUnderflowException e) {
+            throw new CorruptExportFileException("Can not read binary table export", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Object readValue() {
+        byte tag = window.get();
+        switch (tag) {
+            case BinaryFormat.NULL:
+                return null;
+            case BinaryFormat.INT:
+                return window.getInt();
+            case BinaryFormat.LONG:
+                return window.getLong();
+            case BinaryFormat.DOUBLE:
+                return window.getDouble();
+            case BinaryFormat.FLOAT:
+                return window.getFloat();
+            case BinaryFormat.BOOLEAN:
+                return window.get() != 0;
+            case BinaryFormat.STRING:
+                return readString(window.getInt());
+            case BinaryFormat.DECIMAL:
+                return new BigDecimal(readString(window.getInt()));
+            case BinaryFormat.BIG_INTEGER:
+                return new BigInteger(readString(window.getInt()));
+            case BinaryFormat.BYTES: {
+                byte[] value = new byte[window.getInt()];
+                window.get(value);
+                return value;
+            }
+            case BinaryFormat.DATE:
+                return java.sql.Date.valueOf(LocalDate.ofEpochDay(window.getLong()));
+            case BinaryFormat.TIME:
+                return new Time(window.getLong());
+            case BinaryFormat.TIMESTAMP: {
+                Timestamp value = new Timestamp(window.getLong());
+                value.setNanos(window.getInt());
+                return value;
+            }
+            default:
+                throw new CorruptExportFileException("Unknown value type: " + tag);
+        }
+    }
+
+    private String readString(int length) {
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        window.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Moves the window to the current position if less than {@code length} bytes are left in it
+     */
+    private void ensure(int length) throws IOException {
+        if (length < 0) {
+            throw new CorruptExportFileException("Negative length: " + length);
+        }
+        if (window.remaining() < length) {
+            map(windowStart + window.position(), length);
+        }
+    }
+
+    private void map(long position, int length) throws IOException {
+        long size = Math.min(fileSize - position, Math.max(WINDOW_SIZE, length));
+        if (size < length) {
+            throw new CorruptExportFileException("Unexpected end of binary table export");
+        }
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        windowStart = position;
+    }
+}
@@ -0,0 +1,115 @@
+package QueryExecutor.Export;
+
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Base64;
+
+/**
+ * Writes rows as {@link ExportFormat#CSV}. Every line is built in a reused {@link StringBuilder} and encoded
+ * into the buffer at once
+ */
+class CsvRowWriter extends RowWriter {
+    private final StringBuilder line = new StringBuilder();
+
+    CsvRowWriter(ResultSetMetaData rsmd, WritableByteChannel channel, int bufferSize) throws SQLException {
+        super(rsmd, channel, bufferSize);
+    }
+
+    @Override
+    void encodeHeader() {
+        line.setLength(0);
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendText(names[i]);
+        }
+        line.append('\n');
+        putUtf8(line);
+    }
+
+    @Override
+    void encodeRow(ResultSet rs) throws SQLException {
+        line.setLength(0);
+        for (int i = 0; i < kinds.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            int column = i + 1;
+            switch (kinds[i]) {
+                case INT_VALUE: {
+                    int value = rs.getInt(column);
+                    if (value != 0 || !rs.wasNull()) {
+                        line.append(value);
+                    }
+                    break;
+                }
+                case LONG_VALUE: {
+                    long value = rs.getLong(column);
+                    if (value != 0 || !rs.wasNull()) {
+                        line.append(value);
+                    }
+                    break;
+                }
+                case FLOAT_VALUE: {
+                    float value = rs.getFloat(column);
+                    if (value != 0 || !rs.wasNull()) {
+                        line.append(value);
+                    }
+                    break;
+                }
+                case DOUBLE_VALUE: {
+                    double value = rs.getDouble(column);
+                    if (value != 0 || !rs.wasNull()) {
+                        line.append(value);
+                    }
+                    break;
+                }
+                default:
+                    appendValue(rs.getObject(column));
+            }
+        }
+        line.append('\n');
+        putUtf8(line);
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof byte[]) {
+            line.append(Base64.getEncoder().encodeToString((byte[]) value));
+        } else if (value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+        } else {
+            appendText(value.toString());
+        }
+    }
+
+    private void appendText(String text) {
+        if (text.isEmpty()) {
+            line.append("\"\"");
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,23 @@
+package QueryExecutor.Export.Exceptions;
+
+public class CorruptExportFileException extends RuntimeException {
+    public CorruptExportFileException() {
+        super();
+    }
+
+    public CorruptExportFileException(String message) {
+        super(message);
+    }
+
+    public CorruptExportFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public CorruptExportFileException(Throwable cause) {
+        super(cause);
+    }
+
+    protected CorruptExportFileException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
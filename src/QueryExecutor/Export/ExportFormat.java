@@ -0,0 +1,18 @@
+package QueryExecutor.Export;
+
+/**
+ * File format of a table export
+ */
+public enum ExportFormat {
+    /**
+     * UTF-8 text as in RFC 4180: a header line with column names, one line per row, values separated by commas.
+     * Values with commas, quotes or line breaks are quoted, NULL is an empty unquoted value and an empty string is
+     * {@code ""}. Binary values are Base64 encoded. Lines end with {@code \n}
+     */
+    CSV,
+    /**
+     * Compact typed format that can be read back by {@link BinaryTableReader}: a header with column names, then
+     * every row prefixed by its length in bytes and every value by a type tag
+     */
+    BINARY
+}
@@ -0,0 +1,128 @@
+package QueryExecutor.Export;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Encodes rows of a result set into one reused direct buffer and writes the buffer to a channel when it is full.
+ * A row that does not fit into the rest of the buffer is encoded again after the buffer is written, a row that does
+ * not fit into the empty buffer makes the buffer twice larger. Numeric columns are read with typed getters of
+ * {@link ResultSet}, so only the values of other columns become objects
+ */
+abstract class RowWriter {
+    static final int OBJECT_VALUE = 0;
+    static final int INT_VALUE = 1;
+    static final int LONG_VALUE = 2;
+    static final int FLOAT_VALUE = 3;
+    static final int DOUBLE_VALUE = 4;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    final String[] names;
+    final int[] kinds;
+    ByteBuffer buffer;
+
+    RowWriter(ResultSetMetaData rsmd, WritableByteChannel channel, int bufferSize) throws SQLException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        int colCount = rsmd.getColumnCount();
+        names = new String[colCount];
+        kinds = new int[colCount];
+        for (int i = 1; i <= colCount; i++) {
+            names[i - 1] = rsmd.getColumnLabel(i);
+            kinds[i - 1] = kindOf(rsmd, i);
+        }
+    }
+
+    abstract void encodeHeader();
+
+    abstract void encodeRow(ResultSet rs) throws SQLException;
+
+    final void writeHeader() throws SQLException, IOException {
+        write(null);
+    }
+
+    final void writeRow(ResultSet rs) throws SQLException, IOException {
+        write(rs);
+    }
+
+    /**
+     * Writes the rest of the buffer to the channel
+     * @throws IOException
+     */
+    final void finish() throws IOException {
+        flush();
+    }
+
+    /**
+     * Puts UTF-8 bytes of the characters into the buffer
+     * @throws BufferOverflowException if the buffer is full
+     */
+    final void putUtf8(CharSequence chars) {
+        encoder.reset();
+        CharBuffer in = CharBuffer.wrap(chars);
+        if (encoder.encode(in, buffer, true).isOverflow() || encoder.flush(buffer).isOverflow()) {
+            throw new BufferOverflowException();
+        }
+    }
+
+    private void write(ResultSet rs) throws SQLException, IOException {
+        while (true) {
+            int start = buffer.position();
+            try {
+                if (rs == null) {
+                    encodeHeader();
+                } else {
+                    encodeRow(rs);
+                }
+                return;
+            } catch (BufferOverflowException e) {
+                buffer.position(start);
+                if (start == 0) {
+                    buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                } else {
+                    flush();
+                }
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static int kindOf(ResultSetMetaData rsmd, int index) throws SQLException {
+        switch (rsmd.getColumnType(index)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                return INT_VALUE;
+            case Types.INTEGER:
+                return rsmd.isSigned(index) ? INT_VALUE : LONG_VALUE;
+            case Types.BIGINT:
+                return rsmd.isSigned(index) ? LONG_VALUE : OBJECT_VALUE;
+            case Types.REAL:
+                return FLOAT_VALUE;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DOUBLE_VALUE;
+            default:
+                return OBJECT_VALUE;
+        }
+    }
+}
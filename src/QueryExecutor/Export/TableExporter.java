@@ -0,0 +1,65 @@
+package QueryExecutor.Export;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**<h1>TableExporter class</h1>
+ * <h2>
+ * Writes rows of a result set to a channel in {@link ExportFormat#CSV} or {@link ExportFormat#BINARY} format.
+ * </h2>
+ * <h3>
+ * Rows are encoded one by one into a direct {@link java.nio.ByteBuffer} that is reused for the whole export and written
+ * to the channel whenever it is full, so neither rows nor {@link QueryExecutor.Record.Record}s are kept in memory
+ * and a {@link java.nio.channels.FileChannel} can write the buffer without copying it to the heap. Memory stays the
+ * same for any number of rows if the result set is streamed by the driver.
+ * </h3>
+ */
+public final class TableExporter {
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    private TableExporter() {
+    }
+
+    /**
+     * Writes all remaining rows of the result set with the default buffer size
+     * @param rs result set positioned before the first row
+     * @param channel channel the rows are written to. It is not closed
+     * @param format format of the written rows
+     * @return number of written rows
+     * @throws SQLException
+     * @throws IOException
+     */
+    public static long export(ResultSet rs, WritableByteChannel channel, ExportFormat format) throws SQLException, IOException {
+        return export(rs, channel, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes all remaining rows of the result set
+     * @param rs result set positioned before the first row
+     * @param channel channel the rows are written to. It is not closed
+     * @param format format of the written rows
+     * @param bufferSize initial size of the buffer in bytes, it grows if one row does not fit
+     * @return number of written rows
+     * @throws SQLException
+     * @throws IOException
+     */
+    public static long export(ResultSet rs, WritableByteChannel channel, ExportFormat format, int bufferSize)
+            throws SQLException, IOException {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("Buffer size is too small: " + bufferSize);
+        }
+        RowWriter writer = format == ExportFormat.CSV
+                ? new CsvRowWriter(rs.getMetaData(), channel, bufferSize)
+                : new BinaryRowWriter(rs.getMetaData(), channel, bufferSize);
+        writer.writeHeader();
+        long rows = 0;
+        while (rs.next()) {
+            writer.writeRow(rs);
+            rows++;
+        }
+        writer.finish();
+        return rows;
+    }
+}
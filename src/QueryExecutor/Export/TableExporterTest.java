@@ -0,0 +1,107 @@
+package QueryExecutor.Export;
+import QueryExecutor.Record.Record;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TableExporterTest {
+
+    private static final String[] COLUMNS = {"id", "name", "date", "price"};
+    private static final int[] TYPES = {Types.INTEGER, Types.VARCHAR, Types.DATE, Types.DECIMAL};
+    private static final List<Object[]> ROWS = Arrays.asList(
+            new Object[]{1, "Ivan", java.sql.Date.valueOf("2020-11-08"), new BigDecimal("34.40")},
+            new Object[]{2, "say \"hi\", bye", null, null},
+            new Object[]{null, "", java.sql.Date.valueOf("1999-01-31"), new BigDecimal("-1")});
+
+    @Test
+    @DisplayName("csv export test: should quote special values and write NULL as an empty value")
+    void shouldExportCsv() throws SQLException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = TableExporter.export(resultSet(), Channels.newChannel(out), ExportFormat.CSV, 16);
+        Assertions.assertEquals(3, rows);
+        Assertions.assertEquals("id,name,date,price\n"
+                + "1,Ivan,2020-11-08,34.40\n"
+                + "2,\"say \"\"hi\"\", bye\",,\n"
+                + ",\"\",1999-01-31,-1\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("binary export test: should read back the same records from a memory-mapped file")
+    void shouldReadBackBinaryExport() throws SQLException, IOException {
+        Path path = Files.createTempFile("export", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                Assertions.assertEquals(3, TableExporter.export(resultSet(), channel, ExportFormat.BINARY, 16));
+            }
+            try (BinaryTableReader reader = BinaryTableReader.open(path)) {
+                Assertions.assertEquals(Arrays.asList(COLUMNS), reader.getColumnNames());
+                for (Object[] row: ROWS) {
+                    Assertions.assertTrue(reader.hasNext());
+                    Record record = reader.next();
+                    for (int i = 0; i < COLUMNS.length; i++) {
+                        Assertions.assertEquals(row[i], record.getValue(i));
+                    }
+                }
+                Assertions.assertFalse(reader.hasNext());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static ResultSet resultSet() {
+        ResultSetMetaData rsmd = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return COLUMNS.length;
+                        case "getColumnLabel":
+                            return COLUMNS[(Integer) args[0] - 1];
+                        case "getColumnType":
+                            return TYPES[(Integer) args[0] - 1];
+                        case "isSigned":
+                            return true;
+                        default:
+                            return null;
+                    }
+                });
+        AtomicInteger row = new AtomicInteger(-1);
+        boolean[] wasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMetaData":
+                            return rsmd;
+                        case "next":
+                            return row.incrementAndGet() < ROWS.size();
+                        case "wasNull":
+                            return wasNull[0];
+                        case "getInt": {
+                            Object value = ROWS.get(row.get())[(Integer) args[0] - 1];
+                            wasNull[0] = value == null;
+                            return value == null ? 0 : value;
+                        }
+                        case "getObject":
+                            return ROWS.get(row.get())[(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
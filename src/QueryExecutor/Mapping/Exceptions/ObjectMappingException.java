@@ -0,0 +1,23 @@
+package QueryExecutor.Mapping.Exceptions;
+
+public class ObjectMappingException extends RuntimeException {
+    public ObjectMappingException() {
+        super();
+    }
+
+    public ObjectMappingException(String message) {
+        super(message);
+    }
+
+    public ObjectMappingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ObjectMappingException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ObjectMappingException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
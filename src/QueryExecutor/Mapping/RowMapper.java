@@ -0,0 +1,18 @@
+package QueryExecutor.Mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Creates an object from the current row of a result set
+ * @param <T> type of created objects
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * @param rs result set positioned on a row
+     * @return object with the values of the row
+     * @throws SQLException
+     */
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,253 @@
+package QueryExecutor.Mapping;
+
+import QueryExecutor.Mapping.Exceptions.ObjectMappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**<h1>RowMappers class</h1>
+ * <h2>
+ * Creates {@link RowMapper}s that map rows directly into POJOs or Java records.
+ * </h2>
+ * <h3>
+ * A mapper is built once per class and list of result columns and cached. Columns are matched to properties by name,
+ * ignoring case and underscores ({@code first_name} fills {@code firstName}), when the mapper is built. Every matched
+ * column becomes a {@link MethodHandle} that reads the column with the typed getter of {@link ResultSet}
+ * ({@code getInt}, {@code getDouble}, {@code getString}, …) and passes the value to the record constructor, a setter
+ * or a field, so primitive values are never boxed and no reflection happens per row.
+ * </h3>
+ * <h3>
+ * A Java record gets the value of every component from the canonical constructor, components without a column get
+ * {@code 0}, {@code false} or {@code null}. A POJO is created with its no-argument constructor, then the matched
+ * properties are set with public setters ({@code setFirstName}) or, if there is no setter, directly into the fields.
+ * Columns without a property are ignored. SQL NULL becomes {@code 0} or {@code false} in primitive properties.
+ * </h3>
+ */
+public final class RowMappers {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Map<Class<?>, MethodHandle> GETTERS = new HashMap<>();
+    private static final MethodHandle GET_OBJECT = getter("getObject", Object.class, Class.class);
+    private static final ClassValue<Map<List<String>, RowMapper<?>>> MAPPERS = new ClassValue<Map<List<String>, RowMapper<?>>>() {
+        @Override
+        protected Map<List<String>, RowMapper<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    static {
+        GETTERS.put(int.class, getter("getInt", int.class));
+        GETTERS.put(long.class, getter("getLong", long.class));
+        GETTERS.put(double.class, getter("getDouble", double.class));
+        GETTERS.put(float.class, getter("getFloat", float.class));
+        GETTERS.put(short.class, getter("getShort", short.class));
+        GETTERS.put(byte.class, getter("getByte", byte.class));
+        GETTERS.put(boolean.class, getter("getBoolean", boolean.class));
+        GETTERS.put(String.class, getter("getString", String.class));
+        GETTERS.put(BigDecimal.class, getter("getBigDecimal", BigDecimal.class));
+        GETTERS.put(byte[].class, getter("getBytes", byte[].class));
+        GETTERS.put(java.sql.Date.class, getter("getDate", java.sql.Date.class));
+        GETTERS.put(java.sql.Time.class, getter("getTime", java.sql.Time.class));
+        GETTERS.put(java.sql.Timestamp.class, getter("getTimestamp", java.sql.Timestamp.class));
+    }
+
+    private RowMappers() {
+    }
+
+    /**
+     * @param type POJO with a no-argument constructor or Java record
+     * @param rsmd metadata of the result that will be mapped
+     * @return cached mapper of the class for the columns of the result
+     * @throws SQLException
+     * @throws ObjectMappingException if the class can not be created or no column matches its properties
+     */
+    public static <T> RowMapper<T> forClass(Class<T> type, ResultSetMetaData rsmd) throws SQLException {
+        int colCount = rsmd.getColumnCount();
+        String[] columns = new String[colCount];
+        for (int i = 1; i <= colCount; i++) {
+            columns[i - 1] = rsmd.getColumnLabel(i);
+        }
+        @SuppressWarnings("unchecked")
+        RowMapper<T> mapper = (RowMapper<T>) MAPPERS.get(type).computeIfAbsent(
+                Collections.unmodifiableList(Arrays.asList(columns)), key -> create(type, key));
+        return mapper;
+    }
+
+    private static <T> RowMapper<T> create(Class<T> type, List<String> columns) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isPrimitive() || type.isArray()) {
+            throw new ObjectMappingException("Rows can not be mapped to " + type.getName());
+        }
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndexes.putIfAbsent(propertyName(columns.get(i)), i + 1);
+        }
+        try {
+            return isRecord(type) ? createRecordMapper(type, columnIndexes) : createPojoMapper(type, columnIndexes);
+        } catch (ReflectiveOperationException e) {
+            throw new ObjectMappingException("Can not create mapper of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Builds one handle {@code (ResultSet) -> record}: every argument of the canonical constructor is filtered
+     * through the reader of its column, then all arguments are bound to the same result set
+     */
+    private static <T> RowMapper<T> createRecordMapper(Class<T> type, Map<String, Integer> columnIndexes)
+            throws ReflectiveOperationException {
+        Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        MethodHandle[] readers = new MethodHandle[components.length];
+        int matched = 0;
+        for (int i = 0; i < components.length; i++) {
+            String name = (String) components[i].getClass().getMethod("getName").invoke(components[i]);
+            parameterTypes[i] = (Class<?>) components[i].getClass().getMethod("getType").invoke(components[i]);
+            Integer column = columnIndexes.get(propertyName(name));
+            if (column != null) {
+                readers[i] = reader(parameterTypes[i], column);
+                matched++;
+            } else {
+                readers[i] = MethodHandles.dropArguments(
+                        MethodHandles.constant(parameterTypes[i], defaultValue(parameterTypes[i])), 0, ResultSet.class);
+            }
+        }
+        checkMatched(type, matched);
+        Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+        constructor.setAccessible(true);
+        MethodHandle handle = MethodHandles.filterArguments(LOOKUP.unreflectConstructor(constructor), 0, readers);
+        handle = MethodHandles.permuteArguments(handle, MethodType.methodType(type, ResultSet.class),
+                new int[components.length]);
+        return new HandleRowMapper<>(type, handle.asType(MethodType.methodType(Object.class, ResultSet.class)),
+                new MethodHandle[0]);
+    }
+
+    /**
+     * Builds a handle {@code (ResultSet) -> new object} and a handle {@code (object, ResultSet) -> void} for every
+     * matched property, that reads the column and passes it to the setter or the field
+     */
+    private static <T> RowMapper<T> createPojoMapper(Class<T> type, Map<String, Integer> columnIndexes)
+            throws ReflectiveOperationException {
+        Constructor<T> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        MethodHandle create = MethodHandles.dropArguments(LOOKUP.unreflectConstructor(constructor), 0, ResultSet.class)
+                .asType(MethodType.methodType(Object.class, ResultSet.class));
+        Map<String, MethodHandle> properties = new HashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field: c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    properties.putIfAbsent(propertyName(field.getName()), LOOKUP.unreflectSetter(field));
+                }
+            }
+        }
+        for (Method method: type.getMethods()) {
+            if (method.getName().length() > 3 && method.getName().startsWith("set") && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())) {
+                properties.put(propertyName(method.getName().substring(3)), LOOKUP.unreflect(method)
+                        .asType(MethodType.methodType(void.class, type, method.getParameterTypes()[0])));
+            }
+        }
+        List<MethodHandle> setters = new ArrayList<>();
+        for (Map.Entry<String, Integer> column: columnIndexes.entrySet()) {
+            MethodHandle setter = properties.get(column.getKey());
+            if (setter != null) {
+                Class<?> valueType = setter.type().parameterType(1);
+                setters.add(MethodHandles.filterArguments(
+                        setter.asType(MethodType.methodType(void.class, Object.class, valueType)),
+                        1, reader(valueType, column.getValue())));
+            }
+        }
+        checkMatched(type, setters.size());
+        return new HandleRowMapper<>(type, create, setters.toArray(new MethodHandle[0]));
+    }
+
+    /**
+     * @return handle {@code (ResultSet) -> value} of the column
+     */
+    private static MethodHandle reader(Class<?> valueType, int column) {
+        MethodHandle getter = GETTERS.get(valueType);
+        if (getter == null) {
+            getter = MethodHandles.insertArguments(GET_OBJECT, 2, wrapperOf(valueType))
+                    .asType(MethodType.methodType(valueType, ResultSet.class, int.class));
+        }
+        return MethodHandles.insertArguments(getter, 1, column);
+    }
+
+    private static MethodHandle getter(String name, Class<?> valueType, Class<?>... extraParameters) {
+        Class<?>[] parameters = new Class<?>[extraParameters.length + 1];
+        parameters[0] = int.class;
+        System.arraycopy(extraParameters, 0, parameters, 1, extraParameters.length);
+        try {
+            return LOOKUP.findVirtual(ResultSet.class, name, MethodType.methodType(valueType, parameters));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("ResultSet has no method " + name, e);
+        }
+    }
+
+    private static boolean isRecord(Class<?> type) {
+        Class<?> superclass = type.getSuperclass();
+        return superclass != null && "java.lang.Record".equals(superclass.getName());
+    }
+
+    private static void checkMatched(Class<?> type, int matched) {
+        if (matched == 0) {
+            throw new ObjectMappingException("No column of the result matches a property of " + type.getName());
+        }
+    }
+
+    private static String propertyName(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static Class<?> wrapperOf(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static final class HandleRowMapper<T> implements RowMapper<T> {
+        private final Class<T> type;
+        private final MethodHandle create;
+        private final MethodHandle[] setters;
+
+        private HandleRowMapper(Class<T> type, MethodHandle create, MethodHandle[] setters) {
+            this.type = type;
+            this.create = create;
+            this.setters = setters;
+        }
+
+        @Override
+        public T map(ResultSet rs) throws SQLException {
+            try {
+                Object target = (Object) create.invokeExact(rs);
+                for (MethodHandle setter: setters) {
+                    setter.invokeExact(target, rs);
+                }
+                return type.cast(target);
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ObjectMappingException("Can not map row to " + type.getName(), e);
+            }
+        }
+    }
+}
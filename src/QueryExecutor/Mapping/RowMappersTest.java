@@ -0,0 +1,77 @@
+package QueryExecutor.Mapping;
+import QueryExecutor.Mapping.Exceptions.ObjectMappingException;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class RowMappersTest {
+
+    @Test
+    @DisplayName("mapper test: should fill setters and fields with typed getters and cache the mapper")
+    void shouldMapRowToPojo() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        String[] columns = {"id", "first_name", "temperature", "unknown"};
+        Object[] row = {7, "Ivan", 36.6, "ignored"};
+        ResultSetMetaData rsmd = metaData(columns);
+        ResultSet rs = resultSet(row, calls);
+        RowMapper<Person> mapper = RowMappers.forClass(Person.class, rsmd);
+        Person person = mapper.map(rs);
+        Assertions.assertEquals(7, person.id);
+        Assertions.assertEquals("Ivan", person.firstName);
+        Assertions.assertEquals(36.6, person.temperature);
+        Assertions.assertTrue(person.setterUsed);
+        Assertions.assertTrue(calls.contains("getInt 1"));
+        Assertions.assertTrue(calls.contains("getString 2"));
+        Assertions.assertTrue(calls.contains("getDouble 3"));
+        Assertions.assertFalse(calls.contains("getObject 4"));
+        Assertions.assertSame(mapper, RowMappers.forClass(Person.class, metaData(columns)));
+    }
+
+    @Test
+    @DisplayName("mapper test: should throws ObjectMappingException if no column matches the class")
+    void shouldRejectUnmatchedClass() {
+        Assertions.assertThrows(ObjectMappingException.class,
+                () -> RowMappers.forClass(Person.class, metaData(new String[]{"salary"})));
+        Assertions.assertThrows(ObjectMappingException.class,
+                () -> RowMappers.forClass(Runnable.class, metaData(new String[]{"id"})));
+    }
+
+    static class Person {
+        private int id;
+        private String firstName;
+        private double temperature;
+        private boolean setterUsed;
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+            setterUsed = true;
+        }
+    }
+
+    private static ResultSetMetaData metaData(String[] columns) {
+        return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return columns.length;
+                        case "getColumnLabel":
+                            return columns[(Integer) args[0] - 1];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static ResultSet resultSet(Object[] row, List<String> calls) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    calls.add(method.getName() + " " + args[0]);
+                    return row[(Integer) args[0] - 1];
+                });
+    }
+}
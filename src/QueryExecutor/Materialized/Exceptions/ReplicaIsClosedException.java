@@ -0,0 +1,23 @@
+package QueryExecutor.Materialized.Exceptions;
+
+public class ReplicaIsClosedException extends RuntimeException {
+    public ReplicaIsClosedException() {
+        super();
+    }
+
+    public ReplicaIsClosedException(String message) {
+        super(message);
+    }
+
+    public ReplicaIsClosedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ReplicaIsClosedException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ReplicaIsClosedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
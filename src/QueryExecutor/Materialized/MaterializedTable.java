@@ -0,0 +1,427 @@
+package QueryExecutor.Materialized;
+
+import QueryExecutor.Materialized.Exceptions.ReplicaIsClosedException;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.IncorrectRecordException;
+import QueryExecutor.MySQLQueryExecutor.QueryExecutor;
+import QueryExecutor.Record.FieldValues;
+import QueryExecutor.Record.Record;
+import QueryExecutor.WhereExpression.Predicate;
+import QueryExecutor.WhereExpression.WhereExpression;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**<h1>MaterializedTable class</h1>
+ * <h2>
+ * In-memory replica of one table, keyed by its primary key and kept up to date by polling only the changed rows.
+ * </h2>
+ * <h3>
+ * The table is loaded once, then every refresh selects the rows whose watermark column is at least the largest
+ * watermark seen so far ({@code WHERE updated_at >= ?}) and merges them into the replica. Rows with the largest
+ * watermark are selected again by the next refresh, so a row changed within the same timestamp is not missed;
+ * rows that come back unchanged are not reported as changes. Hard deletes are not seen by polling: use a soft-delete
+ * column ({@link MaterializedTableConfig#setDeletedColumn(String)}) or {@link #reload()}.
+ * </h3>
+ * <h3>
+ * Watermarks are not assigned in commit order: a transaction can take id 10 or time T1 and commit after a row with
+ * id 11 or time T2 was already polled. Such a row is missed unless the poll overlap
+ * ({@link MaterializedTableConfig#setPollOverlap(long)}) reaches back to it, so the overlap should cover the longest
+ * time a writing transaction stays open. Rows selected again by the overlap are not reported if they did not change.
+ * </h3>
+ * <h3>
+ * Reads never lock and never touch the database. The rows are kept in an immutable map that a refresh replaces
+ * as a whole (copy-on-write), so {@link #get(Object)}, {@link #select(java.util.function.Predicate)} and iteration over
+ * {@link #snapshot()} always see one consistent state of the table while refreshes go on. A refresh that changes rows
+ * copies the map, which suits tables that fit into memory and change in small portions. Rows are read-only records.
+ * Integral keys are compared by value, so {@code get(5)} finds a row whose key was read as {@code 5L}.
+ * </h3>
+ * <h3>
+ * The replica is only as fresh as its last refresh. The executor should not cache results of the table
+ * ({@code ResultCache}), otherwise the polls may see old rows.
+ * </h3>
+ */
+public class MaterializedTable implements AutoCloseable {
+    private final QueryExecutor executor;
+    private final String tableName;
+    private final MaterializedTableConfig config;
+    private final List<RowChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object refreshLock = new Object();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong failedRefreshes = new AtomicLong();
+    private final Thread poller;
+    private volatile Map<Object, Record> rows = Collections.emptyMap();
+    private volatile Object watermark;
+    private volatile Exception lastFailure;
+    private volatile boolean closed;
+
+    /**
+     * Loads the whole table and starts the polling thread if the poll interval is positive
+     * @param executor executor the table is read with
+     * @param tableName string representation of the table name
+     * @param config key and watermark columns and poll interval ({@link MaterializedTableConfig})
+     * @throws SQLException if the table can not be loaded
+     * @throws IncorrectRecordException if a row has no key value
+     */
+    public MaterializedTable(QueryExecutor executor, String tableName, MaterializedTableConfig config) throws SQLException {
+        if (config.getKeyColumn() == null || config.getWatermarkColumn() == null) {
+            throw new IllegalArgumentException("Key and watermark columns must be set");
+        }
+        this.executor = executor;
+        this.tableName = tableName;
+        this.config = config;
+        reload();
+        if (config.getPollIntervalMillis() > 0) {
+            poller = new Thread(this::runPoller, "QueryExecutor-materialized-" + tableName);
+            poller.setDaemon(true);
+            poller.start();
+        } else {
+            poller = null;
+        }
+    }
+
+    /**
+     * @param key value of the key column
+     * @return row with the key or {@code null}
+     */
+    public Record get(Object key) {
+        return key == null ? null : rows.get(normalize(key));
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * @return rows of the current state, keyed by their key values. The map does not change and can be iterated
+     * while the replica is refreshed
+     */
+    public Map<Object, Record> snapshot() {
+        return rows;
+    }
+
+    /**
+     * @return stream over the rows of the current state
+     */
+    public Stream<Record> stream() {
+        return rows.values().stream();
+    }
+
+    /**
+     * Scans the rows in memory, for example with a {@link Predicate}:
+     * {@code select(Predicate.and(Predicate.eq("city", "Moscow"), Predicate.ge("age", 18)))}
+     * @param condition condition on the rows
+     * @return rows of the current state that match the condition
+     */
+    public List<Record> select(java.util.function.Predicate<Record> condition) {
+        return stream().filter(condition).collect(Collectors.toList());
+    }
+
+    /**
+     * @param listener receives the rows changed by the following refreshes
+     */
+    public void addListener(RowChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RowChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Selects the rows changed since the last refresh and merges them into the replica. The polling thread calls it
+     * periodically, it can be called to see a change at once
+     * @return number of rows that were added, changed or deleted
+     * @throws SQLException if the changed rows can not be selected, the replica stays as it was
+     * @throws ReplicaIsClosedException if the replica is closed
+     */
+    public int refresh() throws SQLException {
+        synchronized (refreshLock) {
+            checkOpen();
+            Object from = watermark;
+            List<Record> changed;
+            if (from == null) {
+                try (Stream<Record> stream = executor.selectStream(tableName, config.getFields(), null)) {
+                    changed = stream.collect(Collectors.toList());
+                }
+            } else {
+                changed = executor.select(tableName, config.getFields(),
+                        new WhereExpression(Predicate.ge(config.getWatermarkColumn(), pollFrom(from))));
+            }
+            Map<Object, Record> current = rows;
+            Map<Object, Record> next = null;
+            List<Record[]> changes = new ArrayList<>();
+            Object largest = from;
+            for (Record row: changed) {
+                largest = largerWatermark(largest, row.getValue(config.getWatermarkColumn()));
+                Object key = keyOf(row);
+                Record previous = (next != null ? next : current).get(key);
+                Record value = isDeleted(row) ? null : row.readOnlyCopy();
+                if (previous == null ? value == null : previous.equals(value)) {
+                    continue;
+                }
+                if (next == null) {
+                    next = new HashMap<>(current);
+                }
+                if (value == null) {
+                    next.remove(key);
+                } else {
+                    next.put(key, value);
+                }
+                changes.add(new Record[]{previous, value});
+            }
+            if (next != null) {
+                rows = Collections.unmodifiableMap(next);
+            }
+            watermark = largest;
+            refreshes.incrementAndGet();
+            notifyListeners(changes);
+            return changes.size();
+        }
+    }
+
+    /**
+     * Loads the whole table again and replaces the replica. Rows deleted from the table are reported as deleted
+     * @return number of rows that were added, changed or deleted
+     * @throws SQLException if the table can not be loaded, the replica stays as it was
+     * @throws ReplicaIsClosedException if the replica is closed
+     */
+    public int reload() throws SQLException {
+        synchronized (refreshLock) {
+            checkOpen();
+            Map<Object, Record> next = new HashMap<>();
+            Object largest = null;
+            try (Stream<Record> stream = executor.selectStream(tableName, config.getFields(), null)) {
+                Iterator<Record> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    Record row = iterator.next();
+                    largest = largerWatermark(largest, row.getValue(config.getWatermarkColumn()));
+                    if (!isDeleted(row)) {
+                        next.put(keyOf(row), row.readOnlyCopy());
+                    }
+                }
+            }
+            Map<Object, Record> current = rows;
+            List<Record[]> changes = new ArrayList<>();
+            for (Map.Entry<Object, Record> entry: next.entrySet()) {
+                Record previous = current.get(entry.getKey());
+                if (!entry.getValue().equals(previous)) {
+                    changes.add(new Record[]{previous, entry.getValue()});
+                }
+            }
+            for (Map.Entry<Object, Record> entry: current.entrySet()) {
+                if (!next.containsKey(entry.getKey())) {
+                    changes.add(new Record[]{entry.getValue(), null});
+                }
+            }
+            rows = Collections.unmodifiableMap(next);
+            watermark = largest;
+            refreshes.incrementAndGet();
+            notifyListeners(changes);
+            return changes.size();
+        }
+    }
+
+    /**
+     * @return largest watermark seen so far, {@code null} if the table had no rows with a watermark
+     */
+    public Object getWatermark() {
+        return watermark;
+    }
+
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    /**
+     * @return number of failed refreshes of the polling thread
+     */
+    public long getFailedRefreshCount() {
+        return failedRefreshes.get();
+    }
+
+    /**
+     * @return exception of the last failed refresh of the polling thread or {@code null}
+     */
+    public Exception getLastFailure() {
+        return lastFailure;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops the polling thread and waits for it. A listener that calls it does not wait: a listener runs while
+     * its refresh holds the refresh lock, which the polling thread may be waiting for. The polling thread then stops
+     * at its next refresh. The last state can still be read
+     */
+    @Override
+    public void close() {
+        synchronized (refreshLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (poller == null || Thread.currentThread() == poller || Thread.holdsLock(refreshLock)) {
+            return;
+        }
+        poller.interrupt();
+        boolean interrupted = false;
+        while (poller.isAlive()) {
+            try {
+                poller.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runPoller() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(config.getPollIntervalMillis());
+        while (!closed) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(interval);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            try {
+                refresh();
+            } catch (ReplicaIsClosedException e) {
+                return;
+            } catch (Exception e) {
+                // the next poll retries from the same watermark
+                failedRefreshes.incrementAndGet();
+                lastFailure = e;
+            }
+        }
+    }
+
+    private void notifyListeners(List<Record[]> changes) {
+        for (RowChangeListener listener: listeners) {
+            for (Record[] change: changes) {
+                try {
+                    listener.onChange(change[0], change[1]);
+                } catch (RuntimeException e) {
+                    // a broken listener must not stop the refreshes
+                }
+            }
+        }
+    }
+
+    private Object keyOf(Record row) {
+        Object key = row.getValue(config.getKeyColumn());
+        if (key == null) {
+            throw new IncorrectRecordException("Row of table " + tableName + " has no value of key column "
+                    + config.getKeyColumn());
+        }
+        return normalize(key);
+    }
+
+    private boolean isDeleted(Record row) {
+        if (config.getDeletedColumn() == null) {
+            return false;
+        }
+        Object value = row.getValue(config.getDeletedColumn());
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return false;
+        }
+        return !(value instanceof Number) || ((Number) value).doubleValue() != 0;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new ReplicaIsClosedException("Materialized table " + tableName + " is closed");
+        }
+    }
+
+    /**
+     * @return watermark the poll starts from, the overlap below the largest watermark
+     */
+    private Object pollFrom(Object largest) {
+        long overlap = config.getPollOverlap();
+        if (overlap == 0) {
+            return largest;
+        }
+        if (FieldValues.isIntegral(largest)) {
+            return ((Number) largest).longValue() - overlap;
+        }
+        if (largest instanceof BigInteger) {
+            return ((BigInteger) largest).subtract(BigInteger.valueOf(overlap));
+        }
+        if (largest instanceof BigDecimal) {
+            return ((BigDecimal) largest).subtract(BigDecimal.valueOf(overlap));
+        }
+        if (largest instanceof Number) {
+            return ((Number) largest).doubleValue() - overlap;
+        }
+        if (largest instanceof Timestamp) {
+            return new Timestamp(((Timestamp) largest).getTime() - overlap);
+        }
+        if (largest instanceof java.sql.Date) {
+            return new java.sql.Date(((java.sql.Date) largest).getTime() - overlap);
+        }
+        if (largest instanceof Date) {
+            return new Date(((Date) largest).getTime() - overlap);
+        }
+        if (largest instanceof Temporal && ((Temporal) largest).isSupported(ChronoUnit.MILLIS)) {
+            return ((Temporal) largest).minus(overlap, ChronoUnit.MILLIS);
+        }
+        throw new IllegalStateException("Poll overlap is not supported for watermarks of type "
+                + largest.getClass().getName());
+    }
+
+    /**
+     * Integral numbers become {@link Long}, so keys read as different integer types are equal
+     */
+    private static Object normalize(Object key) {
+        if (FieldValues.isIntegral(key)) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof BigInteger && ((BigInteger) key).bitLength() < 64) {
+            return ((BigInteger) key).longValue();
+        }
+        return key;
+    }
+
+    /**
+     * Watermarks are ordered by {@link FieldValues#compare(Object, Object)}, the rules {@link Predicate} scans
+     * of the replica follow
+     */
+    private static Object largerWatermark(Object largest, Object value) {
+        if (value == null) {
+            return largest;
+        }
+        if (largest == null) {
+            return value;
+        }
+        return FieldValues.compare(largest, value) >= 0 ? largest : value;
+    }
+}
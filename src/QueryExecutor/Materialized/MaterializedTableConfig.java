@@ -0,0 +1,104 @@
+package QueryExecutor.Materialized;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**<h1>MaterializedTableConfig class</h1>
+ * <h2>
+ * Settings of {@link MaterializedTable}. Every setter returns the config itself, so settings can be chained:
+ * {@code new MaterializedTableConfig().setKeyColumn("id").setWatermarkColumn("updated_at")}
+ * </h2>
+ */
+public class MaterializedTableConfig {
+    private String keyColumn;
+    private String watermarkColumn;
+    private String deletedColumn;
+    private List<String> fields;
+    private long pollIntervalMillis = 1000;
+    private long pollOverlap;
+
+    /**
+     * @param keyColumn primary key column, rows are looked up by its value
+     */
+    public MaterializedTableConfig setKeyColumn(String keyColumn) {
+        this.keyColumn = keyColumn;
+        return this;
+    }
+
+    /**
+     * @param watermarkColumn column that grows whenever a row is changed, e.g. {@code updated_at}. An auto-increment
+     * key can be used for tables whose rows are only inserted
+     */
+    public MaterializedTableConfig setWatermarkColumn(String watermarkColumn) {
+        this.watermarkColumn = watermarkColumn;
+        return this;
+    }
+
+    /**
+     * @param deletedColumn soft-delete column, e.g. {@code deleted_at} or {@code is_deleted}. A row whose value is not
+     * {@code NULL}, false or 0 is removed from the replica. {@code null} keeps all rows
+     */
+    public MaterializedTableConfig setDeletedColumn(String deletedColumn) {
+        this.deletedColumn = deletedColumn;
+        return this;
+    }
+
+    /**
+     * @param fields selected columns, they must contain the key, watermark and soft-delete columns.
+     * {@code null} selects all columns
+     */
+    public MaterializedTableConfig setFields(List<String> fields) {
+        this.fields = fields == null ? null : Collections.unmodifiableList(new ArrayList<>(fields));
+        return this;
+    }
+
+    /**
+     * @param pollIntervalMillis pause between refreshes of the background thread, 0 starts no thread and the replica
+     * is refreshed only by {@link MaterializedTable#refresh()}
+     */
+    public MaterializedTableConfig setPollIntervalMillis(long pollIntervalMillis) {
+        if (pollIntervalMillis < 0) {
+            throw new IllegalArgumentException("Poll interval must not be negative: " + pollIntervalMillis);
+        }
+        this.pollIntervalMillis = pollIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @param pollOverlap how far below the largest watermark every poll starts, in units of a numeric watermark or in
+     * milliseconds of a date and time watermark. Rows whose transaction committed later than a row with a larger
+     * watermark are found if they are within the overlap. 0 polls from the largest watermark
+     */
+    public MaterializedTableConfig setPollOverlap(long pollOverlap) {
+        if (pollOverlap < 0) {
+            throw new IllegalArgumentException("Poll overlap must not be negative: " + pollOverlap);
+        }
+        this.pollOverlap = pollOverlap;
+        return this;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public String getWatermarkColumn() {
+        return watermarkColumn;
+    }
+
+    public String getDeletedColumn() {
+        return deletedColumn;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    public long getPollOverlap() {
+        return pollOverlap;
+    }
+}
@@ -0,0 +1,209 @@
+package QueryExecutor.Materialized;
+import QueryExecutor.Materialized.Exceptions.ReplicaIsClosedException;
+import QueryExecutor.MySQLQueryExecutor.QueryExecutor;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import QueryExecutor.WhereExpression.Predicate;
+import QueryExecutor.WhereExpression.WhereExpression;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+class MaterializedTableTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id", "name", "version", "deleted");
+
+    /**
+     * Table whose rows are selected by {@code version >= ?}, the only condition the replica sends
+     */
+    private static class FakeTable {
+        private final List<Record> rows = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger selectedRows = new AtomicInteger();
+
+        private void put(long id, String name, long version, boolean deleted) {
+            rows.removeIf(row -> row.getValue("id").equals(id));
+            rows.add(new Record(SCHEMA, new Object[]{id, name, version, deleted}));
+        }
+
+        private QueryExecutor executor() {
+            return (QueryExecutor) Proxy.newProxyInstance(QueryExecutor.class.getClassLoader(),
+                    new Class<?>[]{QueryExecutor.class}, (proxy, method, args) -> {
+                        List<Record> result;
+                        synchronized (rows) {
+                            result = new ArrayList<>(rows);
+                        }
+                        WhereExpression expression = (WhereExpression) args[2];
+                        if (expression != null) {
+                            long from = (Long) expression.getParameters().get(0);
+                            result = result.stream().filter(row -> (Long) row.getValue("version") >= from)
+                                    .collect(Collectors.toList());
+                        }
+                        selectedRows.addAndGet(result.size());
+                        return method.getName().equals("selectStream") ? result.stream() : result;
+                    });
+        }
+    }
+
+    private static MaterializedTableConfig config() {
+        return new MaterializedTableConfig().setKeyColumn("id").setWatermarkColumn("version")
+                .setDeletedColumn("deleted").setPollIntervalMillis(0);
+    }
+
+    @Test
+    @DisplayName("materialized table test: should load the table and poll only the changed rows")
+    void shouldPollChangedRows() throws Exception {
+        FakeTable table = new FakeTable();
+        for (long id = 1; id <= 100; id++) {
+            table.put(id, "user " + id, id, false);
+        }
+        List<String> changes = Collections.synchronizedList(new ArrayList<>());
+        try (MaterializedTable replica = new MaterializedTable(table.executor(), "users", config())) {
+            Assertions.assertEquals(100, replica.size());
+            Assertions.assertEquals("user 7", replica.get(7).getValue("name"));
+            Assertions.assertEquals("user 7", replica.get(7L).getValue("name"));
+            Assertions.assertTrue(replica.get(7).isReadOnly());
+            Assertions.assertEquals(100L, replica.getWatermark());
+            replica.addListener((previous, current) -> changes.add((previous == null ? "-" : previous.getValue("name"))
+                    + ">" + (current == null ? "-" : current.getValue("name"))));
+
+            table.selectedRows.set(0);
+            table.put(7, "Ivan", 101, false);
+            table.put(101, "Petr", 101, false);
+            table.put(8, "user 8", 102, true);
+            Map<Object, Record> before = replica.snapshot();
+            Assertions.assertEquals(3, replica.refresh());
+            // row 100 has the old watermark and is selected again
+            Assertions.assertEquals(4, table.selectedRows.get());
+            Assertions.assertEquals(102L, replica.getWatermark());
+            Assertions.assertEquals("Ivan", replica.get(7).getValue("name"));
+            Assertions.assertEquals(100, replica.size());
+            Assertions.assertNull(replica.get(8));
+            Assertions.assertEquals(100, before.size());
+            Assertions.assertEquals("user 7", before.get(7L).getValue("name"));
+            Assertions.assertEquals(3, changes.size());
+            Assertions.assertTrue(changes.contains("user 7>Ivan"));
+            Assertions.assertTrue(changes.contains("->Petr"));
+            Assertions.assertTrue(changes.contains("user 8>-"));
+
+            changes.clear();
+            Assertions.assertEquals(0, replica.refresh());
+            Assertions.assertEquals(0, changes.size());
+            Assertions.assertEquals(2, replica.select(Predicate.in("name", "Ivan", "Petr")).size());
+        }
+    }
+
+    @Test
+    @DisplayName("materialized table test: should report hard deletes on reload and refuse refreshes after close")
+    void shouldReloadAndClose() throws Exception {
+        FakeTable table = new FakeTable();
+        table.put(1, "Ivan", 1, false);
+        table.put(2, "Petr", 1, false);
+        MaterializedTable replica = new MaterializedTable(table.executor(), "users", config());
+        List<Record> deleted = new ArrayList<>();
+        replica.addListener((previous, current) -> {
+            if (current == null) {
+                deleted.add(previous);
+            }
+        });
+        table.rows.removeIf(row -> row.getValue("id").equals(2L));
+        Assertions.assertEquals(0, replica.refresh());
+        Assertions.assertEquals(2, replica.size());
+        Assertions.assertEquals(1, replica.reload());
+        Assertions.assertEquals(1, replica.size());
+        Assertions.assertEquals("Petr", deleted.get(0).getValue("name"));
+        replica.close();
+        Assertions.assertThrows(ReplicaIsClosedException.class, replica::refresh);
+        Assertions.assertEquals("Ivan", replica.get(1).getValue("name"));
+    }
+
+    @Test
+    @DisplayName("materialized table test: should find a row committed late within the poll overlap")
+    void shouldFindLateRowWithinOverlap() throws Exception {
+        FakeTable table = new FakeTable();
+        table.put(1, "Ivan", 10, false);
+        table.put(2, "Petr", 12, false);
+        try (MaterializedTable replica = new MaterializedTable(table.executor(), "users", config().setPollOverlap(5))) {
+            table.put(3, "Anna", 11, false);
+            table.put(4, "Olga", 6, false);
+            Assertions.assertEquals(1, replica.refresh());
+            Assertions.assertEquals("Anna", replica.get(3).getValue("name"));
+            Assertions.assertNull(replica.get(4));
+            Assertions.assertEquals(12L, replica.getWatermark());
+            Assertions.assertEquals(0, replica.refresh());
+        }
+    }
+
+    @Test
+    @DisplayName("materialized table test: should see changes on the polling thread")
+    void shouldPollInBackground() throws Exception {
+        FakeTable table = new FakeTable();
+        table.put(1, "Ivan", 1, false);
+        try (MaterializedTable replica = new MaterializedTable(table.executor(), "users",
+                config().setPollIntervalMillis(10))) {
+            table.put(2, "Petr", 2, false);
+            for (int i = 0; i < 500 && !replica.containsKey(2); i++) {
+                Thread.sleep(10);
+            }
+            Assertions.assertEquals("Petr", replica.get(2).getValue("name"));
+            Assertions.assertEquals(0, replica.getFailedRefreshCount());
+        }
+    }
+
+    @Test
+    @DisplayName("materialized table test: should stop polling when a listener closes the replica")
+    void shouldCloseFromListener() throws Exception {
+        FakeTable table = new FakeTable();
+        table.put(1, "Ivan", 1, false);
+        MaterializedTable replica = new MaterializedTable(table.executor(), "users", config().setPollIntervalMillis(10));
+        CountDownLatch closed = new CountDownLatch(1);
+        replica.addListener((previous, current) -> {
+            replica.close();
+            closed.countDown();
+        });
+        table.put(2, "Petr", 2, false);
+        Assertions.assertTrue(closed.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(replica.isClosed());
+        Assertions.assertThrows(ReplicaIsClosedException.class, replica::refresh);
+        replica.close();
+    }
+
+    @Test
+    @DisplayName("materialized table test: should close from a listener of a manual reload while the poller waits")
+    void shouldCloseFromListenerOfManualReload() throws Exception {
+        FakeTable table = new FakeTable();
+        table.put(1, "Ivan", 5, false);
+        MaterializedTable replica = new MaterializedTable(table.executor(), "users", config().setPollIntervalMillis(10));
+        replica.addListener((previous, current) -> {
+            try {
+                // the poller wakes up meanwhile and waits for the refresh lock
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            replica.close();
+        });
+        // below the watermark, so only the reload sees it
+        table.put(2, "Petr", 1, false);
+        Thread reloading = new Thread(() -> {
+            try {
+                replica.reload();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        reloading.setDaemon(true);
+        reloading.start();
+        reloading.join(5000);
+        Assertions.assertFalse(reloading.isAlive());
+        Assertions.assertTrue(replica.isClosed());
+        Assertions.assertEquals("Petr", replica.get(2).getValue("name"));
+    }
+}
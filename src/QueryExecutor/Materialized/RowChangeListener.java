@@ -0,0 +1,16 @@
+package QueryExecutor.Materialized;
+
+import QueryExecutor.Record.Record;
+
+/**
+ * Receives the rows changed by a refresh of {@link MaterializedTable}. Called on the refreshing thread after the new
+ * snapshot is published, so reads inside the listener already see the change
+ */
+@FunctionalInterface
+public interface RowChangeListener {
+    /**
+     * @param previous row before the change, {@code null} if the row is new
+     * @param current row after the change, {@code null} if the row is deleted
+     */
+    void onChange(Record previous, Record current);
+}
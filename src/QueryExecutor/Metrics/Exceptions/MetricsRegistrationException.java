@@ -0,0 +1,23 @@
+package QueryExecutor.Metrics.Exceptions;
+
+public class MetricsRegistrationException extends RuntimeException {
+    public MetricsRegistrationException() {
+        super();
+    }
+
+    public MetricsRegistrationException(String message) {
+        super(message);
+    }
+
+    public MetricsRegistrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public MetricsRegistrationException(Throwable cause) {
+        super(cause);
+    }
+
+    protected MetricsRegistrationException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
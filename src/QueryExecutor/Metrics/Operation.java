@@ -0,0 +1,19 @@
+package QueryExecutor.Metrics;
+
+/**
+ * Kind of executor operation metrics are collected for
+ */
+public enum Operation {
+    INSERT,
+    SELECT,
+    UPDATE,
+    DELETE,
+    TRUNCATE;
+
+    /**
+     * @return true if rows of the operation are read, false if they are written
+     */
+    public boolean isRead() {
+        return this == SELECT;
+    }
+}
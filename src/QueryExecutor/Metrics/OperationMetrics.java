@@ -0,0 +1,35 @@
+package QueryExecutor.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of one operation type on one table
+ */
+class OperationMetrics {
+    private final String tableName;
+    private final Operation operation;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    OperationMetrics(String tableName, Operation operation) {
+        this.tableName = tableName;
+        this.operation = operation;
+    }
+
+    void record(long nanos, long rowCount, boolean failed) {
+        latency.record(nanos);
+        if (failed) {
+            failures.increment();
+        }
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    OperationStats snapshot() {
+        return new OperationStats(tableName, operation, latency.getCount(), failures.sum(), rows.sum(),
+                latency.getTotalNanos(), latency.getMaxNanos(),
+                latency.getPercentile(50), latency.getPercentile(99), latency.getPercentile(99.9));
+    }
+}
@@ -0,0 +1,99 @@
+package QueryExecutor.Metrics;
+
+/**<h1>OperationStats class</h1>
+ * <h2>
+ * Immutable snapshot of metrics of one operation type on one table
+ * </h2>
+ */
+public class OperationStats {
+    private final String tableName;
+    private final Operation operation;
+    private final long calls;
+    private final long failures;
+    private final long rows;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+
+    OperationStats(String tableName, Operation operation, long calls, long failures, long rows,
+                   long totalNanos, long maxNanos, long p50Nanos, long p99Nanos, long p999Nanos) {
+        this.tableName = tableName;
+        this.operation = operation;
+        this.calls = calls;
+        this.failures = failures;
+        this.rows = rows;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return number of finished calls, failed ones included
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return rows read by selects or rows written by other operations
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getAverageNanos() {
+        return calls == 0 ? 0 : totalNanos / calls;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationStats{" +
+                "tableName='" + tableName + '\'' +
+                ", operation=" + operation +
+                ", calls=" + calls +
+                ", failures=" + failures +
+                ", rows=" + rows +
+                ", averageNanos=" + getAverageNanos() +
+                ", maxNanos=" + maxNanos +
+                ", p50Nanos=" + p50Nanos +
+                ", p99Nanos=" + p99Nanos +
+                ", p999Nanos=" + p999Nanos +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package QueryExecutor.Metrics;
+
+/**
+ * Receives every finished executor operation, for example to forward it to an external metrics system.
+ * Called on the thread that executed the operation, so implementations must be fast and thread-safe
+ */
+@FunctionalInterface
+public interface QueryMetricsListener {
+    /**
+     * @param tableName table of the operation
+     * @param operation kind of the operation
+     * @param nanos duration of the operation
+     * @param rows rows read or written
+     * @param failure exception thrown by the operation or {@code null} if it succeeded
+     */
+    void onOperation(String tableName, Operation operation, long nanos, long rows, Throwable failure);
+}
@@ -0,0 +1,25 @@
+package QueryExecutor.Metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link QueryMetrics}
+ */
+public interface QueryMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getCalls();
+
+    long getFailures();
+
+    long getRowsRead();
+
+    long getRowsWritten();
+
+    /**
+     * @return snapshot of every table and operation type that was called at least once
+     */
+    List<OperationStats> getOperationStats();
+}
@@ -0,0 +1,66 @@
+package QueryExecutor.Metrics;
+import org.junit.jupiter.api.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class QueryMetricsTest {
+
+    @Test
+    @DisplayName("histogram test: should report percentiles within bucket precision")
+    void shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(1_000_000, histogram.getMaxNanos());
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+        Assertions.assertTrue(p50 >= 500_000 && p50 <= 500_000 * 17 / 16, "p50 = " + p50);
+        Assertions.assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 = " + p99);
+        Assertions.assertEquals(1_000_000, histogram.getPercentile(100));
+    }
+
+    @Test
+    @DisplayName("record test: should count calls, rows and failures by table and operation")
+    void shouldCountCallsRowsAndFailures() {
+        QueryMetrics metrics = new QueryMetrics();
+        List<Throwable> seen = new ArrayList<>();
+        metrics.addListener((tableName, operation, nanos, rows, failure) -> seen.add(failure));
+        metrics.record("test_table", Operation.INSERT, 1000, 5, null);
+        metrics.record("test_table", Operation.INSERT, 2000, 0, new SQLException("duplicate"));
+        metrics.record("test_table", Operation.SELECT, 3000, 7, null);
+        OperationStats inserts = metrics.getOperationStats("test_table", Operation.INSERT);
+        Assertions.assertEquals(2, inserts.getCalls());
+        Assertions.assertEquals(1, inserts.getFailures());
+        Assertions.assertEquals(5, inserts.getRows());
+        Assertions.assertEquals(1500, inserts.getAverageNanos());
+        Assertions.assertEquals(7, metrics.getRowsRead());
+        Assertions.assertEquals(5, metrics.getRowsWritten());
+        Assertions.assertEquals(3, seen.size());
+        metrics.setEnabled(false);
+        metrics.record("test_table", Operation.DELETE, 1000, 1, null);
+        Assertions.assertEquals(3, metrics.getCalls());
+    }
+
+    @Test
+    @DisplayName("jmx test: should publish metrics as MBean attributes")
+    void shouldPublishMetricsOverJmx() throws Exception {
+        QueryMetrics metrics = new QueryMetrics();
+        metrics.record("test_table", Operation.UPDATE, 1000, 2, null);
+        ObjectName name = metrics.registerMBean("QueryMetricsTest");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Assertions.assertEquals(1L, server.getAttribute(name, "Calls"));
+            Assertions.assertEquals(2L, server.getAttribute(name, "RowsWritten"));
+        } finally {
+            metrics.unregisterMBean();
+        }
+        Assertions.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
@@ -0,0 +1,39 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.Record.Record;
+import QueryExecutor.WhereExpression.WhereExpression;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**<h1>AsyncQueryExecutor interface</h1>
+ * <h2>
+ * Non-blocking contract of the executors. Every method returns at once, the future is completed with
+ * the result of the corresponding {@link QueryExecutor} method or completed exceptionally with its exception.
+ * </h2>
+ */
+public interface AsyncQueryExecutor extends AutoCloseable {
+
+    CompletableFuture<Integer> insert(String tableName, Record record);
+
+    CompletableFuture<List<Integer>> insertAll(String tableName, List<Record> records);
+
+    CompletableFuture<Integer> update(String tableName, Record record, WhereExpression whereExpression);
+
+    CompletableFuture<List<Record>> select(String tableName);
+
+    CompletableFuture<List<Record>> select(String tableName, WhereExpression expression);
+
+    CompletableFuture<List<Record>> select(String tableName, List<String> fields);
+
+    CompletableFuture<List<Record>> select(String tableName, List<String> fields, WhereExpression expression);
+
+    CompletableFuture<Integer> delete(String tableName);
+
+    CompletableFuture<Integer> delete(String tableName, WhereExpression expression);
+
+    CompletableFuture<Void> truncate(String tableName);
+
+    @Override
+    void close();
+}
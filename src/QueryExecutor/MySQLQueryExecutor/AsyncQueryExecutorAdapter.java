@@ -0,0 +1,252 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.Record.Record;
+import QueryExecutor.WhereExpression.WhereExpression;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**<h1>AsyncQueryExecutorAdapter class</h1>
+ * <h2>
+ * {@link AsyncQueryExecutor} that runs the operations of a blocking {@link QueryExecutor} on an {@link Executor}.
+ * </h2>
+ * <h3>
+ * By default every operation runs on its own virtual thread, when the JVM supports them, otherwise on a shared pool
+ * of daemon threads. At most {@code maxConcurrency} operations run at the same time, the rest wait in a queue
+ * without occupying a thread, so a burst of calls can not flood the database or the connection pool.
+ * </h3>
+ */
+public class AsyncQueryExecutorAdapter implements AsyncQueryExecutor {
+    private final QueryExecutor executor;
+    private final Executor threads;
+    private final ExecutorService ownedThreads;
+    private final int maxConcurrency;
+    private final Queue<Task<?>> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param executor blocking executor that performs the operations
+     * @param maxConcurrency maximum number of operations running at the same time
+     */
+    public AsyncQueryExecutorAdapter(QueryExecutor executor, int maxConcurrency) {
+        this(executor, maxConcurrency, newDefaultThreads("QueryExecutor-async-"), true);
+    }
+
+    /**
+     * @param executor blocking executor that performs the operations
+     * @param maxConcurrency maximum number of operations running at the same time
+     * @param threads executor the operations run on. It is not shut down by {@link #close()}
+     */
+    public AsyncQueryExecutorAdapter(QueryExecutor executor, int maxConcurrency, Executor threads) {
+        this(executor, maxConcurrency, threads, false);
+    }
+
+    private AsyncQueryExecutorAdapter(QueryExecutor executor, int maxConcurrency, Executor threads, boolean owned) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive: " + maxConcurrency);
+        }
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.threads = threads;
+        this.ownedThreads = owned ? (ExecutorService) threads : null;
+    }
+
+    @Override
+    public CompletableFuture<Integer> insert(String tableName, Record record) {
+        return submit(() -> executor.insert(tableName, record));
+    }
+
+    @Override
+    public CompletableFuture<List<Integer>> insertAll(String tableName, List<Record> records) {
+        return submit(() -> executor.insertAll(tableName, records));
+    }
+
+    @Override
+    public CompletableFuture<Integer> update(String tableName, Record record, WhereExpression whereExpression) {
+        return submit(() -> executor.update(tableName, record, whereExpression));
+    }
+
+    @Override
+    public CompletableFuture<List<Record>> select(String tableName) {
+        return submit(() -> executor.select(tableName));
+    }
+
+    @Override
+    public CompletableFuture<List<Record>> select(String tableName, WhereExpression expression) {
+        return submit(() -> executor.select(tableName, expression));
+    }
+
+    @Override
+    public CompletableFuture<List<Record>> select(String tableName, List<String> fields) {
+        return submit(() -> executor.select(tableName, fields));
+    }
+
+    @Override
+    public CompletableFuture<List<Record>> select(String tableName, List<String> fields, WhereExpression expression) {
+        return submit(() -> executor.select(tableName, fields, expression));
+    }
+
+    @Override
+    public CompletableFuture<Integer> delete(String tableName) {
+        return submit(() -> executor.delete(tableName));
+    }
+
+    @Override
+    public CompletableFuture<Integer> delete(String tableName, WhereExpression expression) {
+        return submit(() -> executor.delete(tableName, expression));
+    }
+
+    @Override
+    public CompletableFuture<Void> truncate(String tableName) {
+        return submit(() -> {
+            executor.truncate(tableName);
+            return null;
+        });
+    }
+
+    /**
+     * @return number of operations running now
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return number of operations waiting for the concurrency limit
+     */
+    public int getWaiting() {
+        return waiting.size();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Stops accepting operations, the futures of later calls fail with {@link RejectedExecutionException}.
+     * Operations that are already submitted are completed, including those still waiting for the concurrency limit.
+     * The default threads are shut down when the last of them has finished
+     */
+    @Override
+    public void close() {
+        closed = true;
+        shutdownIfDone();
+    }
+
+    private <T> CompletableFuture<T> submit(SqlCall<T> call) {
+        Task<T> task = new Task<>(call);
+        if (closed) {
+            task.future.completeExceptionally(new RejectedExecutionException("Async executor is closed"));
+            return task.future;
+        }
+        waiting.add(task);
+        dispatch();
+        return task.future;
+    }
+
+    /**
+     * Shuts down the default threads once the adapter is closed and no operation is running or waiting
+     */
+    private void shutdownIfDone() {
+        if (closed && ownedThreads != null && running.get() == 0 && waiting.isEmpty()) {
+            ownedThreads.shutdown();
+        }
+    }
+
+    /**
+     * Starts waiting operations while the limit allows. Called after every submit and every finished operation,
+     * so a free slot is never left unused while operations are waiting
+     */
+    private void dispatch() {
+        while (!waiting.isEmpty()) {
+            int current = running.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Task<?> task = waiting.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                threads.execute(task);
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * @param threadName name prefix of the daemon threads used when virtual threads are not available
+     * @return executor that starts a virtual thread per task, or a cached pool of daemon threads
+     */
+    public static ExecutorService newDefaultThreads(String threadName) {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invoke();
+        } catch (Throwable e) {
+            // virtual threads are not available in this JVM
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, threadName + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private class Task<T> implements Runnable {
+        private final SqlCall<T> call;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Task(SqlCall<T> call) {
+            this.call = call;
+        }
+
+        /**
+         * The slot is freed before the future is completed, so a caller that waited for the future never sees
+         * the operation as running
+         */
+        @Override
+        public void run() {
+            T result = null;
+            Throwable failure = null;
+            try {
+                result = call.call();
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                running.decrementAndGet();
+                dispatch();
+                shutdownIfDone();
+            }
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
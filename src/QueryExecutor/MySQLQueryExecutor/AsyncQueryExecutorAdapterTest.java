@@ -0,0 +1,90 @@
+package QueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.Record.Record;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AsyncQueryExecutorAdapterTest {
+
+    @Test
+    @DisplayName("async test: should never run more operations at once than the concurrency limit")
+    void shouldRespectConcurrencyLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        QueryExecutor blocking = fakeExecutor(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            release.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return Collections.emptyList();
+        });
+        try (AsyncQueryExecutorAdapter async = new AsyncQueryExecutorAdapter(blocking, 2)) {
+            List<CompletableFuture<List<Record>>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(async.select("table"));
+            }
+            Assertions.assertEquals(2, async.getMaxConcurrency());
+            Assertions.assertTrue(async.getWaiting() >= 4);
+            release.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+            Assertions.assertTrue(maxRunning.get() <= 2);
+            Assertions.assertEquals(0, async.getRunning());
+        }
+    }
+
+    @Test
+    @DisplayName("async test: should complete the future exceptionally if the operation fails")
+    void shouldCompleteExceptionallyOnFailure() {
+        QueryExecutor failing = fakeExecutor(() -> {
+            throw new SQLException("table does not exist");
+        });
+        try (AsyncQueryExecutorAdapter async = new AsyncQueryExecutorAdapter(failing, 1)) {
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                    () -> async.select("table").get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof SQLException);
+        }
+    }
+
+    @Test
+    @DisplayName("async test: should complete operations waiting for the limit when closed and reject later ones")
+    void shouldCompleteWaitingOperationsOnClose() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        QueryExecutor blocking = fakeExecutor(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+        AsyncQueryExecutorAdapter async = new AsyncQueryExecutorAdapter(blocking, 2);
+        List<CompletableFuture<List<Record>>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(async.select("table"));
+        }
+        async.close();
+        ExecutionException rejected = Assertions.assertThrows(ExecutionException.class,
+                () -> async.select("table").get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+        release.countDown();
+        for (CompletableFuture<List<Record>> future: futures) {
+            Assertions.assertEquals(Collections.emptyList(), future.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(0, async.getWaiting());
+    }
+
+    private interface SelectAnswer {
+        Object answer() throws Exception;
+    }
+
+    private static QueryExecutor fakeExecutor(SelectAnswer answer) {
+        return (QueryExecutor) Proxy.newProxyInstance(QueryExecutor.class.getClassLoader(),
+                new Class<?>[]{QueryExecutor.class}, (proxy, method, args) -> answer.answer());
+    }
+}
@@ -0,0 +1,23 @@
+package QueryExecutor.MySQLQueryExecutor.Exceptions;
+
+public class QueryExecutionException extends RuntimeException {
+    public QueryExecutionException() {
+        super();
+    }
+
+    public QueryExecutionException(String message) {
+        super(message);
+    }
+
+    public QueryExecutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public QueryExecutionException(Throwable cause) {
+        super(cause);
+    }
+
+    protected QueryExecutionException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
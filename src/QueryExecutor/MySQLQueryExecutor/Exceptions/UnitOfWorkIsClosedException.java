@@ -0,0 +1,23 @@
+package QueryExecutor.MySQLQueryExecutor.Exceptions;
+
+public class UnitOfWorkIsClosedException extends RuntimeException {
+    public UnitOfWorkIsClosedException() {
+        super();
+    }
+
+    public UnitOfWorkIsClosedException(String message) {
+        super(message);
+    }
+
+    public UnitOfWorkIsClosedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public UnitOfWorkIsClosedException(Throwable cause) {
+        super(cause);
+    }
+
+    protected UnitOfWorkIsClosedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
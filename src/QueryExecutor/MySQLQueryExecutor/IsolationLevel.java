@@ -0,0 +1,29 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import java.sql.Connection;
+
+/**
+ * Transaction isolation level of a {@link UnitOfWork}
+ */
+public enum IsolationLevel {
+    READ_UNCOMMITTED(Connection.TRANSACTION_READ_UNCOMMITTED),
+    READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+    /**
+     * Default level of InnoDB
+     */
+    REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+    SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+    private final int jdbcLevel;
+
+    IsolationLevel(int jdbcLevel) {
+        this.jdbcLevel = jdbcLevel;
+    }
+
+    /**
+     * @return level constant of {@link Connection}
+     */
+    public int getJdbcLevel() {
+        return jdbcLevel;
+    }
+}
@@ -1,14 +1,50 @@
 package QueryExecutor.MySQLQueryExecutor;
 
+import QueryExecutor.Cache.CoalescingConfig;
+import QueryExecutor.Cache.CoalescingStats;
+import QueryExecutor.Cache.QueryCoalescer;
+import QueryExecutor.Cache.ResultCache;
+import QueryExecutor.Cache.ResultCacheConfig;
+import QueryExecutor.Cache.ResultCacheStats;
+import QueryExecutor.Columnar.ColumnarResult;
+import QueryExecutor.ConnectionPool.ConnectionPool;
+import QueryExecutor.ConnectionPool.ConnectionPoolConfig;
+import QueryExecutor.ConnectionPool.PoolStats;
+import QueryExecutor.ConnectionPool.PooledConnection;
+import QueryExecutor.Export.BinaryTableReader;
+import QueryExecutor.Export.ExportFormat;
+import QueryExecutor.Export.TableExporter;
+import QueryExecutor.Mapping.Exceptions.ObjectMappingException;
+import QueryExecutor.Mapping.RowMapper;
+import QueryExecutor.Mapping.RowMappers;
+import QueryExecutor.Metrics.Operation;
+import QueryExecutor.Metrics.QueryMetrics;
 import QueryExecutor.MySQLQueryExecutor.Exceptions.ConnectionIsClosedException;
 import QueryExecutor.MySQLQueryExecutor.Exceptions.IncorrectRecordException;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.QueryExecutionException;
 import QueryExecutor.Record.Record;
+import QueryExecutor.Replication.ReadBalancer;
+import QueryExecutor.Replication.ReplicaEndpoint;
+import QueryExecutor.Replication.ReplicationConfig;
+import QueryExecutor.Schema.SchemaCache;
+import QueryExecutor.Schema.TableSchema;
+import QueryExecutor.Tracing.QueryTracer;
+import QueryExecutor.Tracing.QueryTracerConfig;
 import QueryExecutor.WhereExpression.WhereExpression;
 import Tools.Pair;
 import com.mysql.cj.jdbc.Driver;
+import com.mysql.cj.jdbc.JdbcStatement;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.sql.*;
 import java.util.*;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**<h1>MySQLQueryExecutor class</h1>
  * <h2>
@@ -20,48 +56,399 @@ import java.util.stream.Stream;
  * For successful operations when working with tables, the record fields must completely match the names of the columns
  * in the database table, otherwise will be thrown {@link IncorrectRecordException}. The Record class is based on the {@link Map}
  * </h3>
+ * <h3>
+ * The executor is thread-safe: connections are kept in a {@link ConnectionPool} and every operation leases
+ * a connection only for its own duration.
+ * </h3>
+ * <h3>
+ * Record values are sent as {@code ?} parameters of prepared statements. Statements are cached per connection by
+ * their SQL text (table, column set and WHERE shape), so every statement shape is parsed only once per connection.
+ * </h3>
+ * <h3>
+ * Every operation is timed and counted per table and operation type, see {@link #getMetrics()}. Executed statements
+ * can also be aggregated by their shape with slow statements explained, see {@link #enableTracing(QueryTracerConfig)}.
+ * </h3>
+ * <h3>
+ * Results of {@code select} can be cached, see {@link #enableResultCache(ResultCacheConfig)}. Identical selects
+ * that run at the same time can share one query, see {@link #enableCoalescing(CoalescingConfig)}.
+ * </h3>
+ * <h3>
+ * Writes that belong together can be sent in one transaction with batching, see {@link #beginWork()}.
+ * </h3>
+ * <h3>
+ * Reads can be spread over replicas of the database, see {@link #forCluster(String, String, String, ConnectionPoolConfig, ReplicationConfig)}.
+ * </h3>
  *
  */
-public class MySQLQueryExecutor {
+public class MySQLQueryExecutor implements QueryExecutor {
     private static final String URL = "jdbc:mysql://localhost:3306/";
-    private Connection connection;
-    private final String dbName;
+    private static final int DEFAULT_INSERT_CHUNK_SIZE = 1000;
+    private static final int MAX_PLACEHOLDERS = 65_535;
+    private volatile ConnectionPool pool;
+    private final String url;
     private final String user;
     private final String password;
+    private final ConnectionPoolConfig poolConfig;
+    private volatile int insertChunkSize = DEFAULT_INSERT_CHUNK_SIZE;
+    private volatile int streamFetchSize;
+    private final SchemaCache schemaCache = new SchemaCache();
+    private final QueryMetrics metrics = new QueryMetrics();
+    private volatile ResultCache resultCache;
+    private volatile QueryCoalescer coalescer;
+    private volatile QueryTracer tracer;
+    private final ReplicationConfig replication;
+    private volatile ReadBalancer readBalancer;
+    private volatile long primaryPinnedUntil;
 
 
     /**
-     * Constructor registers driver and get connection from {@code DriverManager}
+     * Constructor registers driver. Connections are opened by {@link #openConnection()}
      * @param dbName name of database without full URL to local server
      * @param user username of db user
      * @param password password of db user
      * @throws SQLException
      */
     public MySQLQueryExecutor(String dbName, String user, String password) throws SQLException {
+        this(dbName, user, password, new ConnectionPoolConfig());
+    }
+
+    /**
+     * Constructor registers driver. Connections are opened by {@link #openConnection()}
+     * @param dbName name of database without full URL to local server
+     * @param user username of db user
+     * @param password password of db user
+     * @param poolConfig settings of the connection pool ({@link ConnectionPoolConfig})
+     * @throws SQLException
+     */
+    public MySQLQueryExecutor(String dbName, String user, String password, ConnectionPoolConfig poolConfig) throws SQLException {
+        this(poolConfig, URL + dbName, user, password, null);
+    }
+
+    private MySQLQueryExecutor(ConnectionPoolConfig poolConfig, String url, String user, String password,
+                               ReplicationConfig replication) throws SQLException {
         java.sql.Driver driver = new Driver();
         DriverManager.registerDriver(driver);
-        this.dbName = dbName;
+        this.url = url;
         this.user = user;
         this.password = password;
+        this.poolConfig = poolConfig;
+        this.replication = replication;
+    }
+
+    /**
+     * Creates executor for a database given by its full JDBC URL, for example a server on another host
+     * or a MySQL-compatible stand-in database. Connections are opened by {@link #openConnection()}
+     * @param url full JDBC URL of database
+     * @param user username of db user
+     * @param password password of db user
+     * @param poolConfig settings of the connection pool ({@link ConnectionPoolConfig})
+     * @return new executor
+     * @throws SQLException
+     */
+    public static MySQLQueryExecutor forUrl(String url, String user, String password, ConnectionPoolConfig poolConfig) throws SQLException {
+        return new MySQLQueryExecutor(poolConfig, url, user, password, null);
+    }
+
+    /**
+     * Creates executor for a primary database and its read replicas. Inserts, updates, deletes, truncates, syncs and
+     * units of work go to the primary. Selects (including streaming, paged, parallel, columnar, object and export
+     * selects) go to a replica chosen by {@link ReadBalancer}, or to the primary if no replica is available or
+     * a write of this executor happened within {@link ReplicationConfig#setReadYourWritesMillis(long)}.
+     * Every endpoint has its own connection pool with the same settings. Connections are opened by
+     * {@link #openConnection()}
+     * @param primaryUrl full JDBC URL of the primary database
+     * @param user username of db user, the same for all endpoints
+     * @param password password of db user, the same for all endpoints
+     * @param poolConfig settings of the connection pool of every endpoint ({@link ConnectionPoolConfig})
+     * @param replication replicas and balancing settings ({@link ReplicationConfig})
+     * @return new executor
+     * @throws SQLException
+     */
+    public static MySQLQueryExecutor forCluster(String primaryUrl, String user, String password,
+                                                ConnectionPoolConfig poolConfig, ReplicationConfig replication) throws SQLException {
+        if (replication.getReplicas().isEmpty()) {
+            throw new IllegalArgumentException("Replication config has no replicas");
+        }
+        return new MySQLQueryExecutor(poolConfig, primaryUrl, user, password, replication);
     }
 
     /**This method give an opportunity to execute SQL function: <h2>INSERT</h2>
      * @param tableName string representation of the table name;
      * @param record a {@link Record} corresponding to a specific table.
      * The record description rules for the table are specified in the class description.
+     * @return number of inserted rows
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      * @throws IncorrectRecordException if record fields does not match the corresponding table.
      * The record description rules for the table are specified in the class description.
      */
-    public void insert(String tableName, Record record) throws SQLException {
+    @Override
+    public int insert(String tableName, Record record) throws SQLException {
         checkConnection();
         checkRecord(record);
-        Statement statement = connection.createStatement();
-        ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName);
-        Pair<String, String> matches = getMatches(rs.getMetaData(), record);
-        statement.execute("INSERT INTO " + tableName + " " + matches.getKey() + " VALUES " + matches.getValue());
-        statement.close();
+        long start = startTimer();
+        int inserted;
+        String sql = null;
+        List<Object> values = null;
+        try (PooledConnection connection = lease()) {
+            TableSchema schema = getTableSchema(connection, tableName);
+            Pair<String, List<Object>> matches = getMatches(schema, record);
+            sql = buildInsertStatement(tableName, matches.getKey(), schema.getColumnCount(), 1);
+            values = matches.getValue();
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindValues(statement, 1, values);
+            inserted = executeUpdate(connection, sql, statement);
+        } catch (SQLException | RuntimeException e) {
+            if (e instanceof SQLSyntaxErrorException) {
+                schemaCache.invalidate(tableName);
+            }
+            recordOperation(tableName, Operation.INSERT, sql, values, start, 0, e);
+            throw e;
+        } finally {
+            afterWrite(tableName);
+        }
+        recordOperation(tableName, Operation.INSERT, sql, values, start, inserted, null);
+        return inserted;
+    }
+
+    /**This method give an opportunity to execute SQL function: <h2>INSERT ... VALUES (...), (...), ...</h2>
+     * Records are sent in chunks of {@link #getInsertChunkSize()} rows, one multi-row INSERT per chunk.
+     * A chunk is cut earlier if it would exceed 65535 parameters of one prepared statement.
+     * @param tableName string representation of the table name;
+     * @param records list of {@link Record} corresponding to a specific table.
+     * The record description rules for the table are specified in the class description.
+     * @return number of inserted rows reported by the server for every chunk
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws IncorrectRecordException if fields of any record does not match the corresponding table.
+     * Records are checked before the first chunk is sent
+     */
+    @Override
+    public List<Integer> insertAll(String tableName, List<Record> records) throws SQLException {
+        return insertAll(tableName, records, insertChunkSize);
+    }
+
+    /**This method give an opportunity to execute SQL function: <h2>INSERT ... VALUES (...), (...), ...</h2>
+     * @param tableName string representation of the table name;
+     * @param records list of {@link Record} corresponding to a specific table.
+     * The record description rules for the table are specified in the class description.
+     * @param chunkSize maximum number of rows in one INSERT statement
+     * @return number of inserted rows reported by the server for every chunk
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws IncorrectRecordException if fields of any record does not match the corresponding table.
+     * Records are checked before the first chunk is sent
+     */
+    public List<Integer> insertAll(String tableName, List<Record> records, int chunkSize) throws SQLException {
+        checkConnection();
+        checkChunkSize(chunkSize);
+        for (Record record: records) {
+            checkRecord(record);
+        }
+        List<Integer> chunkCounts = new ArrayList<>();
+        if (records.isEmpty()) {
+            return chunkCounts;
+        }
+        long start = startTimer();
+        String sql = null;
+        try (PooledConnection connection = lease()) {
+            TableSchema schema = getTableSchema(connection, tableName);
+            sql = buildInsertShape(tableName, schema);
+            for (Record record: records) {
+                checkColumns(schema, record);
+            }
+            insertChunks(connection, tableName, schema, records, chunkSize, chunkCounts);
+        } catch (SQLException | RuntimeException e) {
+            if (e instanceof SQLSyntaxErrorException) {
+                schemaCache.invalidate(tableName);
+            }
+            recordOperation(tableName, Operation.INSERT, sql, null, start, sum(chunkCounts), e);
+            throw e;
+        } finally {
+            afterWrite(tableName);
+        }
+        recordOperation(tableName, Operation.INSERT, sql, null, start, sum(chunkCounts), null);
+        return chunkCounts;
+    }
+
+    /**
+     * This method give an opportunity to load many records with the native bulk loader of MySQL:
+     * <h2>LOAD DATA LOCAL INFILE … INTO TABLE &lt table name &gt (&lt col_name1 &gt, …)</h2>
+     * <h3>
+     * Records are encoded into tab separated text as the driver reads it and sent without a temporary file, only one
+     * row is kept in memory. Values are taken in the order of the table columns ({@link TableSchema}), as for
+     * {@link #insert(String, Record)}. Requires {@link ConnectionPoolConfig#setAllowLoadLocalInfile(boolean)}
+     * and {@code local_infile=ON} on the server.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param records records corresponding to the table, read once
+     * @return number of loaded rows
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws IncorrectRecordException if fields of a record do not match the corresponding table. Records are checked
+     * while they are sent, rows sent before the incorrect record may be loaded
+     */
+    public long bulkLoad(String tableName, Iterator<Record> records) throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        long start = startTimer();
+        long loaded;
+        String sql = null;
+        RecordInputStream stream = null;
+        try (PooledConnection connection = lease();
+             Statement statement = connection.getConnection().createStatement()) {
+            TableSchema schema = getTableSchema(connection, tableName);
+            stream = new RecordInputStream(records, record -> {
+                checkRecord(record);
+                return getValues(schema, record);
+            });
+            statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(stream);
+            sql = "LOAD DATA LOCAL INFILE 'stream' INTO TABLE " + tableName
+                    + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\n' "
+                    + buildColumnList(schema);
+            loaded = statement.executeLargeUpdate(sql);
+            if (stream.getFailure() != null) {
+                throw stream.getFailure();
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (e instanceof SQLSyntaxErrorException) {
+                schemaCache.invalidate(tableName);
+            }
+            RuntimeException failure = stream == null ? null : stream.getFailure();
+            recordOperation(tableName, Operation.INSERT, sql, null, start, 0, failure != null ? failure : e);
+            if (failure != null) {
+                if (failure != e) {
+                    failure.addSuppressed(e);
+                }
+                throw failure;
+            }
+            throw e;
+        } finally {
+            afterWrite(tableName);
+        }
+        recordOperation(tableName, Operation.INSERT, sql, null, start, loaded, null);
+        return loaded;
+    }
+
+    /**
+     * This method makes the content of the table equal to the given records and changes only the rows that differ:
+     * <h2>DELETE … WHERE (&lt key &gt) IN (…), UPDATE … WHERE &lt key &gt = ?, INSERT … VALUES (…), …</h2>
+     * <h3>
+     * Current rows are read in one streaming pass and compared with the records by key in a hash map, so only
+     * the records are kept in memory. Rows whose key is not among the records are deleted, records with a new key are
+     * inserted and records that differ from the row with their key (see {@link Record#equals(Object)}) are updated.
+     * Deletes and inserts are sent in chunks of {@link #getInsertChunkSize()} rows, updates as JDBC batches of the same
+     * size. Everything runs in one transaction on one connection: the rows are locked while they are read
+     * ({@code SELECT … FOR UPDATE}) and the changes are rolled back if any statement fails.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param keyColumns columns that identify a row, usually the primary key
+     * @param records wanted content of the whole table. Every record must contain all columns of the table,
+     * fields outside of the table are ignored
+     * @return numbers of inserted, updated and deleted rows
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws IncorrectRecordException if a record misses a column of the table, has a null key or two records
+     * have the same key. Records are checked before the table is read
+     */
+    public SyncResult sync(String tableName, List<String> keyColumns, List<Record> records) throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        for (Record record: records) {
+            checkRecord(record);
+        }
+        long start = startTimer();
+        Operation operation = Operation.SELECT;
+        String sql = null;
+        long rows = 0;
+        try (PooledConnection connection = lease()) {
+            TableSchema schema = getTableSchema(connection, tableName);
+            List<String> columns = schema.getColumnNames();
+            RecordDiff diff = new RecordDiff(keyColumns, columns, records);
+            connection.beginTransaction();
+            try {
+                sql = buildSelectWhere(tableName, columns, null) + " FOR UPDATE";
+                try (PreparedStatement statement = prepareStreamingStatement(connection, sql);
+                     ResultSet rs = statement.executeQuery()) {
+                    RecordMapper mapper = new RecordMapper(rs.getMetaData());
+                    while (rs.next()) {
+                        diff.compare(mapper.map(rs));
+                        rows++;
+                    }
+                }
+                recordOperation(tableName, operation, sql, Collections.emptyList(), start, rows, null);
+                int deleted = 0;
+                if (!diff.getDeletes().isEmpty()) {
+                    operation = Operation.DELETE;
+                    sql = null;
+                    start = startTimer();
+                    rows = deleted = deleteKeys(connection, tableName, keyColumns, diff.getDeletes());
+                    recordOperation(tableName, operation, start, rows, null);
+                }
+                int updated = 0;
+                if (!diff.getUpdates().isEmpty()) {
+                    operation = Operation.UPDATE;
+                    sql = null;
+                    start = startTimer();
+                    rows = updated = updateRows(connection, tableName, keyColumns, columns, diff.getUpdates());
+                    recordOperation(tableName, operation, start, rows, null);
+                }
+                int inserted = 0;
+                if (!diff.getInserts().isEmpty()) {
+                    operation = Operation.INSERT;
+                    sql = buildInsertShape(tableName, schema);
+                    start = startTimer();
+                    List<Integer> chunkCounts = new ArrayList<>();
+                    insertChunks(connection, tableName, schema, diff.getInserts(), insertChunkSize, chunkCounts);
+                    rows = inserted = sum(chunkCounts);
+                    recordOperation(tableName, operation, sql, null, start, rows, null);
+                }
+                connection.getConnection().commit();
+                return new SyncResult(inserted, updated, deleted);
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.getConnection().rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (e instanceof SQLSyntaxErrorException) {
+                schemaCache.invalidate(tableName);
+            }
+            recordOperation(tableName, operation, sql, null, start, 0, e);
+            throw e;
+        } finally {
+            afterWrite(tableName);
+        }
+    }
+
+    /**
+     * Starts a {@link UnitOfWork} that writes inserts, updates and deletes in one transaction with the default
+     * isolation level of the connection. The unit holds one pooled connection until it is closed
+     * @return open unit of work, that must be closed
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public UnitOfWork beginWork() throws SQLException, ConnectionIsClosedException {
+        return beginWork(null);
+    }
+
+    /**
+     * Starts a {@link UnitOfWork} that writes inserts, updates and deletes in one transaction
+     * @param isolationLevel isolation level of the transaction, {@code null} keeps the level of the connection
+     * @return open unit of work, that must be closed
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public UnitOfWork beginWork(IsolationLevel isolationLevel) throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        PooledConnection connection = lease();
+        try {
+            return new UnitOfWork(this, connection, isolationLevel);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
     }
 
     /**
@@ -70,18 +457,22 @@ public class MySQLQueryExecutor {
      * @param record a {@link Record} corresponding to a specific table.
      * The record description rules for the table are specified in the class description.
      * @param whereExpression condition of WHERE SQL keyword ({@link WhereExpression})
+     * @return number of changed rows
      * @throws SQLSyntaxErrorException if param {@code tableName} or {@code whereExpression} does not match data from database
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      * @throws IncorrectRecordException if record fields does not match the corresponding table.
      * The record description rules for the table are specified in the class description.
      */
-    public void update(String tableName, Record record, WhereExpression whereExpression) throws SQLException {
+    @Override
+    public int update(String tableName, Record record, WhereExpression whereExpression) throws SQLException {
         checkConnection();
         checkRecord(record);
-        Statement statement = connection.createStatement();
-        statement.executeUpdate("UPDATE " + tableName + " SET " + buildSetExpression(record) + " WHERE " + whereExpression);
-        statement.close();
+        Pair<String, List<Object>> setExpression = buildSetExpression(record);
+        List<Object> values = new ArrayList<>(setExpression.getValue());
+        values.addAll(parametersOf(whereExpression));
+        return executeUpdate(tableName, Operation.UPDATE, "UPDATE " + tableName + " SET " + setExpression.getKey() + " WHERE " + whereExpression,
+                values);
     }
 
     /**
@@ -92,13 +483,10 @@ public class MySQLQueryExecutor {
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      * @throws SQLSyntaxErrorException if param {@code tableName} does not match table name from database
      */
+    @Override
     public List<Record> select(String tableName) throws SQLException, ConnectionIsClosedException {
         checkConnection();
-        Statement statement = connection.createStatement();
-        ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName);
-        List<Record> records = getRecordsFromResSet(rs, rs.getMetaData());
-        statement.close();
-        return records;
+        return executeQuery(tableName, buildSelectStatement(tableName, null, null), Collections.emptyList(), true);
     }
 
     /**
@@ -110,13 +498,10 @@ public class MySQLQueryExecutor {
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      */
+    @Override
     public List<Record> select(String tableName, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
         checkConnection();
-        Statement statement = connection.createStatement();
-        ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName + " WHERE " + expression);
-        List<Record> records = getRecordsFromResSet(rs, rs.getMetaData());
-        statement.close();
-        return records;
+        return executeQuery(tableName, buildSelectStatement(tableName, null, expression), parametersOf(expression), true);
     }
 
     /**
@@ -127,17 +512,10 @@ public class MySQLQueryExecutor {
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      */
+    @Override
     public List<Record> select(String tableName, List<String> fields) throws SQLException, ConnectionIsClosedException {
         checkConnection();
-        Statement statement = connection.createStatement();
-        StringJoiner sj = new StringJoiner(",");
-        for (String fieldName: fields){
-            sj.add(fieldName);
-        }
-        ResultSet rs = statement.executeQuery("SELECT " + sj + " FROM " + tableName);
-        List<Record> records = getRecordsFromResSet(rs, rs.getMetaData());
-        statement.close();
-        return records;
+        return executeQuery(tableName, buildSelectStatement(tableName, fields, null), Collections.emptyList(), false);
     }
 
     /**
@@ -150,79 +528,560 @@ public class MySQLQueryExecutor {
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      */
+    @Override
     public List<Record> select(String tableName, List<String> fields, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
         checkConnection();
-        Statement statement = connection.createStatement();
-        StringJoiner sj = new StringJoiner(",");
-        for (String fieldName: fields){
-            sj.add(fieldName);
-        }
-        ResultSet rs = statement.executeQuery("SELECT " + sj + " FROM " + tableName + " WHERE " + expression);
-        List<Record> records = getRecordsFromResSet(rs, rs.getMetaData());
-        statement.close();
-        return records;
+        return executeQuery(tableName, buildSelectStatement(tableName, fields, expression), parametersOf(expression), false);
+    }
+
+    /**
+     * Streaming variant of {@link #select(String)}. See {@link #selectCursor(String, List, WhereExpression)}
+     * @param tableName string representation of the table name;
+     * @return lazily populated {@link Stream} of {@link Record}, that must be closed if it is not consumed to the end
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public Stream<Record> selectStream(String tableName) throws SQLException, ConnectionIsClosedException {
+        return selectStream(tableName, null, null);
+    }
+
+    /**
+     * Streaming variant of {@link #select(String, WhereExpression)}. See {@link #selectCursor(String, List, WhereExpression)}
+     * @param tableName string representation of the table name
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression})
+     * @return lazily populated {@link Stream} of {@link Record}, that must be closed if it is not consumed to the end
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public Stream<Record> selectStream(String tableName, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+        return selectStream(tableName, null, expression);
+    }
+
+    /**
+     * Streaming variant of {@link #select(String, List)}. See {@link #selectCursor(String, List, WhereExpression)}
+     * @param tableName string representation of the table name;
+     * @param fields list of selected fields names from database table
+     * @return lazily populated {@link Stream} of {@link Record}, that must be closed if it is not consumed to the end
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public Stream<Record> selectStream(String tableName, List<String> fields) throws SQLException, ConnectionIsClosedException {
+        return selectStream(tableName, fields, null);
+    }
+
+    /**
+     * This method give an opportunity to execute SQL function: <h2>SELECT *</h2>
+     * and map the rows directly into objects, see {@link #select(String, Class, List, WhereExpression)}
+     * @param tableName string representation of the table name
+     * @param type POJO with a no-argument constructor or Java record
+     * @return {@link List} of objects
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws ObjectMappingException if the class can not be created or no column matches its properties
+     */
+    public <T> List<T> select(String tableName, Class<T> type) throws SQLException, ConnectionIsClosedException {
+        return select(tableName, type, null, null);
+    }
+
+    /**
+     * This method give an opportunity to execute SQL function: <h2>SELECT * WHERE &lt condition &gt</h2>
+     * and map the rows directly into objects, see {@link #select(String, Class, List, WhereExpression)}
+     * @param tableName string representation of the table name
+     * @param type POJO with a no-argument constructor or Java record
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression})
+     * @return {@link List} of objects
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws ObjectMappingException if the class can not be created or no column matches its properties
+     */
+    public <T> List<T> select(String tableName, Class<T> type, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+        return select(tableName, type, null, expression);
+    }
+
+    /**
+     * This method give an opportunity to execute SQL function: <h2>SELECT &lt col_name1 &gt, … WHERE &lt condition &gt</h2>
+     * and map the rows directly into objects without {@link Record}s.
+     * <h3>
+     * Columns are matched to the properties of the class by name, ignoring case and underscores. The mapper of
+     * the class is generated from {@link java.lang.invoke.MethodHandle}s once per list of columns and reads primitive
+     * properties with typed getters of {@link ResultSet}, see {@link RowMappers}. Results are not cached by
+     * the result cache.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param type POJO with a no-argument constructor or Java record
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @return {@link List} of objects
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws ObjectMappingException if the class can not be created or no column matches its properties
+     */
+    public <T> List<T> select(String tableName, Class<T> type, List<String> fields, WhereExpression expression)
+            throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        long start = startTimer();
+        List<T> objects = new ArrayList<>();
+        String sql = buildSelectStatement(tableName, fields, expression);
+        List<Object> parameters = parametersOf(expression);
+        try (PooledConnection connection = leaseForRead()) {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindValues(statement, 1, parameters);
+            try (ResultSet rs = statement.executeQuery()) {
+                RowMapper<T> mapper = RowMappers.forClass(type, rs.getMetaData());
+                while (rs.next()) {
+                    objects.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            recordOperation(tableName, Operation.SELECT, sql, parameters, start, 0, e);
+            throw e;
+        }
+        recordOperation(tableName, Operation.SELECT, sql, parameters, start, objects.size(), null);
+        return objects;
+    }
+
+    /**
+     * Streaming variant of {@link #select(String, List, WhereExpression)}. See {@link #selectCursor(String, List, WhereExpression)}
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @return lazily populated {@link Stream} of {@link Record}, that must be closed if it is not consumed to the end
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    @Override
+    public Stream<Record> selectStream(String tableName, List<String> fields, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+        return selectStream(tableName, fields, expression, null);
+    }
+
+    /**
+     * Streaming variant of {@link #select(String, List, WhereExpression)} with <h2>ORDER BY &lt col_name1 &gt, …</h2>
+     * See {@link #selectCursor(String, List, WhereExpression, List)}
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @param orderBy columns the rows are sorted by in ascending order, {@code null} leaves the order to the server
+     * @return lazily populated {@link Stream} of {@link Record}, that must be closed if it is not consumed to the end
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    @Override
+    public Stream<Record> selectStream(String tableName, List<String> fields, WhereExpression expression,
+                                       List<String> orderBy) throws SQLException, ConnectionIsClosedException {
+        RecordCursor cursor = selectCursor(tableName, fields, expression, orderBy);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(cursor::close);
+    }
+
+    /**
+     * This method give an opportunity to execute SQL function: <h2>SELECT &lt col_name1 &gt, … WHERE &lt condition &gt</h2>
+     * without loading the whole result into memory.
+     * <h3>
+     * By default the server sends rows one by one as the cursor advances (MySQL result streaming). If
+     * {@link #setStreamFetchSize(int)} is positive and cursor fetch is enabled in the pool config
+     * ({@link ConnectionPoolConfig#setCursorFetch(boolean)}), rows are fetched from a server-side cursor in
+     * portions of that size. The cursor holds one pooled connection until it is exhausted or closed.
+     * Metrics of the select are recorded when the cursor is closed, its latency covers the whole iteration.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @return {@link RecordCursor} over the result rows
+     * @throws SQLSyntaxErrorException if param {@code tableName} or {@code expression} does not match data from database
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public RecordCursor selectCursor(String tableName, List<String> fields, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+        return selectCursor(tableName, fields, expression, null);
+    }
+
+    /**
+     * Variant of {@link #selectCursor(String, List, WhereExpression)} with <h2>ORDER BY &lt col_name1 &gt, …</h2>
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @param orderBy columns the rows are sorted by in ascending order, {@code null} leaves the order to the server
+     * @return {@link RecordCursor} over the result rows
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public RecordCursor selectCursor(String tableName, List<String> fields, WhereExpression expression,
+                                     List<String> orderBy) throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        long start = startTimer();
+        String sql = buildSelectStatement(tableName, fields, expression)
+                + (orderBy == null || orderBy.isEmpty() ? "" : " ORDER BY " + String.join(", ", orderBy));
+        List<Object> parameters = parametersOf(expression);
+        try {
+            PooledConnection connection = leaseForRead();
+            try {
+                PreparedStatement statement = prepareStreamingStatement(connection, sql);
+                try {
+                    bindValues(statement, 1, parameters);
+                    return new RecordCursor(connection, statement, statement.executeQuery(),
+                            this, tableName, sql, parameters, start);
+                } catch (SQLException | RuntimeException e) {
+                    statement.close();
+                    throw e;
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            recordOperation(tableName, Operation.SELECT, sql, parameters, start, 0, e);
+            throw e;
+        }
+    }
+
+    /**
+     * This method give an opportunity to write the result of SQL function:
+     * <h2>SELECT &lt col_name1 &gt, … WHERE &lt condition &gt</h2> to a file.
+     * <h3>
+     * Rows are streamed from the server as by {@link #selectCursor(String, List, WhereExpression)}, encoded into
+     * a reused direct buffer and written through a {@link FileChannel}, without creating {@link Record}s, so memory
+     * does not depend on the size of the table (see {@link TableExporter}). Files in {@link ExportFormat#BINARY}
+     * format are read back with {@link BinaryTableReader}. Rows are written to a temporary file in the same directory
+     * that replaces the file only when the export succeeds, so a failed export leaves an existing file as it was.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param fields list of exported fields names from database table, {@code null} exports all columns
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} exports all rows
+     * @param path file the rows are written to
+     * @param format format of the file
+     * @return number of exported rows
+     * @throws SQLException
+     * @throws IOException if the file can not be written
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public long exportTable(String tableName, List<String> fields, WhereExpression expression, Path path,
+                            ExportFormat format) throws SQLException, IOException, ConnectionIsClosedException {
+        checkConnection();
+        long start = startTimer();
+        long rows;
+        String sql = buildSelectStatement(tableName, fields, expression);
+        List<Object> parameters = parametersOf(expression);
+        Path target = path.toAbsolutePath();
+        Path temporary = null;
+        try (PooledConnection connection = leaseForRead();
+             PreparedStatement statement = prepareStreamingStatement(connection, sql)) {
+            bindValues(statement, 1, parameters);
+            try (ResultSet rs = statement.executeQuery()) {
+                temporary = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE)) {
+                    rows = TableExporter.export(rs, channel, format);
+                }
+            }
+            replaceFile(temporary, target);
+        } catch (SQLException | IOException | RuntimeException e) {
+            recordOperation(tableName, Operation.SELECT, sql, parameters, start, 0, e);
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException deleteFailure) {
+                    e.addSuppressed(deleteFailure);
+                }
+            }
+            throw e;
+        }
+        recordOperation(tableName, Operation.SELECT, sql, parameters, start, rows, null);
+        return rows;
+    }
+
+    /**
+     * Moves the written file into place atomically where the file system allows it
+     */
+    private static void replaceFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * This method give an opportunity to read a large table page by page with keyset (seek) pagination:
+     * <h2>SELECT &lt col_name1 &gt, … WHERE &lt condition &gt AND &lt key &gt &gt ? ORDER BY &lt key &gt LIMIT &lt page size &gt</h2>
+     * <h3>
+     * Every page continues after the last key of the previous page instead of skipping rows with OFFSET, so with an
+     * index on the key column every page costs the same, however deep it is. The key column must be unique, rows with
+     * a key equal to the last key of a page would be skipped. While the caller processes a page, the next one is
+     * fetched on a background thread. Every page leases a pooled connection only for its own query.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns.
+     * The list must contain the key column
+     * @param keyColumn unique, preferably indexed column the pages are ordered by
+     * @param pageSize maximum number of rows in one page
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @return {@link PageIterator} over the pages, in ascending order of the key
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public PageIterator selectPages(String tableName, List<String> fields, String keyColumn, int pageSize,
+                                    WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        if (fields != null && !fields.contains(keyColumn)) {
+            throw new IllegalArgumentException("Selected fields must contain the key column: " + keyColumn);
+        }
+        String order = " ORDER BY " + keyColumn + " LIMIT " + pageSize;
+        String firstPage = buildSelectStatement(tableName, fields, expression) + order;
+        String seek = keyColumn + " > ?";
+        String nextPage = buildSelectWhere(tableName, fields,
+                expression == null ? seek : "(" + expression + ") AND " + seek) + order;
+        List<Object> parameters = parametersOf(expression);
+        return new PageIterator(lastKey -> {
+            if (lastKey == null) {
+                return queryRecords(tableName, firstPage, parameters, false);
+            }
+            List<Object> values = new ArrayList<>(parameters);
+            values.add(lastKey);
+            return queryRecords(tableName, nextPage, values, false);
+        }, keyColumn, pageSize);
+    }
+
+    /**
+     * This method give an opportunity to read a table in parallel: the range of a numeric key
+     * <h2>SELECT MIN(&lt key &gt), MAX(&lt key &gt) … WHERE &lt condition &gt</h2>
+     * is split into {@code partitions} equal ranges that are selected concurrently on separate pooled connections.
+     * A range with fewer keys than partitions is split into one range per key.
+     * <h3>
+     * The result is a parallel {@link Stream}: the ranges are split between the threads of the common fork/join pool,
+     * every thread selects its ranges and maps their rows itself. The number of ranges read at the same time is
+     * limited by the parallelism of the pool and by the size of the connection pool. Rows are not ordered.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param keyColumn integer column the ranges are built on, preferably the primary key
+     * @param partitions number of ranges
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @return parallel {@link Stream} of {@link Record}. SQL errors are thrown as {@link QueryExecutionException}
+     * @throws SQLException if the key range can not be read
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public Stream<Record> selectParallel(String tableName, List<String> fields, String keyColumn, int partitions,
+                                         WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Number of partitions must be positive: " + partitions);
+        }
+        long[] range = selectKeyRange(tableName, keyColumn, expression);
+        if (range == null) {
+            return Stream.empty();
+        }
+        String prefix = expression == null ? "" : "(" + expression + ") AND ";
+        String sql = buildSelectWhere(tableName, fields, prefix + keyColumn + " >= ? AND " + keyColumn + " < ?");
+        String lastSql = buildSelectWhere(tableName, fields, prefix + keyColumn + " >= ? AND " + keyColumn + " <= ?");
+        List<Object> parameters = parametersOf(expression);
+        long[] lowers = PartitionSpliterator.splitRange(range[0], range[1], partitions);
+        List<PartitionSpliterator.Partition> queries = new ArrayList<>(lowers.length);
+        for (int i = 0; i < lowers.length; i++) {
+            long lower = lowers[i];
+            if (i == lowers.length - 1) {
+                queries.add(() -> queryRecords(tableName, lastSql, withBounds(parameters, lower, range[1]), false));
+            } else {
+                long upper = lowers[i + 1];
+                queries.add(() -> queryRecords(tableName, sql, withBounds(parameters, lower, upper), false));
+            }
+        }
+        return StreamSupport.stream(new PartitionSpliterator(queries), true);
+    }
+
+    /**
+     * Parallel variant of {@link #select(String, List, WhereExpression)} for tables without a numeric key:
+     * every expression selects one partition of the result, partitions are selected concurrently on separate
+     * pooled connections. See {@link #selectParallel(String, List, String, int, WhereExpression)}
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param partitions conditions of WHERE SQL keyword ({@link WhereExpression}), one per partition. They should not
+     * overlap, otherwise rows matching several of them are returned several times
+     * @return parallel {@link Stream} of {@link Record}. SQL errors are thrown as {@link QueryExecutionException}
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public Stream<Record> selectParallel(String tableName, List<String> fields, List<WhereExpression> partitions)
+            throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        List<PartitionSpliterator.Partition> queries = new ArrayList<>(partitions.size());
+        for (WhereExpression partition: partitions) {
+            String sql = buildSelectStatement(tableName, fields, partition);
+            List<Object> parameters = parametersOf(partition);
+            queries.add(() -> queryRecords(tableName, sql, parameters, false));
+        }
+        return StreamSupport.stream(new PartitionSpliterator(queries), true);
+    }
+
+    /**
+     * Columnar variant of {@link #select(String, List)}. See {@link #selectColumnar(String, List, WhereExpression)}
+     * @param tableName string representation of the table name;
+     * @param fields list of selected fields names from database table
+     * @return {@link ColumnarResult} with one array per selected column
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public ColumnarResult selectColumnar(String tableName, List<String> fields) throws SQLException, ConnectionIsClosedException {
+        return selectColumnar(tableName, fields, null);
+    }
+
+    /**
+     * This method give an opportunity to execute SQL function: <h2>SELECT &lt col_name1 &gt, … WHERE &lt condition &gt</h2>
+     * and get the result column by column.
+     * <h3>
+     * Numeric columns are read with typed getters into primitive arrays ({@code int[]}, {@code long[]},
+     * {@code double[]}) with NULL bitmaps, other columns into object arrays. Rows are streamed from the server,
+     * so the driver does not buffer the whole result next to the arrays. See {@link ColumnarResult}.
+     * </h3>
+     * @param tableName string representation of the table name
+     * @param fields list of selected fields names from database table, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression}), {@code null} selects all rows
+     * @return {@link ColumnarResult} with one array per selected column
+     * @throws SQLSyntaxErrorException if param {@code tableName} or {@code expression} does not match data from database
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public ColumnarResult selectColumnar(String tableName, List<String> fields, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+        checkConnection();
+        long start = startTimer();
+        ColumnarResult result;
+        String sql = buildSelectStatement(tableName, fields, expression);
+        List<Object> parameters = parametersOf(expression);
+        try (PooledConnection connection = leaseForRead();
+             PreparedStatement statement = prepareStreamingStatement(connection, sql)) {
+            bindValues(statement, 1, parameters);
+            try (ResultSet rs = statement.executeQuery()) {
+                result = ColumnarResult.read(rs);
+            }
+        } catch (SQLException | RuntimeException e) {
+            recordOperation(tableName, Operation.SELECT, sql, parameters, start, 0, e);
+            throw e;
+        }
+        recordOperation(tableName, Operation.SELECT, sql, parameters, start, result.getRowCount(), null);
+        return result;
     }
 
     /**
      * This method give an opportunity to execute SQL function: <h2>DELETE FROM &lt table name &gt </h2>
      * @param tableName string representation of the table name
+     * @return number of deleted rows
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      * @throws SQLSyntaxErrorException if param {@code tableName} does not match table name from database
      */
-    public void delete(String tableName) throws SQLException, ConnectionIsClosedException {
+    @Override
+    public int delete(String tableName) throws SQLException, ConnectionIsClosedException {
         checkConnection();
-        Statement statement = connection.createStatement();
-        statement.execute("DELETE FROM " + tableName);
-        statement.close();
+        return executeUpdate(tableName, Operation.DELETE, "DELETE FROM " + tableName, Collections.emptyList());
     }
 
     /**
      * This method give an opportunity to execute SQL function: <h2>DELETE FROM &lt table name &gt WHERE &lt condition &gt </h2>
      * @param tableName string representation of the table name
      * @param expression condition of WHERE SQL keyword ({@link WhereExpression})
+     * @return number of deleted rows
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
      * @throws SQLSyntaxErrorException if param {@code tableName} or {@code expression} does not match data from database
      */
-    public void delete(String tableName, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
+    @Override
+    public int delete(String tableName, WhereExpression expression) throws SQLException, ConnectionIsClosedException {
         checkConnection();
-        Statement statement = connection.createStatement();
-        statement.execute("DELETE FROM " + tableName + " WHERE " + expression);
-        statement.close();
+        return executeUpdate(tableName, Operation.DELETE, "DELETE FROM " + tableName + " WHERE " + expression,
+                parametersOf(expression));
     }
 
     /**
      * This method give an opportunity to execute SQL function: <h2>TRUNCATE (TABLE)</h2>
+     * Cached schema of the table is refreshed after truncation.
      * @param tableName string representation of the table name;
      * @throws SQLException
      * @throws ConnectionIsClosedException if connection with database is closed method
      * throws this Exception
      * @throws SQLSyntaxErrorException if param {@code tableName} does not match table name from database
      */
+    @Override
     public void truncate(String tableName) throws SQLException, ConnectionIsClosedException {
         checkConnection();
-        Statement statement = connection.createStatement();
-        statement.execute("TRUNCATE TABLE " + tableName);
-        statement.close();
+        long start = startTimer();
+        String sql = "TRUNCATE TABLE " + tableName;
+        try (PooledConnection connection = lease();
+             Statement statement = connection.getConnection().createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException | RuntimeException e) {
+            recordOperation(tableName, Operation.TRUNCATE, sql, null, start, 0, e);
+            throw e;
+        } finally {
+            schemaCache.invalidate(tableName);
+            afterWrite(tableName);
+        }
+        recordOperation(tableName, Operation.TRUNCATE, sql, null, start, 0, null);
+    }
+
+    /**
+     * Returns columns of the table. The schema is loaded once and cached until it is invalidated
+     * @param tableName string representation of the table name
+     * @return {@link TableSchema} with column names, ordinal positions, JDBC types and nullability
+     * @throws SQLException
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     * @throws SQLSyntaxErrorException if param {@code tableName} does not match table name from database
+     */
+    public TableSchema getTableSchema(String tableName) throws SQLException {
+        checkConnection();
+        TableSchema schema = schemaCache.getIfCached(tableName);
+        if (schema != null) {
+            return schema;
+        }
+        try (PooledConnection connection = lease()) {
+            return getTableSchema(connection, tableName);
+        }
+    }
+
+    /**
+     * Drops cached schema of the table, so it will be loaded again by the next operation.
+     * Must be called after the table structure is changed by somebody else (ALTER TABLE etc.)
+     * @param tableName string representation of the table name
+     */
+    public void invalidateSchema(String tableName) {
+        schemaCache.invalidate(tableName);
     }
 
     /**
-     * Method closes connection with database
+     * Method closes all connections with database
      * <h3>After working with database connection must be closed!</h4>
      * @throws SQLException
      */
-    public void closeConnection() throws SQLException {
-        connection.close();
+    public synchronized void closeConnection() throws SQLException {
+        if (pool != null) {
+            pool.close();
+        }
+        if (readBalancer != null) {
+            readBalancer.close();
+            readBalancer = null;
+        }
     }
 
     /**
-     * Method opens connection with database
+     * Method opens connection pool with database. Physical connections are opened on demand
      * <h3>Before working with database connection must be opened!</h4>
      * @throws SQLException
      */
-    public void openConnection() throws SQLException {
-        connection = DriverManager.getConnection(URL + dbName, user, password);
+    public synchronized void openConnection() throws SQLException {
+        if (pool == null || pool.isClosed()) {
+            pool = new ConnectionPool(url, user, password, poolConfig);
+        }
+        if (replication != null && readBalancer == null) {
+            List<ConnectionPool> replicaPools = new ArrayList<>();
+            int[] weights = new int[replication.getReplicas().size()];
+            for (ReplicaEndpoint replica: replication.getReplicas()) {
+                weights[replicaPools.size()] = replica.getWeight();
+                replicaPools.add(new ConnectionPool(replica.getUrl(), user, password, poolConfig));
+            }
+            readBalancer = new ReadBalancer(replicaPools, weights, replication.getBalancingStrategy(),
+                    replication.getReplicaRetryMillis());
+        }
     }
 
     /**
@@ -230,71 +1089,632 @@ public class MySQLQueryExecutor {
      * @throws SQLException
      */
     public boolean isClosed() throws SQLException {
-        return connection.isClosed();
+        ConnectionPool current = pool;
+        return current == null || current.isClosed();
+    }
+
+    /**
+     * @return maximum number of rows sent in one INSERT statement by {@link #insertAll(String, List)}
+     */
+    public int getInsertChunkSize() {
+        return insertChunkSize;
+    }
+
+    /**
+     * @param insertChunkSize maximum number of rows sent in one INSERT statement by {@link #insertAll(String, List)}
+     */
+    public void setInsertChunkSize(int insertChunkSize) {
+        checkChunkSize(insertChunkSize);
+        this.insertChunkSize = insertChunkSize;
+    }
+
+    /**
+     * @return number of rows fetched at once by streaming selects, 0 means row-by-row streaming
+     */
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    /**
+     * @param streamFetchSize number of rows fetched at once from a server-side cursor by streaming selects
+     * ({@link #selectCursor(String, List, WhereExpression)}). 0 means row-by-row result streaming.
+     * Positive values require cursor fetch enabled by {@link ConnectionPoolConfig#setCursorFetch(boolean)}
+     */
+    public void setStreamFetchSize(int streamFetchSize) {
+        if (streamFetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size must not be negative: " + streamFetchSize);
+        }
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    /**
+     * @return {@link PoolStats} snapshot of connection pool counters (active, idle and waiting connections,
+     * borrow latency)
+     * @throws ConnectionIsClosedException if connection with database is closed method throws this Exception
+     */
+    public PoolStats getPoolStats() {
+        return currentPool().getStats();
+    }
+
+    /**
+     * @return pool counters of the read replicas in the configured order, empty if the executor has no replicas
+     */
+    public List<PoolStats> getReplicaPoolStats() {
+        ReadBalancer balancer = readBalancer;
+        return balancer == null ? Collections.emptyList() : balancer.getStats();
+    }
+
+    /**
+     * @return latency, row and failure metrics of this executor by table and operation type. Metrics can be
+     * published over JMX with {@link QueryMetrics#registerMBean(String)} and switched off with
+     * {@link QueryMetrics#setEnabled(boolean)}
+     */
+    public QueryMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts aggregating executed statements by their fingerprint and capturing slow statements, see
+     * {@link QueryTracer}. Statements are fingerprinted with literals of the SQL text removed, so statements that
+     * differ only in values concatenated by {@link WhereExpression} are counted together. {@code EXPLAIN} of slow
+     * statements runs on the primary on the tracer thread. A running tracer is closed and replaced
+     * @param config settings of the tracer ({@link QueryTracerConfig})
+     * @return the new tracer, its report is available from {@link QueryTracer#getReport()}
+     */
+    public QueryTracer enableTracing(QueryTracerConfig config) {
+        QueryTracer newTracer = new QueryTracer(config, this::explain);
+        QueryTracer previous = tracer;
+        tracer = newTracer;
+        if (previous != null) {
+            previous.close();
+        }
+        return newTracer;
+    }
+
+    /**
+     * Stops tracing and closes the tracer
+     */
+    public void disableTracing() {
+        QueryTracer previous = tracer;
+        tracer = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * @return the running tracer or {@code null} if tracing is disabled
+     */
+    public QueryTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Starts caching results of {@code select} for the tables configured in {@code config}. Results are kept until
+     * their time to live is over or the same executor changes the table with insert, update, delete or truncate.
+     * Changes made by other clients are not noticed, so only tables that are changed through this executor or
+     * tolerate stale reads should be cached. Cached selects return unmodifiable lists of read-only records.
+     * Streaming and columnar selects are never cached. Results put into the cache are always read from the primary,
+     * so a replica that has not caught up with a write can not fill the cache with the rows from before it
+     * @param config settings of the cache ({@link ResultCacheConfig})
+     */
+    public void enableResultCache(ResultCacheConfig config) {
+        resultCache = new ResultCache(config);
+    }
+
+    public void disableResultCache() {
+        resultCache = null;
+    }
+
+    /**
+     * Drops cached results of the table, for example after it was changed by somebody else
+     * @param tableName string representation of the table name
+     */
+    public void invalidateResultCache(String tableName) {
+        invalidateResults(tableName);
+    }
+
+    /**
+     * @return counters of the result cache or {@code null} if it is disabled
+     */
+    public ResultCacheStats getResultCacheStats() {
+        ResultCache cache = resultCache;
+        return cache == null ? null : cache.getStats();
+    }
+
+    /**
+     * Starts coalescing identical {@code select} calls on the tables configured in {@code config}: while a select
+     * with the same table, fields and WHERE condition is running, later calls wait for it and get its result instead
+     * of running their own (see {@link QueryCoalescer}). Coalesced selects return unmodifiable lists of read-only
+     * records. A select that starts after a write of this executor to the table never joins one that started
+     * before it. Streaming, columnar and object selects are never coalesced
+     * @param config tables whose selects are coalesced ({@link CoalescingConfig})
+     */
+    public void enableCoalescing(CoalescingConfig config) {
+        coalescer = new QueryCoalescer(config);
+    }
+
+    public void disableCoalescing() {
+        coalescer = null;
+    }
+
+    /**
+     * @return numbers of executed and coalesced selects or {@code null} if coalescing is disabled
+     */
+    public CoalescingStats getCoalescingStats() {
+        QueryCoalescer current = coalescer;
+        return current == null ? null : current.getStats();
+    }
+
+    private List<Record> executeQuery(String tableName, String sql, List<Object> parameters, boolean allColumns) throws SQLException {
+        ResultCache cache = resultCache;
+        if (cache != null && cache.isCached(tableName)) {
+            List<Record> cached = cache.get(tableName, sql, parameters);
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            cache = null;
+        }
+        ResultCache missed = cache;
+        QueryCoalescer current = coalescer;
+        if (current != null && current.isCoalesced(tableName)) {
+            return current.execute(tableName, sql, parameters,
+                    () -> loadRecords(missed, tableName, sql, parameters, allColumns));
+        }
+        return loadRecords(missed, tableName, sql, parameters, allColumns);
+    }
+
+    /**
+     * @param cache cache the result is put into, {@code null} if the table is not cached
+     */
+    private List<Record> loadRecords(ResultCache cache, String tableName, String sql, List<Object> parameters,
+                                     boolean allColumns) throws SQLException {
+        if (cache == null) {
+            return queryRecords(tableName, sql, parameters, allColumns, false);
+        }
+        long generation = cache.getGeneration(tableName);
+        // a lagging replica could put rows older than the last write back into the cache
+        return cache.put(tableName, sql, parameters, queryRecords(tableName, sql, parameters, allColumns, true), generation);
+    }
+
+    private List<Record> queryRecords(String tableName, String sql, List<Object> values, boolean allColumns) throws SQLException {
+        return queryRecords(tableName, sql, values, allColumns, false);
+    }
+
+    /**
+     * @param fromPrimary read from the primary even if there are replicas
+     */
+    private List<Record> queryRecords(String tableName, String sql, List<Object> values, boolean allColumns,
+                                      boolean fromPrimary) throws SQLException {
+        long start = startTimer();
+        List<Record> records;
+        try (PooledConnection connection = fromPrimary ? lease() : leaseForRead()) {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindValues(statement, 1, values);
+            try (ResultSet rs = statement.executeQuery()) {
+                ResultSetMetaData rsmd = rs.getMetaData();
+                if (allColumns) {
+                    checkSchema(tableName, rsmd);
+                }
+                records = getRecordsFromResSet(rs, rsmd);
+            }
+        } catch (SQLException | RuntimeException e) {
+            recordOperation(tableName, Operation.SELECT, sql, values, start, 0, e);
+            throw e;
+        }
+        recordOperation(tableName, Operation.SELECT, sql, values, start, records.size(), null);
+        return records;
+    }
+
+    private int executeUpdate(String tableName, Operation operation, String sql, List<Object> values) throws SQLException {
+        long start = startTimer();
+        int count;
+        try (PooledConnection connection = lease()) {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindValues(statement, 1, values);
+            count = executeUpdate(connection, sql, statement);
+        } catch (SQLException | RuntimeException e) {
+            recordOperation(tableName, operation, sql, values, start, 0, e);
+            throw e;
+        } finally {
+            afterWrite(tableName);
+        }
+        recordOperation(tableName, operation, sql, values, start, count, null);
+        return count;
+    }
+
+    /**
+     * Runs a statement prepared by the connection. If it fails because the table was altered, the statement is
+     * dropped from the statement cache of the connection, so the next call prepares it again
+     * @return number of changed rows
+     */
+    private static int executeUpdate(PooledConnection connection, String sql, PreparedStatement statement)
+            throws SQLException {
+        try {
+            return statement.executeUpdate();
+        } catch (SQLSyntaxErrorException e) {
+            connection.evictStatement(sql);
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the records as multi-row INSERT statements of at most {@code chunkSize} rows
+     * @param chunkCounts receives the number of inserted rows of every chunk
+     */
+    void insertChunks(PooledConnection connection, String tableName, TableSchema schema, List<Record> records,
+                              int chunkSize, List<Integer> chunkCounts) throws SQLException {
+        int rowsPerChunk = Math.max(1, Math.min(chunkSize, MAX_PLACEHOLDERS / schema.getColumnCount()));
+        String colNames = buildColumnList(schema);
+        for (int from = 0; from < records.size(); from += rowsPerChunk) {
+            int to = Math.min(from + rowsPerChunk, records.size());
+            String sql = buildInsertStatement(tableName, colNames, schema.getColumnCount(), to - from);
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int index = 1;
+            for (int i = from; i < to; i++) {
+                index = bindValues(statement, index, getValues(schema, records.get(i)));
+            }
+            chunkCounts.add(executeUpdate(connection, sql, statement));
+        }
+    }
+
+    /**
+     * Deletes rows by key in chunks: {@code DELETE … WHERE k IN (?, …)} or {@code WHERE (k1, k2) IN ((?, ?), …)}
+     * @return number of deleted rows
+     */
+    private int deleteKeys(PooledConnection connection, String tableName, List<String> keyColumns, List<Record> keys) throws SQLException {
+        int rowsPerChunk = Math.max(1, Math.min(insertChunkSize, MAX_PLACEHOLDERS / keyColumns.size()));
+        StringJoiner keyRow = new StringJoiner(", ", keyColumns.size() > 1 ? "(" : "", keyColumns.size() > 1 ? ")" : "");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            keyRow.add("?");
+        }
+        String keyList = keyColumns.size() > 1 ? "(" + String.join(", ", keyColumns) + ")" : keyColumns.get(0);
+        int deleted = 0;
+        for (int from = 0; from < keys.size(); from += rowsPerChunk) {
+            int to = Math.min(from + rowsPerChunk, keys.size());
+            StringJoiner rows = new StringJoiner(", ", "(", ")");
+            for (int i = from; i < to; i++) {
+                rows.add(keyRow.toString());
+            }
+            String sql = "DELETE FROM " + tableName + " WHERE " + keyList + " IN " + rows;
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int index = 1;
+            for (int i = from; i < to; i++) {
+                Record key = keys.get(i);
+                for (String keyColumn: keyColumns) {
+                    statement.setObject(index++, key.getValue(keyColumn));
+                }
+            }
+            deleted += executeUpdate(connection, sql, statement);
+        }
+        return deleted;
+    }
+
+    /**
+     * Updates all non-key columns of the rows by key: {@code UPDATE … SET c=?, … WHERE k1=? AND …},
+     * as JDBC batches of {@link #getInsertChunkSize()} rows
+     * @return number of updated rows
+     */
+    private int updateRows(PooledConnection connection, String tableName, List<String> keyColumns, List<String> columns,
+                           List<Record> records) throws SQLException {
+        List<String> setColumns = new ArrayList<>(columns);
+        setColumns.removeAll(keyColumns);
+        StringJoiner set = new StringJoiner(", ");
+        for (String column: setColumns) {
+            set.add(column + "=?");
+        }
+        StringJoiner where = new StringJoiner(" AND ");
+        for (String keyColumn: keyColumns) {
+            where.add(keyColumn + "=?");
+        }
+        PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName + " SET " + set + " WHERE " + where);
+        int updated = 0;
+        for (int from = 0; from < records.size(); from += insertChunkSize) {
+            int to = Math.min(from + insertChunkSize, records.size());
+            for (int i = from; i < to; i++) {
+                Record record = records.get(i);
+                List<Object> values = new ArrayList<>(columns.size());
+                for (String column: setColumns) {
+                    values.add(record.getValue(column));
+                }
+                for (String keyColumn: keyColumns) {
+                    values.add(record.getValue(keyColumn));
+                }
+                bindValues(statement, 1, values);
+                statement.addBatch();
+            }
+            for (int count: statement.executeBatch()) {
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+
+    static int sum(List<Integer> counts) {
+        int sum = 0;
+        for (int count: counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private static List<Object> parametersOf(WhereExpression expression) {
+        return expression == null ? Collections.emptyList() : expression.getParameters();
     }
 
-    private String buildSetExpression(Record record) {
+    private static List<Object> withBounds(List<Object> parameters, long lower, long upper) {
+        List<Object> values = new ArrayList<>(parameters.size() + 2);
+        values.addAll(parameters);
+        values.add(lower);
+        values.add(upper);
+        return values;
+    }
+
+    /**
+     * Called after every write to the primary: drops cached results of the table, detaches running coalesced
+     * selects of the table and starts the read-your-writes window
+     */
+    void afterWrite(String tableName) {
+        invalidateResults(tableName);
+        QueryCoalescer current = coalescer;
+        if (current != null) {
+            current.detach(tableName);
+        }
+        if (replication != null && replication.getReadYourWritesMillis() > 0) {
+            primaryPinnedUntil = System.currentTimeMillis() + replication.getReadYourWritesMillis();
+        }
+    }
+
+    void invalidateResults(String tableName) {
+        ResultCache cache = resultCache;
+        if (cache != null) {
+            cache.invalidate(tableName);
+        }
+    }
+
+    /**
+     * @return start time of an operation or 0 if metrics and tracing are disabled
+     */
+    long startTimer() {
+        return metrics.isEnabled() || tracer != null ? System.nanoTime() : 0;
+    }
+
+    void recordOperation(String tableName, Operation operation, long start, long rows, Throwable failure) {
+        recordOperation(tableName, operation, null, null, start, rows, failure);
+    }
+
+    /**
+     * @param sql statement that is traced, {@code null} if the operation is only counted
+     * @param parameters values bound to the statement, {@code null} if the statement must not be explained
+     */
+    void recordOperation(String tableName, Operation operation, String sql, List<Object> parameters, long start,
+                         long rows, Throwable failure) {
+        if (start == 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        metrics.record(tableName, operation, nanos, rows, failure);
+        QueryTracer current = tracer;
+        if (current != null && sql != null) {
+            current.record(tableName, operation, sql, parameters, nanos, rows, failure);
+        }
+    }
+
+    /**
+     * @return index of the next parameter after the bound values
+     */
+    int bindValues(PreparedStatement statement, int startIndex, List<Object> values) throws SQLException {
+        int index = startIndex;
+        for (Object value: values) {
+            if (value == null) {
+                statement.setNull(index++, Types.NULL);
+            } else {
+                statement.setObject(index++, value);
+            }
+        }
+        return index;
+    }
+
+    Pair<String, List<Object>> buildSetExpression(Record record) {
         Set<String> keys = record.getKeySet();
-        StringBuilder sb = new StringBuilder();
         StringJoiner sj = new StringJoiner(", ");
+        List<Object> values = new ArrayList<>(keys.size());
         for (String key: keys) {
-            Object value = record.getValue(key);
-            String strValue = value instanceof Number ? value.toString() : (value == null ? "null" : "'" + value + "'");
-            sj.add(key + "=" + strValue);
+            sj.add(key + "=?");
+            values.add(record.getValue(key));
         }
-        return sj.toString();
+        return new Pair<>(sj.toString(), values);
     }
 
-    private Pair<String, String> getMatches(ResultSetMetaData rsmd, Record data) throws SQLException {
-        int colCount = rsmd.getColumnCount();
-        List<Pair<String, String>> pairList = new ArrayList<>();
-        StringJoiner colNames = new StringJoiner(", ", "(", ")");
-        StringJoiner values = new StringJoiner(", ", "(", ")");
-            for (int i = 1; i <= colCount; i++) {
-                String columnName = rsmd.getColumnName(i);
-                Object value;
+    Pair<String, List<Object>> getMatches(TableSchema schema, Record data) {
+        return new Pair<>(buildColumnList(schema), getValues(schema, data));
+    }
+
+    private List<Object> getValues(TableSchema schema, Record data) {
+        List<Object> values = new ArrayList<>(schema.getColumnCount());
+            for (String columnName: schema.getColumnNames()) {
                 if (data.contains(columnName)) {
-                    value = data.getValue(columnName);
+                    values.add(data.getValue(columnName));
                 } else {
                     throw new IncorrectRecordException("Field '" + columnName + "' not found in record");
                 }
-                colNames.add(columnName);
-                if (value instanceof Number) {
-                    values.add(value.toString());
-                }else if (value == null) {
-                    values.add("null");
-                } else {
-                    values.add("'" + value + "'");
+            }
+        return values;
+    }
+
+    private String buildColumnList(TableSchema schema) {
+        StringJoiner colNames = new StringJoiner(", ", "(", ")");
+        for (String columnName: schema.getColumnNames()) {
+            colNames.add(columnName);
+        }
+        return colNames.toString();
+    }
+
+    /**
+     * Plans are not cached statements and are not counted in the metrics
+     */
+    private List<Record> explain(String sql, List<Object> parameters) throws SQLException {
+        try (PooledConnection connection = lease();
+             PreparedStatement statement = connection.getConnection().prepareStatement("EXPLAIN " + sql)) {
+            bindValues(statement, 1, parameters);
+            try (ResultSet rs = statement.executeQuery()) {
+                return getRecordsFromResSet(rs, rs.getMetaData());
+            }
+        }
+    }
+
+    /**
+     * Streaming statements are not cached: they are configured for one forward-only pass over the result
+     */
+    private PreparedStatement prepareStreamingStatement(PooledConnection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.getConnection().prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            statement.setFetchSize(streamFetchSize > 0 ? streamFetchSize : Integer.MIN_VALUE);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return statement;
+    }
+
+    /**
+     * @return minimum and maximum of the key or {@code null} if no row matches the expression
+     */
+    private long[] selectKeyRange(String tableName, String keyColumn, WhereExpression expression) throws SQLException {
+        String sql = "SELECT MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + tableName
+                + (expression == null ? "" : " WHERE " + expression);
+        long start = startTimer();
+        long[] range = null;
+        try (PooledConnection connection = leaseForRead()) {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            bindValues(statement, 1, parametersOf(expression));
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    long min = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        range = new long[]{min, rs.getLong(2)};
+                    }
                 }
             }
-        return new Pair<>(colNames.toString(), values.toString());
+        } catch (SQLException | RuntimeException e) {
+            recordOperation(tableName, Operation.SELECT, sql, parametersOf(expression), start, 0, e);
+            throw e;
+        }
+        recordOperation(tableName, Operation.SELECT, sql, parametersOf(expression), start, 1, null);
+        return range;
+    }
+
+    private String buildSelectStatement(String tableName, List<String> fields, WhereExpression expression) {
+        return buildSelectWhere(tableName, fields, expression == null ? null : expression.toString());
+    }
+
+    private String buildSelectWhere(String tableName, List<String> fields, String condition) {
+        String columns = "*";
+        if (fields != null) {
+            StringJoiner sj = new StringJoiner(",");
+            for (String fieldName: fields){
+                sj.add(fieldName);
+            }
+            columns = sj.toString();
+        }
+        return "SELECT " + columns + " FROM " + tableName + (condition == null ? "" : " WHERE " + condition);
+    }
+
+    String buildInsertStatement(String tableName, String colNames, int colCount, int rowCount) {
+        StringJoiner row = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < colCount; i++) {
+            row.add("?");
+        }
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(row.toString());
+        }
+        return "INSERT INTO " + tableName + " " + colNames + " VALUES " + rows;
+    }
+
+    /**
+     * @return single-row INSERT of all columns, traced for inserts that are sent in chunks
+     */
+    String buildInsertShape(String tableName, TableSchema schema) {
+        return buildInsertStatement(tableName, buildColumnList(schema), schema.getColumnCount(), 1);
+    }
+
+    private void checkColumns(TableSchema schema, Record data) {
+        for (String columnName: schema.getColumnNames()) {
+            if (!data.contains(columnName)) {
+                throw new IncorrectRecordException("Field '" + columnName + "' not found in record");
+            }
+        }
+    }
+
+    TableSchema getTableSchema(PooledConnection connection, String tableName) throws SQLException {
+        return schemaCache.get(tableName, connection.getConnection());
     }
 
-    private List<Record> getRecordsFromResSet(ResultSet rs, ResultSetMetaData rsmd) throws SQLException {
-        int colCount = rsmd.getColumnCount();
+    /**
+     * Full-row result of the table that does not fit the cached schema means the table was altered
+     */
+    private void checkSchema(String tableName, ResultSetMetaData rsmd) throws SQLException {
+        TableSchema schema = schemaCache.getIfCached(tableName);
+        if (schema != null && schema.getColumnCount() != rsmd.getColumnCount()) {
+            schemaCache.invalidate(tableName);
+        }
+    }
+
+    List<Record> getRecordsFromResSet(ResultSet rs, ResultSetMetaData rsmd) throws SQLException {
+        RecordMapper mapper = new RecordMapper(rsmd);
         List<Record> returnedList = new ArrayList<>();
         while (rs.next()) {
-            Record temp = new Record();
-            for (int i = 1; i <= colCount; i++) {
-                temp.addField(rsmd.getColumnName(i), rs.getObject(rsmd.getColumnName(i)));
-            }
-            returnedList.add(temp);
+            returnedList.add(mapper.map(rs));
         }
         return returnedList;
     }
 
     private void checkConnection() throws SQLException {
-        if (connection.isClosed()) {
+        currentPool();
+    }
+
+    private ConnectionPool currentPool() {
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed()) {
             throw new ConnectionIsClosedException("Connection with database is closed");
         }
+        return current;
     }
 
-    private void checkRecord(Record record) {
+    PooledConnection lease() throws SQLException {
+        return currentPool().borrow();
+    }
+
+    /**
+     * @return connection to a replica, or to the primary if there is no available replica or
+     * the read-your-writes window is open
+     */
+    private PooledConnection leaseForRead() throws SQLException {
+        ReadBalancer balancer = readBalancer;
+        if (balancer != null && System.currentTimeMillis() >= primaryPinnedUntil) {
+            PooledConnection connection = balancer.borrow();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return lease();
+    }
+
+    void checkRecord(Record record) {
         if (record.isEmpty()) {
             throw new IncorrectRecordException("Record has no fields");
         }
     }
 
+    private void checkChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+    }
+
     public static void main(String[] args) throws SQLException {
         MySQLQueryExecutor executor = new MySQLQueryExecutor("test_database", "admin", "admin");
         Record record = new Record();
@@ -1,4 +1,5 @@
 package QueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.ConnectionPool.ConnectionPoolConfig;
 import QueryExecutor.MySQLQueryExecutor.Exceptions.ConnectionIsClosedException;
 import QueryExecutor.MySQLQueryExecutor.Exceptions.IncorrectRecordException;
 import QueryExecutor.Record.Record;
@@ -6,7 +7,11 @@ import QueryExecutor.WhereExpression.WhereExpression;
 import org.junit.jupiter.api.*;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class MySQLQueryExecutorTest {
 
@@ -77,6 +82,71 @@ class MySQLQueryExecutorTest {
                 () ->  executor.update(TABLE_NAME, emptyRecord, expression));
     }
 
+    @Test
+    @DisplayName("insertAll test: should insert correct records in chunks")
+    void shouldInsertAllRecordsInChunks() throws SQLException {
+        List<Record> records = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            Record record = getCorrectRecord();
+            record.addField("id", i);
+            records.add(record);
+        }
+        List<Integer> chunkCounts = executor.insertAll(TABLE_NAME, records, 2);
+        Assertions.assertEquals(List.of(2, 2, 1), chunkCounts);
+        Assertions.assertEquals(5, executor.select(TABLE_NAME).size());
+    }
+
+    @Test
+    @DisplayName("insertAll test: should throws IncorrectRecordException " +
+            "if any record does not match the table and insert nothing")
+    void shouldNotInsertAnyRecordIfOneIsIncorrect() throws SQLException {
+        List<Record> records = List.of(getCorrectRecord(), getIncorrectRecord());
+        Assertions.assertThrows(IncorrectRecordException.class,
+                () -> executor.insertAll(TABLE_NAME, records));
+        Assertions.assertEquals(0, executor.select(TABLE_NAME).size());
+    }
+
+    @Test
+    @DisplayName("selectStream test: should stream the same records as select and release the connection")
+    void shouldStreamSelectedRecords() throws SQLException {
+        Record record = getCorrectRecord();
+        executor.insert(TABLE_NAME, record);
+        List<Record> streamed;
+        try (Stream<Record> stream = executor.selectStream(TABLE_NAME)) {
+            streamed = stream.collect(Collectors.toList());
+        }
+        Assertions.assertEquals(executor.select(TABLE_NAME), streamed);
+        Assertions.assertEquals(0, executor.getPoolStats().getActive());
+    }
+
+    @Test
+    @DisplayName("bulkLoad test: should load values with NULL, tab, newline and backslash unchanged")
+    void shouldBulkLoadEscapedValues() throws SQLException {
+        MySQLQueryExecutor loader = new MySQLQueryExecutor(DB_NAME, USERNAME, PASSWORD,
+                new ConnectionPoolConfig().setAllowLoadLocalInfile(true));
+        loader.openConnection();
+        try {
+            List<Record> records = new ArrayList<>();
+            String[] names = {"Ivan\tPetr", "line\nbreak", "back\\slash\\", "\\N"};
+            for (int i = 0; i < names.length; i++) {
+                Record record = getCorrectRecord();
+                record.addField("id", i + 1);
+                record.addField("name", names[i]);
+                record.addField("surname", i == 0 ? null : "Shestakov");
+                records.add(record);
+            }
+            Assertions.assertEquals(names.length, loader.bulkLoad(TABLE_NAME, records.iterator()));
+            List<Record> loaded = loader.select(TABLE_NAME);
+            loaded.sort(Comparator.comparing(record -> ((Number) record.getValue("id")).intValue()));
+            for (int i = 0; i < names.length; i++) {
+                Assertions.assertEquals(names[i], loaded.get(i).getValue("name"));
+            }
+            Assertions.assertNull(loaded.get(0).getValue("surname"));
+        } finally {
+            loader.closeConnection();
+        }
+    }
+
     private Record getCorrectRecord() {
         Record record = new Record();
         record.addField("id", 1);
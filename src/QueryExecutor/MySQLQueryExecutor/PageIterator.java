@@ -0,0 +1,120 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.MySQLQueryExecutor.Exceptions.QueryExecutionException;
+import QueryExecutor.Record.Record;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**<h1>PageIterator class</h1>
+ * <h2>
+ * {@link Iterator} over pages of a keyset-paginated select.
+ * </h2>
+ * <h3>
+ * The first page is requested when the iterator is created. When a page is handed out by {@link #next()}, the page
+ * after it is requested at once on a background thread, so the caller processes one page while the next one is
+ * read. A page shorter than the page size is the last one. The iterator holds no connection between pages, closing
+ * it only drops the page that is being prefetched. SQL errors are thrown as {@link QueryExecutionException}.
+ * </h3>
+ */
+public class PageIterator implements Iterator<List<Record>>, AutoCloseable {
+    private static final ExecutorService PREFETCH_THREADS = AsyncQueryExecutorAdapter.newDefaultThreads("QueryExecutor-prefetch-");
+
+    private final PageSource source;
+    private final String keyColumn;
+    private final int pageSize;
+    private CompletableFuture<List<Record>> pending;
+    private List<Record> page;
+    private boolean finished;
+
+    PageIterator(PageSource source, String keyColumn, int pageSize) {
+        this.source = source;
+        this.keyColumn = keyColumn;
+        this.pageSize = pageSize;
+        this.pending = fetch(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (page == null && !finished) {
+            List<Record> fetched = await(pending);
+            pending = null;
+            if (fetched.isEmpty()) {
+                finished = true;
+            } else {
+                page = fetched;
+            }
+        }
+        return page != null;
+    }
+
+    /**
+     * @return next page with at most {@code pageSize} rows, never empty
+     */
+    @Override
+    public List<Record> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Record> current = page;
+        page = null;
+        if (current.size() < pageSize) {
+            finished = true;
+        } else {
+            pending = fetch(current.get(current.size() - 1).getValue(keyColumn));
+        }
+        return current;
+    }
+
+    /**
+     * Stops the iteration. A page that is being prefetched is discarded when its query finishes
+     */
+    @Override
+    public void close() {
+        finished = true;
+        page = null;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private CompletableFuture<List<Record>> fetch(Object lastKey) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return source.fetch(lastKey);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, PREFETCH_THREADS);
+    }
+
+    private List<Record> await(CompletableFuture<List<Record>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            finished = true;
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new QueryExecutionException("Failed to fetch page", cause);
+        }
+    }
+
+    /**
+     * Runs the query of one page
+     */
+    @FunctionalInterface
+    interface PageSource {
+        /**
+         * @param lastKey key of the last row of the previous page or {@code null} for the first page
+         */
+        List<Record> fetch(Object lastKey) throws SQLException;
+    }
+}
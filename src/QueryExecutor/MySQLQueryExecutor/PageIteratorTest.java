@@ -0,0 +1,59 @@
+package QueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.QueryExecutionException;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+class PageIteratorTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id");
+
+    private static List<Record> rowsAfter(Object lastKey, int pageSize, int rowCount) {
+        int from = lastKey == null ? 1 : (Integer) lastKey + 1;
+        List<Record> rows = new ArrayList<>();
+        for (int id = from; id <= rowCount && rows.size() < pageSize; id++) {
+            rows.add(new Record(SCHEMA, new Object[]{id}));
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("page test: should continue every page after the last key of the previous one")
+    void shouldSeekAfterLastKey() {
+        List<Object> requestedKeys = new ArrayList<>();
+        PageIterator pages = new PageIterator(lastKey -> {
+            synchronized (requestedKeys) {
+                requestedKeys.add(lastKey);
+            }
+            return rowsAfter(lastKey, 3, 7);
+        }, "id", 3);
+        List<Integer> sizes = new ArrayList<>();
+        while (pages.hasNext()) {
+            sizes.add(pages.next().size());
+        }
+        Assertions.assertEquals(List.of(3, 3, 1), sizes);
+        Assertions.assertEquals(3, requestedKeys.size());
+        Assertions.assertNull(requestedKeys.get(0));
+        Assertions.assertEquals(List.of(3, 6), requestedKeys.subList(1, 3));
+        Assertions.assertThrows(NoSuchElementException.class, pages::next);
+    }
+
+    @Test
+    @DisplayName("page test: should throw QueryExecutionException if a page can not be read")
+    void shouldThrowExceptionIfPageFails() {
+        PageIterator pages = new PageIterator(lastKey -> {
+            if (lastKey != null) {
+                throw new SQLException("connection lost");
+            }
+            return rowsAfter(null, 2, 10);
+        }, "id", 2);
+        Assertions.assertEquals(2, pages.next().size());
+        Assertions.assertThrows(QueryExecutionException.class, pages::hasNext);
+        Assertions.assertFalse(pages.hasNext());
+    }
+}
@@ -0,0 +1,104 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.MySQLQueryExecutor.Exceptions.QueryExecutionException;
+import QueryExecutor.Record.Record;
+
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} over the rows of several partition queries. Splitting hands half of the partitions that are
+ * not started yet to the new spliterator, so every thread of a parallel stream selects and maps its own partitions.
+ * A partition is selected when its first row is requested
+ */
+class PartitionSpliterator implements Spliterator<Record> {
+    private final List<Partition> partitions;
+    private int from;
+    private final int to;
+    private Iterator<Record> current = Collections.emptyIterator();
+
+    PartitionSpliterator(List<Partition> partitions) {
+        this(partitions, 0, partitions.size());
+    }
+
+    private PartitionSpliterator(List<Partition> partitions, int from, int to) {
+        this.partitions = partitions;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Splits the key range {@code [min, max]} into at most {@code partitions} ranges of nearly equal size. A range
+     * with fewer keys than partitions gives one range per key, so no range is empty
+     * @return lower bound of every range. A range ends before the lower bound of the next one, the last ends at
+     * {@code max} inclusive
+     */
+    static long[] splitRange(long min, long max, int partitions) {
+        BigInteger keys = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        int count = keys.compareTo(BigInteger.valueOf(partitions)) < 0 ? keys.intValue() : partitions;
+        long[] lowers = new long[count];
+        for (int i = 0; i < count; i++) {
+            lowers[i] = BigInteger.valueOf(min)
+                    .add(keys.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count))).longValue();
+        }
+        return lowers;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Record> action) {
+        while (!current.hasNext()) {
+            if (from >= to) {
+                return false;
+            }
+            current = load(partitions.get(from++)).iterator();
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<Record> trySplit() {
+        int remaining = to - from;
+        if (remaining < 2) {
+            return null;
+        }
+        int middle = from + remaining / 2;
+        PartitionSpliterator prefix = new PartitionSpliterator(partitions, from, middle);
+        from = middle;
+        return prefix;
+    }
+
+    /**
+     * @return number of partitions that are not selected yet
+     */
+    @Override
+    public long estimateSize() {
+        return to - from + (current.hasNext() ? 1 : 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+
+    private static List<Record> load(Partition partition) {
+        try {
+            return partition.select();
+        } catch (SQLException e) {
+            throw new QueryExecutionException("Failed to select partition", e);
+        }
+    }
+
+    /**
+     * Select of one partition
+     */
+    @FunctionalInterface
+    interface Partition {
+        List<Record> select() throws SQLException;
+    }
+}
@@ -0,0 +1,57 @@
+package QueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+class PartitionSpliteratorTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id");
+
+    @Test
+    @DisplayName("parallel scan test: should return rows of all partitions selected on several threads")
+    void shouldReturnRowsOfAllPartitions() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<PartitionSpliterator.Partition> partitions = new ArrayList<>();
+        for (int p = 0; p < 8; p++) {
+            int first = p * 100;
+            partitions.add(() -> {
+                threads.add(Thread.currentThread().getName());
+                LockSupport.parkNanos(20_000_000);
+                List<Record> rows = new ArrayList<>();
+                for (int id = first; id < first + 100; id++) {
+                    rows.add(new Record(SCHEMA, new Object[]{id}));
+                }
+                return rows;
+            });
+        }
+        List<Integer> ids = StreamSupport.stream(new PartitionSpliterator(partitions), true)
+                .map(record -> (Integer) record.getValue("id"))
+                .sorted()
+                .collect(Collectors.toList());
+        Assertions.assertEquals(800, ids.size());
+        Assertions.assertEquals(0, ids.get(0).intValue());
+        Assertions.assertEquals(799, ids.get(799).intValue());
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            Assertions.assertTrue(threads.size() > 1);
+        }
+    }
+
+    @Test
+    @DisplayName("parallel scan test: should split a key range into non-empty ranges")
+    void shouldSplitRangeWithoutEmptyPartitions() {
+        Assertions.assertArrayEquals(new long[]{0, 25, 50, 75}, PartitionSpliterator.splitRange(0, 99, 4));
+        Assertions.assertArrayEquals(new long[]{0, 3, 6}, PartitionSpliterator.splitRange(0, 9, 3));
+        Assertions.assertArrayEquals(new long[]{0, 1, 2}, PartitionSpliterator.splitRange(0, 2, 8));
+        Assertions.assertArrayEquals(new long[]{5}, PartitionSpliterator.splitRange(5, 5, 8));
+        Assertions.assertArrayEquals(new long[]{Long.MIN_VALUE, 0},
+                PartitionSpliterator.splitRange(Long.MIN_VALUE, Long.MAX_VALUE, 2));
+    }
+}
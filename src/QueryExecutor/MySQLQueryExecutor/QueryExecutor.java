@@ -1,16 +1,59 @@
 package QueryExecutor.MySQLQueryExecutor;
 
-import Tools.Pair;
+import QueryExecutor.Record.Record;
+import QueryExecutor.WhereExpression.WhereExpression;
 
-import java.util.HashMap;
+import java.sql.SQLException;
 import java.util.List;
-
+import java.util.stream.Stream;
+
+/**<h1>QueryExecutor interface</h1>
+ * <h2>
+ * Blocking contract of the executors. Every method returns when the database has answered.
+ * For the non-blocking contract see {@link AsyncQueryExecutor}.
+ * </h2>
+ */
 public interface QueryExecutor {
 
-    //void insert(String tableName, List<Pair<String, ?>> data);
+    int insert(String tableName, Record record) throws SQLException;
+
+    List<Integer> insertAll(String tableName, List<Record> records) throws SQLException;
+
+    int update(String tableName, Record record, WhereExpression whereExpression) throws SQLException;
+
+    List<Record> select(String tableName) throws SQLException;
+
+    List<Record> select(String tableName, WhereExpression expression) throws SQLException;
+
+    List<Record> select(String tableName, List<String> fields) throws SQLException;
+
+    List<Record> select(String tableName, List<String> fields, WhereExpression expression) throws SQLException;
+
+    /**
+     * @param fields list of selected fields names, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword, {@code null} selects all rows
+     * @return lazily populated stream, that must be closed if it is not consumed to the end
+     */
+    Stream<Record> selectStream(String tableName, List<String> fields, WhereExpression expression) throws SQLException;
 
-   // void update(String tableName, int id, String field, Object data);
+    /**
+     * @param fields list of selected fields names, {@code null} selects all columns
+     * @param expression condition of WHERE SQL keyword, {@code null} selects all rows
+     * @param orderBy columns the rows are sorted by in ascending order, {@code null} or empty leaves rows unsorted
+     * @return lazily populated stream in the order of the columns, that must be closed if it is not consumed to the end
+     * @throws UnsupportedOperationException if the executor can not sort the rows and the order is not empty
+     */
+    default Stream<Record> selectStream(String tableName, List<String> fields, WhereExpression expression,
+                                        List<String> orderBy) throws SQLException {
+        if (orderBy == null || orderBy.isEmpty()) {
+            return selectStream(tableName, fields, expression);
+        }
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " can not sort rows of a stream");
+    }
 
+    int delete(String tableName) throws SQLException;
 
+    int delete(String tableName, WhereExpression expression) throws SQLException;
 
+    void truncate(String tableName) throws SQLException;
 }
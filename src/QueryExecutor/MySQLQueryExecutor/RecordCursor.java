@@ -0,0 +1,116 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.ConnectionPool.PooledConnection;
+import QueryExecutor.Metrics.Operation;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.QueryExecutionException;
+import QueryExecutor.Record.Record;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**<h1>RecordCursor class</h1>
+ * <h2>
+ * Lazy {@link Iterator} over rows of a streamed result set.
+ * </h2>
+ * <h3>
+ * Rows are mapped to {@link Record} one at a time as they arrive from the server, so memory usage does not depend
+ * on the size of the result. The cursor holds a pooled connection until it is exhausted or closed, so it must be
+ * closed (for example in a try-with-resources block) if it is abandoned before the last row.
+ * SQL errors during iteration are thrown as {@link QueryExecutionException}.
+ * </h3>
+ */
+public class RecordCursor implements Iterator<Record>, AutoCloseable {
+    private final PooledConnection connection;
+    private final PreparedStatement statement;
+    private final ResultSet rs;
+    private final RecordMapper mapper;
+    private final MySQLQueryExecutor executor;
+    private final String tableName;
+    private final String sql;
+    private final List<Object> parameters;
+    private final long startNanos;
+    private long rowCount;
+    private SQLException failure;
+    private boolean fetched;
+    private boolean hasRow;
+    private boolean closed;
+
+    /**
+     * @param executor executor the select is recorded to when the cursor is closed
+     * @param startNanos start time of the select, 0 records nothing
+     */
+    RecordCursor(PooledConnection connection, PreparedStatement statement, ResultSet rs, MySQLQueryExecutor executor,
+                 String tableName, String sql, List<Object> parameters, long startNanos) throws SQLException {
+        this.connection = connection;
+        this.statement = statement;
+        this.rs = rs;
+        this.mapper = new RecordMapper(rs.getMetaData());
+        this.executor = executor;
+        this.tableName = tableName;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (!fetched) {
+            try {
+                hasRow = rs.next();
+            } catch (SQLException e) {
+                failure = e;
+                close();
+                throw new QueryExecutionException("Failed to fetch next row", e);
+            }
+            fetched = true;
+            if (!hasRow) {
+                close();
+            }
+        }
+        return hasRow;
+    }
+
+    @Override
+    public Record next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        fetched = false;
+        try {
+            Record record = mapper.map(rs);
+            rowCount++;
+            return record;
+        } catch (SQLException e) {
+            failure = e;
+            close();
+            throw new QueryExecutionException("Failed to read row", e);
+        }
+    }
+
+    /**
+     * Closes the result set and the statement and returns the connection to the pool
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            rs.close();
+            statement.close();
+        } catch (SQLException e) {
+            connection.invalidate();
+        } finally {
+            connection.close();
+            executor.recordOperation(tableName, Operation.SELECT, sql, parameters, startNanos, rowCount, failure);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.MySQLQueryExecutor.Exceptions.IncorrectRecordException;
+import QueryExecutor.Record.FieldValues;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between the wanted content of a table and its current rows. Wanted records are projected onto the table
+ * columns and kept in a hash map by their key, current rows are compared one by one as they are read, so the current
+ * content of the table is never kept in memory. Keys and values are compared after
+ * {@link FieldValues#normalize(Object)}, so a row read back as {@code Long}, {@code BigDecimal} or {@code Timestamp}
+ * matches the {@code Integer}, {@code Double} or {@code String} it was written with
+ */
+class RecordDiff {
+    private final List<String> keyColumns;
+    private final List<String> columns;
+    private final RecordSchema keySchema;
+    private final RecordSchema rowSchema;
+    private final Map<List<Object>, Record> wanted;
+    private final List<Record> updates = new ArrayList<>();
+    private final List<Record> deletes = new ArrayList<>();
+
+    /**
+     * @param keyColumns columns that identify a row
+     * @param columns all compared columns, including the key columns
+     * @param records wanted content of the table
+     * @throws IncorrectRecordException if a record misses a column, has a null key or two records have the same key
+     */
+    RecordDiff(List<String> keyColumns, List<String> columns, List<Record> records) {
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("At least one key column is required");
+        }
+        for (String keyColumn: keyColumns) {
+            if (!columns.contains(keyColumn)) {
+                throw new IncorrectRecordException("Key column '" + keyColumn + "' not found in table");
+            }
+        }
+        this.keyColumns = keyColumns;
+        this.columns = columns;
+        this.keySchema = new RecordSchema(keyColumns);
+        this.rowSchema = new RecordSchema(columns);
+        this.wanted = new LinkedHashMap<>(Math.max(16, records.size() * 4 / 3 + 1));
+        for (Record record: records) {
+            Record row = project(record, rowSchema, columns);
+            for (String keyColumn: keyColumns) {
+                if (row.getValue(keyColumn) == null) {
+                    throw new IncorrectRecordException("Key field '" + keyColumn + "' of record is null");
+                }
+            }
+            if (wanted.put(key(row), row) != null) {
+                throw new IncorrectRecordException("Duplicate key " + project(row, keySchema, keyColumns));
+            }
+        }
+    }
+
+    /**
+     * Compares a current row of the table with the wanted record of the same key
+     * @param current row with all compared columns
+     */
+    void compare(Record current) {
+        Record row = wanted.remove(key(current));
+        if (row == null) {
+            deletes.add(project(current, keySchema, keyColumns));
+        } else if (!sameValues(row, current)) {
+            updates.add(row);
+        }
+    }
+
+    /**
+     * @return wanted records whose keys were not found among the compared rows. Valid after all rows are compared
+     */
+    List<Record> getInserts() {
+        return Collections.unmodifiableList(new ArrayList<>(wanted.values()));
+    }
+
+    /**
+     * @return wanted records whose rows have different values
+     */
+    List<Record> getUpdates() {
+        return Collections.unmodifiableList(updates);
+    }
+
+    /**
+     * @return keys of the rows that are not wanted, as records with the key columns
+     */
+    List<Record> getDeletes() {
+        return Collections.unmodifiableList(deletes);
+    }
+
+    /**
+     * @return normalized values of the key columns, equal for keys the database stores the same way
+     */
+    private List<Object> key(Record record) {
+        List<Object> key = new ArrayList<>(keyColumns.size());
+        for (String keyColumn: keyColumns) {
+            if (!record.contains(keyColumn)) {
+                throw new IncorrectRecordException("Field '" + keyColumn + "' not found in record");
+            }
+            key.add(FieldValues.normalize(record.getValue(keyColumn)));
+        }
+        return key;
+    }
+
+    private boolean sameValues(Record wanted, Record current) {
+        for (String column: columns) {
+            if (!current.contains(column)) {
+                throw new IncorrectRecordException("Field '" + column + "' not found in record");
+            }
+            if (!FieldValues.equal(wanted.getValue(column), current.getValue(column))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Record project(Record record, RecordSchema schema, List<String> columns) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            String column = columns.get(i);
+            if (!record.contains(column)) {
+                throw new IncorrectRecordException("Field '" + column + "' not found in record");
+            }
+            values[i] = record.getValue(column);
+        }
+        return new Record(schema, values);
+    }
+}
@@ -0,0 +1,84 @@
+package QueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.IncorrectRecordException;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import org.junit.jupiter.api.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class RecordDiffTest {
+
+    private static final List<String> KEY = Collections.singletonList("id");
+    private static final List<String> COLUMNS = Arrays.asList("id", "name", "age");
+    private static final RecordSchema ROW = new RecordSchema("id", "name", "age");
+
+    @Test
+    @DisplayName("diff test: should find inserted, updated and deleted rows and skip equal ones")
+    void shouldFindDelta() {
+        RecordDiff diff = new RecordDiff(KEY, COLUMNS, Arrays.asList(
+                record(1, "Ivan", 4), record(2, "Petr", null), record(4, "Olga", 7)));
+        diff.compare(new Record(ROW, new Object[]{1L, "Ivan", 4L}));
+        diff.compare(new Record(ROW, new Object[]{2L, "Petr", 5L}));
+        diff.compare(new Record(ROW, new Object[]{3L, "Anna", 6L}));
+        Assertions.assertEquals(Collections.singletonList(record(4, "Olga", 7)), diff.getInserts());
+        Assertions.assertEquals(Collections.singletonList(record(2, "Petr", null)), diff.getUpdates());
+        Assertions.assertEquals(1, diff.getDeletes().size());
+        Assertions.assertEquals(3L, diff.getDeletes().get(0).getValue("id"));
+    }
+
+    @Test
+    @DisplayName("diff test: should match values by value whatever type the table reads them back as")
+    void shouldMatchValuesReadBackAsOtherTypes() {
+        List<String> columns = Arrays.asList("id", "price", "created");
+        RecordSchema row = new RecordSchema("id", "price", "created");
+        RecordDiff diff = new RecordDiff(KEY, columns, Arrays.asList(
+                row(1, 1.5, "2021-03-04 05:06:07"),
+                row(2L, 2.25, "2021-03-04 05:06:07.5"),
+                row(new BigDecimal("3.0"), 3, "2021-03-04 05:06:07"),
+                row(4, 4.5, "2021-03-04 05:06:07")));
+        diff.compare(new Record(row, new Object[]{1L, new BigDecimal("1.50"),
+                Timestamp.valueOf("2021-03-04 05:06:07")}));
+        diff.compare(new Record(row, new Object[]{BigInteger.valueOf(2), new BigDecimal("2.250"),
+                Timestamp.valueOf("2021-03-04 05:06:07.500")}));
+        diff.compare(new Record(row, new Object[]{new BigDecimal("3.00"), new BigDecimal("3.00"),
+                Timestamp.valueOf("2021-03-04 05:06:07")}));
+        diff.compare(new Record(row, new Object[]{4L, new BigDecimal("4.55"),
+                Timestamp.valueOf("2021-03-04 05:06:07")}));
+        Assertions.assertEquals(Collections.emptyList(), diff.getInserts());
+        Assertions.assertEquals(Collections.emptyList(), diff.getDeletes());
+        Assertions.assertEquals(1, diff.getUpdates().size());
+        Assertions.assertEquals(4, diff.getUpdates().get(0).getValue("id"));
+    }
+
+    @Test
+    @DisplayName("diff test: should reject records with duplicate or missing keys")
+    void shouldRejectIncorrectKeys() {
+        Assertions.assertThrows(IncorrectRecordException.class,
+                () -> new RecordDiff(KEY, COLUMNS, Arrays.asList(record(1, "Ivan", 4), record(1L, "Petr", 5))));
+        Assertions.assertThrows(IncorrectRecordException.class,
+                () -> new RecordDiff(KEY, COLUMNS, Collections.singletonList(record(null, "Ivan", 4))));
+        Assertions.assertThrows(IncorrectRecordException.class,
+                () -> new RecordDiff(Collections.singletonList("salary"), COLUMNS, Collections.emptyList()));
+    }
+
+    private static Record row(Object id, Object price, Object created) {
+        Record record = new Record();
+        record.addField("id", id);
+        record.addField("price", price);
+        record.addField("created", created);
+        return record;
+    }
+
+    private static Record record(Object id, String name, Object age) {
+        Record record = new Record();
+        record.addField("id", id);
+        record.addField("name", name);
+        record.addField("age", age);
+        return record;
+    }
+}
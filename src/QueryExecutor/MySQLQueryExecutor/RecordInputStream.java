@@ -0,0 +1,160 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.Record.Record;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Encodes records into the default text format of {@code LOAD DATA}: fields separated by tab, rows terminated by
+ * newline, {@code NULL} written as {@code \N}, and backslash, tab, newline, carriage return and zero byte escaped with
+ * a backslash. Fields are not enclosed, so quotes need no escaping. Text is encoded as UTF-8.
+ * Only one row is kept in memory, the next one is encoded when the reader has consumed it.
+ * An exception thrown while a record is converted is kept and reported to the reader as {@link IOException}
+ */
+class RecordInputStream extends InputStream {
+    private final Iterator<Record> records;
+    private final Function<Record, List<Object>> values;
+    private byte[] buffer = new byte[256];
+    private int position;
+    private int limit;
+    private long rowCount;
+    private RuntimeException failure;
+
+    /**
+     * @param records records to encode
+     * @param values gives values of a record in the order of the loaded columns
+     */
+    RecordInputStream(Iterator<Record> records, Function<Record, List<Object>> values) {
+        this.records = records;
+        this.values = values;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int copied = 0;
+        while (copied < length && fill()) {
+            int count = Math.min(length - copied, limit - position);
+            System.arraycopy(buffer, position, bytes, offset + copied, count);
+            position += count;
+            copied += count;
+        }
+        return copied == 0 ? -1 : copied;
+    }
+
+    /**
+     * @return number of rows encoded so far
+     */
+    long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return exception thrown while a record was converted or {@code null}
+     */
+    RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return false if all rows are consumed
+     */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (failure != null) {
+            throw new IOException("Record can not be encoded", failure);
+        }
+        if (!records.hasNext()) {
+            return false;
+        }
+        position = 0;
+        limit = 0;
+        try {
+            List<Object> row = values.apply(records.next());
+            for (int i = 0; i < row.size(); i++) {
+                if (i > 0) {
+                    append((byte) '\t');
+                }
+                appendValue(row.get(i));
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            limit = 0;
+            throw new IOException("Record can not be encoded", e);
+        }
+        append((byte) '\n');
+        rowCount++;
+        return true;
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            append((byte) '\\');
+            append((byte) 'N');
+        } else if (value instanceof byte[]) {
+            appendEscaped((byte[]) value);
+        } else if (value instanceof Boolean) {
+            append((byte) ((Boolean) value ? '1' : '0'));
+        } else if (value instanceof BigDecimal) {
+            appendEscaped(((BigDecimal) value).toPlainString().getBytes(StandardCharsets.US_ASCII));
+        } else {
+            appendEscaped(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void appendEscaped(byte[] bytes) {
+        for (byte b: bytes) {
+            switch (b) {
+                case '\\':
+                    append((byte) '\\');
+                    append((byte) '\\');
+                    break;
+                case '\t':
+                    append((byte) '\\');
+                    append((byte) 't');
+                    break;
+                case '\n':
+                    append((byte) '\\');
+                    append((byte) 'n');
+                    break;
+                case '\r':
+                    append((byte) '\\');
+                    append((byte) 'r');
+                    break;
+                case 0:
+                    append((byte) '\\');
+                    append((byte) '0');
+                    break;
+                default:
+                    append(b);
+            }
+        }
+    }
+
+    private void append(byte b) {
+        if (limit == buffer.length) {
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, limit);
+            buffer = grown;
+        }
+        buffer[limit++] = b;
+    }
+}
@@ -0,0 +1,53 @@
+package QueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.IncorrectRecordException;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+class RecordInputStreamTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id", "name", "active");
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[3];
+        int count;
+        while ((count = in.read(chunk, 0, chunk.length)) != -1) {
+            out.write(chunk, 0, count);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("bulk load test: should escape separators and write NULL as \\N")
+    void shouldEscapeValues() throws IOException {
+        List<Record> records = Arrays.asList(
+                new Record(SCHEMA, new Object[]{1, "tab\there \"quoted\"", true}),
+                new Record(SCHEMA, new Object[]{2, null, false}),
+                new Record(SCHEMA, new Object[]{3, "back\\slash\nnew\rline\0end", null}));
+        RecordInputStream in = new RecordInputStream(records.iterator(),
+                record -> Arrays.asList(record.getValue("id"), record.getValue("name"), record.getValue("active")));
+        Assertions.assertEquals("1\ttab\\there \"quoted\"\t1\n"
+                + "2\t\\N\t0\n"
+                + "3\tback\\\\slash\\nnew\\rline\\0end\t\\N\n", readAll(in));
+        Assertions.assertEquals(3, in.getRowCount());
+    }
+
+    @Test
+    @DisplayName("bulk load test: should stop the stream and keep the exception of an incorrect record")
+    void shouldKeepRecordFailure() {
+        RecordInputStream in = new RecordInputStream(Arrays.asList(new Record(SCHEMA, new Object[]{1, "a", true})).iterator(),
+                record -> {
+                    throw new IncorrectRecordException("Field 'age' not found in record");
+                });
+        Assertions.assertThrows(IOException.class, () -> readAll(in));
+        Assertions.assertTrue(in.getFailure() instanceof IncorrectRecordException);
+    }
+}
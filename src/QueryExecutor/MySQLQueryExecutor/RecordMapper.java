@@ -0,0 +1,33 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of one result set to {@link Record}. Column names are read from the metadata once per result set
+ * into a {@link RecordSchema} shared by all mapped rows, every row keeps only an array of its values
+ */
+class RecordMapper {
+    private final RecordSchema schema;
+
+    RecordMapper(ResultSetMetaData rsmd) throws SQLException {
+        int colCount = rsmd.getColumnCount();
+        String[] columnNames = new String[colCount];
+        for (int i = 1; i <= colCount; i++) {
+            columnNames[i - 1] = rsmd.getColumnName(i);
+        }
+        schema = new RecordSchema(columnNames);
+    }
+
+    Record map(ResultSet rs) throws SQLException {
+        Object[] values = new Object[schema.size()];
+        for (int i = 1; i <= values.length; i++) {
+            values[i - 1] = rs.getObject(i);
+        }
+        return new Record(schema, values);
+    }
+}
@@ -0,0 +1,42 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+/**<h1>SyncResult class</h1>
+ * <h2>
+ * Numbers of rows changed by {@link MySQLQueryExecutor#sync(String, java.util.List, java.util.List)}
+ * </h2>
+ */
+public class SyncResult {
+    private final int inserted;
+    private final int updated;
+    private final int deleted;
+
+    SyncResult(int inserted, int updated, int deleted) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return {@code true} if the table already had the wanted content
+     */
+    public boolean isUnchanged() {
+        return inserted == 0 && updated == 0 && deleted == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncResult{inserted=" + inserted + ", updated=" + updated + ", deleted=" + deleted + '}';
+    }
+}
@@ -0,0 +1,340 @@
+package QueryExecutor.MySQLQueryExecutor;
+
+import QueryExecutor.ConnectionPool.ConnectionPoolConfig;
+import QueryExecutor.ConnectionPool.PooledConnection;
+import QueryExecutor.Metrics.Operation;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.IncorrectRecordException;
+import QueryExecutor.MySQLQueryExecutor.Exceptions.UnitOfWorkIsClosedException;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Schema.TableSchema;
+import QueryExecutor.WhereExpression.WhereExpression;
+import Tools.Pair;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**<h1>UnitOfWork class</h1>
+ * <h2>
+ * Collects inserts, updates and deletes on any tables and writes them in one transaction on one connection.
+ * </h2>
+ * <h3>
+ * Operations are not sent when they are added but when the unit is flushed: by {@link #flush()}, {@link #commit()} or
+ * {@link #setSavepoint(String)}. Consecutive operations of the same shape are sent together: inserts into one table as
+ * multi-row INSERT statements, updates and deletes with the same SQL text as one JDBC batch. With
+ * {@link ConnectionPoolConfig#setRewriteBatchedStatements(boolean)} the driver sends such a batch in one round trip,
+ * but does not report how many rows the batched updates and deletes changed.
+ * The order of operations is kept, so an operation never overtakes an earlier one.
+ * </h3>
+ * <h3>
+ * The unit holds its pooled connection until it is closed. Closing rolls back everything that is not committed,
+ * the connection returns to the pool with auto-commit and its isolation level restored.
+ * A unit of work is used by one thread at a time.
+ * </h3>
+ */
+public class UnitOfWork implements AutoCloseable {
+    /**
+     * Returned by {@link #flush()} when the number of changed rows is not known
+     */
+    public static final int UNKNOWN_COUNT = -1;
+
+    private final MySQLQueryExecutor executor;
+    private final PooledConnection connection;
+    private final List<PendingOperation> pending = new ArrayList<>();
+    private final Set<String> changedTables = new LinkedHashSet<>();
+    private boolean closed;
+
+    UnitOfWork(MySQLQueryExecutor executor, PooledConnection connection, IsolationLevel isolationLevel) throws SQLException {
+        this.executor = executor;
+        this.connection = connection;
+        if (isolationLevel != null) {
+            connection.setTransactionIsolation(isolationLevel.getJdbcLevel());
+        }
+        connection.beginTransaction();
+    }
+
+    /**
+     * Adds <h2>INSERT INTO &lt table name &gt (&lt col_name1 &gt, …) VALUES (…)</h2>
+     * @param tableName string representation of the table name
+     * @param record a {@link Record} with all columns of the table. It must not be changed until it is flushed
+     * @throws IncorrectRecordException if record has no fields. Columns are checked when the record is flushed
+     */
+    public void insert(String tableName, Record record) {
+        checkOpen();
+        executor.checkRecord(record);
+        pending.add(new PendingOperation(tableName, Operation.INSERT, null, null, record));
+    }
+
+    /**
+     * Adds <h2>UPDATE &lt table name &gt SET &lt col_name &gt = &lt value &gt … WHERE &lt condition &gt</h2>
+     * @param tableName string representation of the table name
+     * @param record a {@link Record} with the changed fields
+     * @param whereExpression condition of WHERE SQL keyword ({@link WhereExpression})
+     * @throws IncorrectRecordException if record has no fields
+     */
+    public void update(String tableName, Record record, WhereExpression whereExpression) {
+        checkOpen();
+        executor.checkRecord(record);
+        Pair<String, List<Object>> setExpression = executor.buildSetExpression(record);
+        List<Object> values = new ArrayList<>(setExpression.getValue());
+        values.addAll(whereExpression.getParameters());
+        pending.add(new PendingOperation(tableName, Operation.UPDATE,
+                "UPDATE " + tableName + " SET " + setExpression.getKey() + " WHERE " + whereExpression, values, null));
+    }
+
+    /**
+     * Adds <h2>DELETE FROM &lt table name &gt WHERE &lt condition &gt </h2>
+     * @param tableName string representation of the table name
+     * @param expression condition of WHERE SQL keyword ({@link WhereExpression})
+     */
+    public void delete(String tableName, WhereExpression expression) {
+        checkOpen();
+        pending.add(new PendingOperation(tableName, Operation.DELETE,
+                "DELETE FROM " + tableName + " WHERE " + expression, expression.getParameters(), null));
+    }
+
+    /**
+     * Adds <h2>DELETE FROM &lt table name &gt </h2>
+     * @param tableName string representation of the table name
+     */
+    public void delete(String tableName) {
+        checkOpen();
+        pending.add(new PendingOperation(tableName, Operation.DELETE, "DELETE FROM " + tableName,
+                Collections.emptyList(), null));
+    }
+
+    /**
+     * @return number of operations added since the last flush
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Sends the added operations to the server without committing them. If an operation fails, the operations
+     * before it stay executed and the rest are discarded, the transaction should be rolled back
+     * @return number of rows changed by the flushed operations, or {@link #UNKNOWN_COUNT} if the driver did not report
+     * the count of a batch ({@link java.sql.Statement#SUCCESS_NO_INFO})
+     * @throws SQLException
+     * @throws IncorrectRecordException if fields of an inserted record do not match the corresponding table
+     * @throws UnitOfWorkIsClosedException if the unit is closed
+     */
+    public int flush() throws SQLException {
+        checkOpen();
+        int changed = 0;
+        try {
+            int from = 0;
+            while (from < pending.size()) {
+                PendingOperation first = pending.get(from);
+                int to = from + 1;
+                while (to < pending.size() && pending.get(to).hasShapeOf(first)) {
+                    to++;
+                }
+                int count = execute(first, pending.subList(from, to));
+                changed = changed == UNKNOWN_COUNT || count == UNKNOWN_COUNT ? UNKNOWN_COUNT : changed + count;
+                from = to;
+            }
+        } finally {
+            pending.clear();
+        }
+        return changed;
+    }
+
+    /**
+     * Flushes the added operations and commits the transaction. The unit can be used for the next transaction
+     * @throws SQLException
+     * @throws UnitOfWorkIsClosedException if the unit is closed
+     */
+    public void commit() throws SQLException {
+        flush();
+        connection.getConnection().commit();
+        invalidateChangedTables();
+    }
+
+    /**
+     * Discards the added operations and rolls back the transaction
+     * @throws SQLException
+     * @throws UnitOfWorkIsClosedException if the unit is closed
+     */
+    public void rollback() throws SQLException {
+        checkOpen();
+        pending.clear();
+        connection.getConnection().rollback();
+        invalidateChangedTables();
+    }
+
+    /**
+     * Flushes the added operations and marks the current state of the transaction
+     * @param name name of the savepoint
+     * @return savepoint to roll back to with {@link #rollback(Savepoint)}
+     * @throws SQLException
+     * @throws UnitOfWorkIsClosedException if the unit is closed
+     */
+    public Savepoint setSavepoint(String name) throws SQLException {
+        flush();
+        return connection.getConnection().setSavepoint(name);
+    }
+
+    /**
+     * Discards the added operations and undoes the changes made after the savepoint. The transaction stays open
+     * @param savepoint savepoint of the current transaction
+     * @throws SQLException
+     * @throws UnitOfWorkIsClosedException if the unit is closed
+     */
+    public void rollback(Savepoint savepoint) throws SQLException {
+        checkOpen();
+        pending.clear();
+        connection.getConnection().rollback(savepoint);
+    }
+
+    /**
+     * @param savepoint savepoint of the current transaction that is not needed anymore
+     * @throws SQLException
+     * @throws UnitOfWorkIsClosedException if the unit is closed
+     */
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        checkOpen();
+        connection.getConnection().releaseSavepoint(savepoint);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Discards the added operations, rolls back everything that is not committed and returns the connection
+     * to the pool
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.clear();
+        try {
+            connection.getConnection().rollback();
+        } catch (SQLException e) {
+            connection.invalidate();
+        } finally {
+            connection.close();
+            invalidateChangedTables();
+        }
+    }
+
+    /**
+     * @return number of rows changed by the group of operations of the same shape or {@link #UNKNOWN_COUNT}
+     */
+    private int execute(PendingOperation first, List<PendingOperation> group) throws SQLException {
+        long start = executor.startTimer();
+        int changed = 0;
+        changedTables.add(first.tableName);
+        String sql = first.sql;
+        List<Object> values = group.size() == 1 ? first.values : null;
+        try {
+            if (first.operation == Operation.INSERT) {
+                TableSchema schema = executor.getTableSchema(connection, first.tableName);
+                sql = executor.buildInsertShape(first.tableName, schema);
+                changed = insert(first.tableName, schema, group);
+            } else if (group.size() == 1) {
+                PreparedStatement statement = connection.prepareStatement(first.sql);
+                executor.bindValues(statement, 1, first.values);
+                changed = statement.executeUpdate();
+            } else {
+                changed = executeBatch(first.sql, group);
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (e instanceof SQLSyntaxErrorException) {
+                executor.invalidateSchema(first.tableName);
+                connection.evictStatement(first.sql);
+            }
+            executor.recordOperation(first.tableName, first.operation, sql, values, start, 0, e);
+            throw e;
+        }
+        executor.recordOperation(first.tableName, first.operation, sql, values, start, Math.max(changed, 0), null);
+        return changed;
+    }
+
+    private int insert(String tableName, TableSchema schema, List<PendingOperation> group) throws SQLException {
+        List<Record> records = new ArrayList<>(group.size());
+        for (PendingOperation operation: group) {
+            records.add(operation.record);
+        }
+        List<Integer> chunkCounts = new ArrayList<>();
+        executor.insertChunks(connection, tableName, schema, records, executor.getInsertChunkSize(), chunkCounts);
+        return MySQLQueryExecutor.sum(chunkCounts);
+    }
+
+    /**
+     * @return number of changed rows or {@link #UNKNOWN_COUNT} if a statement of the batch reported
+     * {@link Statement#SUCCESS_NO_INFO}
+     */
+    private int executeBatch(String sql, List<PendingOperation> group) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int batchSize = executor.getInsertChunkSize();
+        int changed = 0;
+        boolean unknown = false;
+        for (int from = 0; from < group.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, group.size());
+            for (int i = from; i < to; i++) {
+                executor.bindValues(statement, 1, group.get(i).values);
+                statement.addBatch();
+            }
+            for (int count: statement.executeBatch()) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    unknown = true;
+                } else {
+                    changed += count;
+                }
+            }
+        }
+        return unknown ? UNKNOWN_COUNT : changed;
+    }
+
+    private void invalidateChangedTables() {
+        for (String tableName: changedTables) {
+            executor.afterWrite(tableName);
+        }
+        changedTables.clear();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new UnitOfWorkIsClosedException("Unit of work is closed");
+        }
+    }
+
+    private static class PendingOperation {
+        private final String tableName;
+        private final Operation operation;
+        private final String sql;
+        private final List<Object> values;
+        private final Record record;
+
+        private PendingOperation(String tableName, Operation operation, String sql, List<Object> values, Record record) {
+            this.tableName = tableName;
+            this.operation = operation;
+            this.sql = sql;
+            this.values = values;
+            this.record = record;
+        }
+
+        /**
+         * Inserts into one table are merged into multi-row statements, updates and deletes are batched
+         * if their SQL text is the same
+         */
+        private boolean hasShapeOf(PendingOperation other) {
+            if (operation != other.operation || !tableName.equals(other.tableName)) {
+                return false;
+            }
+            return operation == Operation.INSERT || sql.equals(other.sql);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package QueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.Cache.ResultCacheConfig;
+import QueryExecutor.ConnectionPool.ConnectionPoolConfig;
+import QueryExecutor.Record.Record;
+import QueryExecutor.WhereExpression.Predicate;
+import QueryExecutor.WhereExpression.WhereExpression;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.function.Executable;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+class UnitOfWorkTest {
+
+    private static final String URL = "jdbc:unit-of-work-test:";
+
+    /**
+     * Statements sent to the fake database, e.g. {@code "batch 2: UPDATE users SET name=? WHERE id = ?"}
+     */
+    private static final List<String> log = Collections.synchronizedList(new ArrayList<>());
+    private static volatile int batchCount = 1;
+    /**
+     * SQL text of the statements prepared on the fake connections
+     */
+    private static final List<String> prepared = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * SQL text that fails with {@link SQLSyntaxErrorException}, as a statement on an altered table does
+     */
+    private static volatile String failingSql;
+
+    /**
+     * Driver of a database with one table {@code users (id, name)} that logs the statements instead of running them
+     */
+    private static class FakeDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            return acceptsURL(url) ? fakeConnection() : null;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(URL);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+
+    private static MySQLQueryExecutor executor;
+
+    @BeforeAll
+    static void openExecutor() throws SQLException {
+        DriverManager.registerDriver(new FakeDriver());
+        executor = MySQLQueryExecutor.forUrl(URL + "test", "user", "password",
+                new ConnectionPoolConfig().setMaxPoolSize(2).setEvictionIntervalMillis(0));
+        executor.openConnection();
+    }
+
+    @AfterAll
+    static void closeExecutor() throws SQLException {
+        executor.closeConnection();
+    }
+
+    @BeforeEach
+    void clearLog() {
+        log.clear();
+        prepared.clear();
+        batchCount = 1;
+        failingSql = null;
+        executor.disableResultCache();
+    }
+
+    @Test
+    @DisplayName("unit of work test: should batch consecutive operations of the same shape and keep their order")
+    void shouldGroupOperationsOfSameShape() throws SQLException {
+        try (UnitOfWork work = executor.beginWork()) {
+            work.update("users", name("Ivan"), new WhereExpression(Predicate.eq("id", 1)));
+            work.update("users", name("Petr"), new WhereExpression(Predicate.eq("id", 2)));
+            work.delete("users", new WhereExpression(Predicate.eq("id", 3)));
+            work.update("users", name("Anna"), new WhereExpression(Predicate.eq("id", 4)));
+            work.insert("users", user(5, "Olga"));
+            work.insert("users", user(6, "Oleg"));
+            work.delete("users");
+            Assertions.assertEquals(7, work.getPendingCount());
+            Assertions.assertEquals(6, work.flush());
+            Assertions.assertEquals(0, work.getPendingCount());
+            work.commit();
+        }
+        Assertions.assertEquals(Arrays.asList(
+                "batch 2: UPDATE users SET name=? WHERE id = ?",
+                "update: DELETE FROM users WHERE id = ?",
+                "update: UPDATE users SET name=? WHERE id = ?",
+                "update: INSERT INTO users (id, name) VALUES (?, ?), (?, ?)",
+                "update: DELETE FROM users",
+                "commit",
+                "rollback"), log);
+    }
+
+    @Test
+    @DisplayName("unit of work test: should report an unknown count if the driver gives no counts of a batch")
+    void shouldReportUnknownBatchCount() throws SQLException {
+        batchCount = Statement.SUCCESS_NO_INFO;
+        try (UnitOfWork work = executor.beginWork()) {
+            work.delete("users", new WhereExpression(Predicate.eq("id", 1)));
+            work.delete("users", new WhereExpression(Predicate.eq("id", 2)));
+            work.delete("users");
+            Assertions.assertEquals(UnitOfWork.UNKNOWN_COUNT, work.flush());
+        }
+    }
+
+    @Test
+    @DisplayName("unit of work test: should discard operations after the savepoint and keep the ones before it")
+    void shouldRollbackToSavepoint() throws SQLException {
+        try (UnitOfWork work = executor.beginWork()) {
+            work.update("users", name("Ivan"), new WhereExpression(Predicate.eq("id", 1)));
+            Savepoint savepoint = work.setSavepoint("before_delete");
+            work.delete("users");
+            work.rollback(savepoint);
+            Assertions.assertEquals(0, work.getPendingCount());
+            work.commit();
+        }
+        Assertions.assertEquals(Arrays.asList(
+                "update: UPDATE users SET name=? WHERE id = ?",
+                "savepoint before_delete",
+                "rollback to before_delete",
+                "commit",
+                "rollback"), log);
+    }
+
+    @Test
+    @DisplayName("unit of work test: should drop cached results of written tables on commit, rollback and close")
+    void shouldInvalidateCacheOfWrittenTables() throws SQLException {
+        executor.enableResultCache(new ResultCacheConfig().setTableTtlMillis("users", 60_000));
+        Assertions.assertEquals(1, selects());
+        Assertions.assertEquals(0, selects());
+        try (UnitOfWork work = executor.beginWork()) {
+            work.delete("users");
+            Assertions.assertEquals(0, selects());
+            work.commit();
+            Assertions.assertEquals(1, selects());
+            work.delete("users");
+            work.flush();
+            work.rollback();
+            Assertions.assertEquals(1, selects());
+            work.delete("users");
+            work.flush();
+        }
+        Assertions.assertEquals(1, selects());
+        try (UnitOfWork work = executor.beginWork()) {
+            work.delete("users");
+        }
+        Assertions.assertEquals(0, selects());
+    }
+
+    @Test
+    @DisplayName("unit of work test: should prepare a statement again after it failed because the table was altered")
+    void shouldPrepareStatementAgainAfterSyntaxError() throws SQLException {
+        String sql = "DELETE FROM users WHERE id = ?";
+        WhereExpression expression = new WhereExpression(Predicate.eq("id", 1));
+        executor.delete("users", expression);
+        Assertions.assertEquals(0, prepares(sql, () -> executor.delete("users", expression)));
+
+        failingSql = sql;
+        Assertions.assertThrows(SQLSyntaxErrorException.class, () -> executor.delete("users", expression));
+        failingSql = null;
+        Assertions.assertEquals(1, prepares(sql, () -> executor.delete("users", expression)));
+
+        failingSql = sql;
+        try (UnitOfWork work = executor.beginWork()) {
+            work.delete("users", expression);
+            Assertions.assertThrows(SQLSyntaxErrorException.class, work::flush);
+        }
+        failingSql = null;
+        Assertions.assertEquals(1, prepares(sql, () -> executor.delete("users", expression)));
+    }
+
+    /**
+     * @return number of times the statement was prepared while the action ran
+     */
+    private static int prepares(String sql, Executable action) throws SQLException {
+        int before = Collections.frequency(prepared, sql);
+        try {
+            action.execute();
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+        return Collections.frequency(prepared, sql) - before;
+    }
+
+    /**
+     * @return number of queries the select sent to the database
+     */
+    private static int selects() throws SQLException {
+        int before = queries();
+        executor.select("users", Collections.singletonList("name"));
+        return queries() - before;
+    }
+
+    private static int queries() {
+        synchronized (log) {
+            return (int) log.stream().filter(entry -> entry.startsWith("query")).count();
+        }
+    }
+
+    private static Record name(String name) {
+        Record record = new Record();
+        record.addField("name", name);
+        return record;
+    }
+
+    private static Record user(int id, String name) {
+        Record record = name(name);
+        record.addField("id", id);
+        return record;
+    }
+
+    private static Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            prepared.add((String) args[0]);
+                            return fakeStatement((String) args[0]);
+                        case "getMetaData":
+                            return fakeMetaData();
+                        case "setSavepoint":
+                            log.add("savepoint " + args[0]);
+                            return fakeSavepoint((String) args[0]);
+                        case "commit":
+                            log.add("commit");
+                            return null;
+                        case "rollback":
+                            log.add(args == null ? "rollback" : "rollback to " + ((Savepoint) args[0]).getSavepointName());
+                            return null;
+                        case "getAutoCommit":
+                        case "isValid":
+                            return true;
+                        case "isClosed":
+                            return false;
+                        case "getTransactionIsolation":
+                            return Connection.TRANSACTION_REPEATABLE_READ;
+                        case "getCatalog":
+                            return "test";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static PreparedStatement fakeStatement(String sql) {
+        int[] batch = new int[1];
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeUpdate":
+                            if (sql.equals(failingSql)) {
+                                throw new SQLSyntaxErrorException("Unknown column 'id' in 'where clause'");
+                            }
+                            log.add("update: " + sql);
+                            return 1;
+                        case "addBatch":
+                            batch[0]++;
+                            return null;
+                        case "executeBatch": {
+                            log.add("batch " + batch[0] + ": " + sql);
+                            int[] counts = new int[batch[0]];
+                            Arrays.fill(counts, batchCount);
+                            batch[0] = 0;
+                            return counts;
+                        }
+                        case "executeQuery":
+                            log.add("query: " + sql);
+                            return fakeResultSet(Collections.emptyList());
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return method.getReturnType() == boolean.class ? false : null;
+                    }
+                });
+    }
+
+    private static DatabaseMetaData fakeMetaData() {
+        return (DatabaseMetaData) Proxy.newProxyInstance(DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getColumns")) {
+                        return fakeResultSet(Arrays.asList(new Object[]{"users", "id", 1, java.sql.Types.INTEGER},
+                                new Object[]{"users", "name", 2, java.sql.Types.VARCHAR}));
+                    }
+                    return method.getReturnType() == boolean.class ? false : null;
+                });
+    }
+
+    /**
+     * Rows of {@code DatabaseMetaData#getColumns}: table name, column name, ordinal position and type
+     */
+    private static ResultSet fakeResultSet(List<Object[]> rows) {
+        int[] row = {-1};
+        ResultSetMetaData rsmd = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return 1;
+                        case "getColumnName":
+                        case "getColumnLabel":
+                            return "name";
+                        default:
+                            return 0;
+                    }
+                });
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++row[0] < rows.size();
+                        case "getMetaData":
+                            return rsmd;
+                        case "getString":
+                            return args[0].equals("TABLE_NAME") ? rows.get(row[0])[0] : rows.get(row[0])[1];
+                        case "getInt":
+                            if (args[0].equals("NULLABLE")) {
+                                return DatabaseMetaData.columnNullable;
+                            }
+                            return args[0].equals("ORDINAL_POSITION") ? rows.get(row[0])[2] : rows.get(row[0])[3];
+                        default:
+                            return method.getReturnType() == boolean.class ? false : null;
+                    }
+                });
+    }
+
+    private static Savepoint fakeSavepoint(String name) {
+        return (Savepoint) Proxy.newProxyInstance(Savepoint.class.getClassLoader(),
+                new Class<?>[]{Savepoint.class}, (proxy, method, args) -> name);
+    }
+}
@@ -0,0 +1,156 @@
+package QueryExecutor.Record;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**<h1>FieldValues class</h1>
+ * <h2>
+ * Comparison of {@link Record} field values the way the database compares them.
+ * </h2>
+ * <h3>
+ * Numbers are ordered by value whatever their type, so a {@code Long} read back from the database equals
+ * the {@code Integer} it was written with. A string compared with any other value compares their text.
+ * Other values are compared only with values of the same class.
+ * </h3>
+ * <h3>
+ * {@link #normalize(Object)} gives a form of a value that is equal, and has the same hash code, for values the
+ * database stores the same way: numbers of any type and scale, a date or time and its text in the SQL literal format.
+ * </h3>
+ */
+public final class FieldValues {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private FieldValues() {
+    }
+
+    /**
+     * @param left not null value
+     * @param right not null value
+     * @return negative, zero or positive number as the left value is less than, equal to or greater than the right
+     * @throws IllegalArgumentException if the values can not be compared
+     */
+    public static int compare(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            if (isIntegral(left) && isIntegral(right)) {
+                return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+            }
+            return toBigDecimal((Number) left).compareTo(toBigDecimal((Number) right));
+        }
+        if (left instanceof String || right instanceof String) {
+            return left.toString().compareTo(right.toString());
+        }
+        if (left instanceof Comparable && left.getClass().isInstance(right)) {
+            @SuppressWarnings("unchecked")
+            Comparable<Object> comparable = (Comparable<Object>) left;
+            return comparable.compareTo(right);
+        }
+        throw new IllegalArgumentException("Values " + left.getClass().getSimpleName() + " and "
+                + right.getClass().getSimpleName() + " can not be compared");
+    }
+
+    /**
+     * Value in a form that can be compared with {@link Object#equals(Object)} and hashed. Numbers become
+     * {@link BigDecimal} without trailing zeros, so {@code 1}, {@code 1L} and {@code 1.00} are equal. Dates and times
+     * become their SQL literal text, e.g. {@code "2021-03-04 05:06:07"}, so they equal the strings they were written
+     * with. Byte arrays are compared by content
+     * @param value any value, {@code null} stays {@code null}
+     */
+    public static Object normalize(Object value) {
+        if (value instanceof Number && !isNonFinite(value)) {
+            BigDecimal decimal = toBigDecimal((Number) value);
+            return decimal.signum() == 0 ? BigDecimal.ZERO : decimal.stripTrailingZeros();
+        }
+        if (value instanceof java.sql.Timestamp) {
+            return format(((java.sql.Timestamp) value).toLocalDateTime());
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().toString();
+        }
+        if (value instanceof java.sql.Time) {
+            return format(((java.sql.Time) value).toLocalTime());
+        }
+        if (value instanceof LocalDateTime) {
+            return format((LocalDateTime) value);
+        }
+        if (value instanceof LocalDate) {
+            return value.toString();
+        }
+        if (value instanceof LocalTime) {
+            return format((LocalTime) value);
+        }
+        if (value instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) value);
+        }
+        return value;
+    }
+
+    /**
+     * @return true if the values are equal after {@link #normalize(Object)}
+     */
+    public static boolean equal(Object left, Object right) {
+        if (left == right) {
+            return true;
+        }
+        if (left == null || right == null) {
+            return false;
+        }
+        return normalize(left).equals(normalize(right));
+    }
+
+    /**
+     * @return true if the value is a {@code Long}, {@code Integer}, {@code Short} or {@code Byte}
+     */
+    public static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (isIntegral(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        if (number instanceof Float) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+
+    private static boolean isNonFinite(Object value) {
+        return value instanceof Double && !Double.isFinite((Double) value)
+                || value instanceof Float && !Float.isFinite((Float) value);
+    }
+
+    private static String format(LocalDateTime value) {
+        return DATE_TIME.format(value) + fraction(value.getNano());
+    }
+
+    private static String format(LocalTime value) {
+        return TIME.format(value) + fraction(value.getNano());
+    }
+
+    /**
+     * @return fraction of a second as MySQL prints it, without trailing zeros, or an empty string
+     */
+    private static String fraction(int nanos) {
+        if (nanos == 0) {
+            return "";
+        }
+        String digits = String.format("%09d", nanos);
+        int end = digits.length();
+        while (digits.charAt(end - 1) == '0') {
+            end--;
+        }
+        return "." + digits.substring(0, end);
+    }
+}
@@ -4,13 +4,36 @@ import QueryExecutor.MySQLQueryExecutor.MySQLQueryExecutor;
 import QueryExecutor.Record.Exceptions.FieldNameDoesNotExistsException;
 
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.StringJoiner;
 
+/**<h1>Record class</h1>
+ * <h2>
+ * Set of named field values, usually one row of a database table.
+ * </h2>
+ * <h3>
+ * A record is backed either by its own {@link Map} or, for rows read from the database, by a flat array of values
+ * and a {@link RecordSchema} shared by all rows of the result. Both kinds behave the same way. Adding a field that
+ * is not in the shared schema or calling {@link #getMap()} copies the record into its own map.
+ * </h3>
+ * <h3>
+ * {@link #readOnlyCopy()} gives a record that can not be changed, so it can be shared between threads and callers,
+ * for example by a result cache. Field values themselves are not copied.
+ * </h3>
+ */
 public class Record {
-    private final Map<String, Object> data;
+    private Map<String, Object> data;
+    private RecordSchema schema;
+    private Object[] values;
+    private boolean readOnly;
+
     public Record () {
         data = new HashMap<>();
     }
@@ -19,36 +42,138 @@ public class Record {
         this.data = data;
     }
 
+    /**
+     * Creates record backed by the shared schema. The array is used as is, without copying
+     * @param schema field names shared by all rows of one result
+     * @param values field values in the order of the schema
+     */
+    public Record (RecordSchema schema, Object[] values) {
+        if (schema.size() != values.length) {
+            throw new IllegalArgumentException("Schema has " + schema.size() + " fields, but " + values.length + " values given");
+        }
+        this.schema = schema;
+        this.values = values;
+    }
+
     public boolean isEmpty() {
-        return data.size() == 0;
+        return size() == 0;
+    }
+
+    /**
+     * @return number of fields
+     */
+    public int size() {
+        return data != null ? data.size() : schema.getFieldNames().size();
     }
 
     public boolean contains(String fieldName) {
-        return data.containsKey(fieldName);
+        return data != null ? data.containsKey(fieldName) : schema.indexOf(fieldName) >= 0;
     }
 
+    /**
+     * @throws UnsupportedOperationException if the record is read-only
+     */
     public void addField(String fieldName, Object value) {
+        checkWritable();
+        if (data == null) {
+            int index = schema.indexOf(fieldName);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            inflate();
+        }
         data.put(fieldName, value);
     }
 
     public Object getValue(String fieldName) {
-        if (data.containsKey(fieldName)) {
+        if (data == null) {
+            int index = schema.indexOf(fieldName);
+            if (index >= 0) {
+                return values[index];
+            }
+        } else if (data.containsKey(fieldName)) {
             return data.get(fieldName);
-        } else {
-            throw new FieldNameDoesNotExistsException("Record does not contain the field with name: " + fieldName);
         }
+        throw new FieldNameDoesNotExistsException("Record does not contain the field with name: " + fieldName);
+    }
+
+    /**
+     * Positional access to the field values. For records read from the database the position is the position of
+     * the column in the result, for other records it is the position in {@link #getFieldNames()} order
+     * @param index position of the field
+     * @return value of the field
+     */
+    public Object getValue(int index) {
+        if (data == null) {
+            return values[index];
+        }
+        if (index < 0 || index >= data.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + data.size());
+        }
+        Iterator<Object> iterator = data.values().iterator();
+        for (int i = 0; i < index; i++) {
+            iterator.next();
+        }
+        return iterator.next();
     }
 
     public Set<String> getKeySet() {
-        return data.keySet();
+        return getFieldNames();
     }
 
+    /**
+     * @return map of field values. Changes of the map are visible in the record.
+     * The map of a read-only record is an unmodifiable copy
+     */
     public Map<String, Object> getMap() {
+        if (readOnly) {
+            return Collections.unmodifiableMap(data != null ? new LinkedHashMap<>(data) : toMap());
+        }
+        if (data == null) {
+            inflate();
+        }
         return data;
     }
 
     public Set<String> getFieldNames() {
-        return data.keySet();
+        if (data == null) {
+            return schema.getFieldNames();
+        }
+        return readOnly ? Collections.unmodifiableSet(data.keySet()) : data.keySet();
+    }
+
+    /**
+     * @return read-only record with the same fields and values. The copy does not change when this record changes
+     */
+    public Record readOnlyCopy() {
+        Record copy = data != null ? new Record(new LinkedHashMap<>(data)) : new Record(schema, values.clone());
+        copy.readOnly = true;
+        return copy;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Record is read-only");
+        }
+    }
+
+    private void inflate() {
+        data = toMap();
+        schema = null;
+        values = null;
+    }
+
+    private Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            map.put(schema.getFieldName(i), values[i]);
+        }
+        return map;
     }
 
     public void insert(String dbName, String user, String password, String tableName) throws SQLException {
@@ -59,9 +184,22 @@ public class Record {
     }
 
     public String toString () {
-        return data.toString();
+        if (data != null) {
+            return data.toString();
+        }
+        StringJoiner sj = new StringJoiner(", ", "{", "}");
+        for (String fieldName: schema.getFieldNames()) {
+            sj.add(fieldName + "=" + getValue(fieldName));
+        }
+        return sj.toString();
     }
 
+    /**
+     * Records are equal if they have the same field names and equal values. Values are compared the way they are
+     * stored in a table: {@code int}, {@code short} and {@code byte} values are equal to the same {@code long} value,
+     * {@link java.sql.Date} is equal to its {@code yyyy-mm-dd} string, byte arrays are compared by content and
+     * {@code null} is equal to {@code null}
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -69,33 +207,81 @@ public class Record {
         if (o == null || getClass() != o.getClass())
             return false;
         Record record = (Record) o;
-        Set<String> keys = getKeySet();
-        for (String key: keys) {
-            if (!record.contains(key)) {
-                return false;
+        if (size() != record.size()) {
+            return false;
+        }
+        if (data == null && record.data == null && schema == record.schema && schema.size() == size()) {
+            for (int i = 0; i < values.length; i++) {
+                if (!valueEquals(values[i], record.values[i])) {
+                    return false;
+                }
             }
-            Object val = record.getValue(key);
-            Object comparableVal = val instanceof java.sql.Date ? val.toString() : val;
-            if (!data.get(key).equals(comparableVal)) {
+            return true;
+        }
+        for (String key: getKeySet()) {
+            if (!record.contains(key) || !valueEquals(getValue(key), record.getValue(key))) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Sum of {@code name.hashCode() ^ value hash} over all fields, as in {@link Map#hashCode()}, so the order
+     * of fields does not matter. Consistent with {@link #equals(Object)}
+     */
     @Override
     public int hashCode() {
-        int hash = 31;
-        Set<String> keys = getKeySet();
-        Object val;
-        for (String key: keys) {
-            val = data.get(key);
-            val = val instanceof java.sql.Date ? val.toString() : val;
-            hash *= val.hashCode();
+        int hash = 0;
+        if (data != null) {
+            for (Map.Entry<String, Object> entry: data.entrySet()) {
+                hash += entry.getKey().hashCode() ^ valueHash(entry.getValue());
+            }
+        } else if (schema.size() == size()) {
+            for (int i = 0; i < values.length; i++) {
+                hash += schema.getFieldName(i).hashCode() ^ valueHash(values[i]);
+            }
+        } else {
+            for (String key: schema.getFieldNames()) {
+                hash += key.hashCode() ^ valueHash(getValue(key));
+            }
         }
         return hash;
     }
 
+    private static boolean valueEquals(Object first, Object second) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null) {
+            return false;
+        }
+        if (first instanceof byte[] && second instanceof byte[]) {
+            return Arrays.equals((byte[]) first, (byte[]) second);
+        }
+        return normalize(first).equals(normalize(second));
+    }
+
+    private static int valueHash(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof byte[]) {
+            return Arrays.hashCode((byte[]) value);
+        }
+        return normalize(value).hashCode();
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof java.sql.Date) {
+            return value.toString();
+        }
+        return value;
+    }
+
     public static void main(String[] args) {
         Record rec = new Record();
         rec.addField("q", 1);
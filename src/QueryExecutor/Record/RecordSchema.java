@@ -0,0 +1,92 @@
+package QueryExecutor.Record;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**<h1>RecordSchema class</h1>
+ * <h2>
+ * Immutable index of field names shared by all {@link Record} rows of one result.
+ * </h2>
+ * <h3>
+ * A record created with a schema keeps only a flat array of values, the name of every field is looked up
+ * in the shared index. If a name occurs several times, the last occurrence wins, as it would with
+ * {@link Record#addField(String, Object)}.
+ * </h3>
+ */
+public class RecordSchema {
+    private final String[] fieldNames;
+    private final Map<String, Integer> indexes;
+    private final Set<String> fieldNameSet;
+
+    public RecordSchema(List<String> fieldNames) {
+        this(fieldNames.toArray(new String[0]));
+    }
+
+    public RecordSchema(String... fieldNames) {
+        this.fieldNames = Arrays.copyOf(fieldNames, fieldNames.length);
+        this.indexes = new HashMap<>(fieldNames.length * 2);
+        for (int i = 0; i < fieldNames.length; i++) {
+            indexes.put(fieldNames[i], i);
+        }
+        if (indexes.size() == fieldNames.length) {
+            fieldNameSet = new FieldNameSet();
+        } else {
+            fieldNameSet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(fieldNames)));
+        }
+    }
+
+    /**
+     * @param fieldName name of the field
+     * @return position of the field in the value array or -1 if the schema has no such field
+     */
+    public int indexOf(String fieldName) {
+        Integer index = indexes.get(fieldName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index position of the field
+     * @return name of the field
+     */
+    public String getFieldName(int index) {
+        return fieldNames[index];
+    }
+
+    /**
+     * @return number of values of a record with this schema
+     */
+    public int size() {
+        return fieldNames.length;
+    }
+
+    /**
+     * @return unmodifiable set of field names in their positional order
+     */
+    public Set<String> getFieldNames() {
+        return fieldNameSet;
+    }
+
+    private class FieldNameSet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(fieldNames)).iterator();
+        }
+
+        @Override
+        public int size() {
+            return fieldNames.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexes.containsKey(o);
+        }
+    }
+}
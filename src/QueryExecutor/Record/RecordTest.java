@@ -0,0 +1,78 @@
+package QueryExecutor.Record;
+import QueryExecutor.Record.Exceptions.FieldNameDoesNotExistsException;
+import org.junit.jupiter.api.*;
+
+class RecordTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id", "name", "age");
+
+    @Test
+    @DisplayName("schema record test: should be equal to a map-based record with the same fields")
+    void shouldEqualMapBasedRecord() {
+        Record compact = new Record(SCHEMA, new Object[]{1, "Ivan", 4});
+        Record record = new Record();
+        record.addField("id", 1);
+        record.addField("name", "Ivan");
+        record.addField("age", 4);
+        Assertions.assertEquals(record, compact);
+        Assertions.assertEquals(compact, record);
+        Assertions.assertEquals(3, compact.size());
+        Assertions.assertEquals(SCHEMA.getFieldNames(), compact.getFieldNames());
+    }
+
+    @Test
+    @DisplayName("schema record test: should give values by name and by position")
+    void shouldGiveValuesByNameAndPosition() {
+        Record compact = new Record(SCHEMA, new Object[]{1, "Ivan", null});
+        Assertions.assertEquals("Ivan", compact.getValue("name"));
+        Assertions.assertEquals("Ivan", compact.getValue(1));
+        Assertions.assertTrue(compact.contains("age"));
+        Assertions.assertNull(compact.getValue("age"));
+        Assertions.assertThrows(FieldNameDoesNotExistsException.class, () -> compact.getValue("salary"));
+    }
+
+    @Test
+    @DisplayName("schema record test: should keep working after a field outside of the schema is added")
+    void shouldAddFieldOutsideOfSchema() {
+        Object[] values = {1, "Ivan", 4};
+        Record compact = new Record(SCHEMA, values);
+        Record other = new Record(SCHEMA, new Object[]{2, "Petr", 5});
+        compact.addField("age", 5);
+        compact.addField("salary", 100);
+        Assertions.assertEquals(5, compact.getValue("age"));
+        Assertions.assertEquals(100, compact.getMap().get("salary"));
+        Assertions.assertEquals(4, compact.size());
+        Assertions.assertEquals(3, other.getFieldNames().size());
+    }
+
+    @Test
+    @DisplayName("read-only record test: should reject changes and not follow the original record")
+    void shouldRejectChangesOfReadOnlyCopy() {
+        Record compact = new Record(SCHEMA, new Object[]{1, "Ivan", 4});
+        Record copy = compact.readOnlyCopy();
+        compact.addField("age", 5);
+        Assertions.assertTrue(copy.isReadOnly());
+        Assertions.assertEquals(4, copy.getValue("age"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> copy.addField("age", 6));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> copy.getMap().put("age", 6));
+        Assertions.assertEquals(compact.readOnlyCopy(), new Record(SCHEMA, new Object[]{1, "Ivan", 5}));
+    }
+
+    @Test
+    @DisplayName("equality test: should be symmetric, null-safe and consistent with hash code")
+    void shouldCompareValuesAsStored() {
+        Record compact = new Record(SCHEMA, new Object[]{1L, null, java.sql.Date.valueOf("2020-11-08")});
+        Record record = new Record();
+        record.addField("age", "2020-11-08");
+        record.addField("name", null);
+        record.addField("id", 1);
+        Assertions.assertEquals(compact, record);
+        Assertions.assertEquals(record, compact);
+        Assertions.assertEquals(compact.hashCode(), record.hashCode());
+        Record larger = new Record(new java.util.HashMap<>(record.getMap()));
+        larger.addField("salary", 100);
+        Assertions.assertNotEquals(record, larger);
+        Assertions.assertNotEquals(larger, record);
+        Assertions.assertNotEquals(compact, new Record(SCHEMA, new Object[]{1L, "Ivan", null}));
+    }
+}
@@ -0,0 +1,15 @@
+package QueryExecutor.Replication;
+
+/**
+ * How {@link ReadBalancer} chooses a replica for a read
+ */
+public enum BalancingStrategy {
+    /**
+     * Replica with the fewest leased connections relative to its weight, so a slow replica gets fewer reads
+     */
+    LEAST_OUTSTANDING,
+    /**
+     * Replicas in turn, each as often as its weight (smooth weighted round-robin)
+     */
+    WEIGHTED_ROUND_ROBIN
+}
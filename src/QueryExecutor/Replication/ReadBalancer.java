@@ -0,0 +1,165 @@
+package QueryExecutor.Replication;
+
+import QueryExecutor.ConnectionPool.ConnectionPool;
+import QueryExecutor.ConnectionPool.PoolStats;
+import QueryExecutor.ConnectionPool.PooledConnection;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**<h1>ReadBalancer class</h1>
+ * <h2>
+ * Leases connections to read replicas, every replica has its own {@link ConnectionPool}.
+ * </h2>
+ * <h3>
+ * The replica is chosen by {@link BalancingStrategy}. The number of outstanding reads of a replica is the number of
+ * connections leased from its pool. A replica whose connection can not be opened gets no reads for the retry time,
+ * a replica whose pool is exhausted is skipped for this read only, without waiting for a free connection. If no replica can give a connection
+ * {@link #borrow()} returns {@code null} and the caller reads from the primary.
+ * </h3>
+ */
+public class ReadBalancer implements AutoCloseable {
+    private final ConnectionPool[] pools;
+    private final int[] weights;
+    private final BalancingStrategy strategy;
+    private final long retryNanos;
+    private final int[] schedule;
+    private final AtomicLong turn = new AtomicLong();
+    private final AtomicLongArray downUntil;
+
+    /**
+     * @param pools connection pools of the replicas. They are closed by {@link #close()}
+     * @param weights weights of the replicas in the same order
+     * @param strategy how a replica is chosen
+     * @param retryMillis time a replica gets no reads after a connection to it could not be opened
+     */
+    public ReadBalancer(List<ConnectionPool> pools, int[] weights, BalancingStrategy strategy, long retryMillis) {
+        if (pools.isEmpty() || pools.size() != weights.length) {
+            throw new IllegalArgumentException("Every replica needs a pool and a weight");
+        }
+        this.pools = pools.toArray(new ConnectionPool[0]);
+        this.weights = weights.clone();
+        this.strategy = strategy;
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(retryMillis);
+        this.schedule = schedule(this.weights);
+        this.downUntil = new AtomicLongArray(this.pools.length);
+    }
+
+    /**
+     * @return connection to a replica or {@code null} if no replica is available
+     */
+    public PooledConnection borrow() {
+        boolean[] tried = new boolean[pools.length];
+        for (int attempt = 0; attempt < pools.length; attempt++) {
+            int index = strategy == BalancingStrategy.LEAST_OUTSTANDING ? leastOutstanding(tried) : nextInTurn(tried);
+            if (index < 0) {
+                return null;
+            }
+            tried[index] = true;
+            try {
+                PooledConnection connection = pools[index].tryBorrow();
+                if (connection != null) {
+                    return connection;
+                }
+                // the replica is busy, another one may be free
+            } catch (SQLException e) {
+                markDown(index);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number of replicas
+     */
+    public int size() {
+        return pools.length;
+    }
+
+    /**
+     * @return pool counters of the replicas in the configured order
+     */
+    public List<PoolStats> getStats() {
+        List<PoolStats> stats = new ArrayList<>(pools.length);
+        for (ConnectionPool pool: pools) {
+            stats.add(pool.getStats());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    @Override
+    public void close() {
+        for (ConnectionPool pool: pools) {
+            pool.close();
+        }
+    }
+
+    private int leastOutstanding(boolean[] tried) {
+        int start = (int) Math.floorMod(turn.getAndIncrement(), (long) pools.length);
+        int best = -1;
+        int bestActive = 0;
+        long now = System.nanoTime();
+        for (int i = 0; i < pools.length; i++) {
+            int index = (start + i) % pools.length;
+            if (tried[index] || isDown(index, now)) {
+                continue;
+            }
+            int active = pools[index].getActiveCount();
+            if (best < 0 || (long) active * weights[best] < (long) bestActive * weights[index]) {
+                best = index;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private int nextInTurn(boolean[] tried) {
+        long now = System.nanoTime();
+        for (int i = 0; i < schedule.length; i++) {
+            int index = schedule[(int) Math.floorMod(turn.getAndIncrement(), (long) schedule.length)];
+            if (!tried[index] && !isDown(index, now)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isDown(int index, long now) {
+        long until = downUntil.get(index);
+        return until != 0 && now - until < 0;
+    }
+
+    private void markDown(int index) {
+        downUntil.set(index, System.nanoTime() + retryNanos);
+    }
+
+    /**
+     * Smooth weighted round-robin: replicas with weights 5, 1, 1 are chosen as a a b a c a a,
+     * not as a a a a a b c
+     */
+    static int[] schedule(int[] weights) {
+        int total = 0;
+        for (int weight: weights) {
+            total += weight;
+        }
+        int[] schedule = new int[total];
+        int[] current = new int[weights.length];
+        for (int s = 0; s < total; s++) {
+            int best = 0;
+            for (int i = 0; i < weights.length; i++) {
+                current[i] += weights[i];
+                if (current[i] > current[best]) {
+                    best = i;
+                }
+            }
+            current[best] -= total;
+            schedule[s] = best;
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,139 @@
+package QueryExecutor.Replication;
+import QueryExecutor.ConnectionPool.ConnectionFactory;
+import QueryExecutor.ConnectionPool.ConnectionPool;
+import QueryExecutor.ConnectionPool.ConnectionPoolConfig;
+import QueryExecutor.ConnectionPool.PooledConnection;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ReadBalancerTest {
+
+    @Test
+    @DisplayName("round-robin test: should spread reads by weight and interleave them")
+    void shouldSpreadReadsByWeight() {
+        Assertions.assertArrayEquals(new int[]{0, 0, 1, 0, 2, 0, 0}, ReadBalancer.schedule(new int[]{5, 1, 1}));
+        List<ConnectionPool> pools = pools(3);
+        try (ReadBalancer balancer = new ReadBalancer(pools, new int[]{2, 1, 1}, BalancingStrategy.WEIGHTED_ROUND_ROBIN, 1000)) {
+            int[] reads = new int[3];
+            for (int i = 0; i < 400; i++) {
+                try (PooledConnection connection = balancer.borrow()) {
+                    reads[indexOf(pools, connection)]++;
+                }
+            }
+            Assertions.assertArrayEquals(new int[]{200, 100, 100}, reads);
+        }
+    }
+
+    @Test
+    @DisplayName("least-outstanding test: should choose the replica with the fewest leased connections")
+    void shouldChooseLeastLoadedReplica() {
+        List<ConnectionPool> pools = pools(2);
+        try (ReadBalancer balancer = new ReadBalancer(pools, new int[]{1, 1}, BalancingStrategy.LEAST_OUTSTANDING, 1000)) {
+            PooledConnection first = balancer.borrow();
+            PooledConnection second = balancer.borrow();
+            Assertions.assertNotEquals(indexOf(pools, first), indexOf(pools, second));
+            first.close();
+            for (int i = 0; i < 3; i++) {
+                try (PooledConnection connection = balancer.borrow()) {
+                    Assertions.assertEquals(indexOf(pools, first), indexOf(pools, connection));
+                }
+            }
+            second.close();
+        }
+    }
+
+    @Test
+    @DisplayName("failover test: should skip a replica that can not be connected and give null if none is left")
+    void shouldSkipUnavailableReplica() {
+        AtomicInteger attempts = new AtomicInteger();
+        ConnectionFactory failing = () -> {
+            attempts.incrementAndGet();
+            throw new SQLException("Connection refused");
+        };
+        ConnectionPool broken = new ConnectionPool(failing, getConfig());
+        List<ConnectionPool> pools = Arrays.asList(broken, pool("replica 1"));
+        try (ReadBalancer balancer = new ReadBalancer(pools, new int[]{1, 1}, BalancingStrategy.WEIGHTED_ROUND_ROBIN, 60_000)) {
+            for (int i = 0; i < 4; i++) {
+                try (PooledConnection connection = balancer.borrow()) {
+                    Assertions.assertEquals(1, indexOf(pools, connection));
+                }
+            }
+            Assertions.assertEquals(1, attempts.get());
+        }
+        try (ReadBalancer balancer = new ReadBalancer(Arrays.asList(new ConnectionPool(failing, getConfig())),
+                new int[]{1}, BalancingStrategy.LEAST_OUTSTANDING, 60_000)) {
+            Assertions.assertNull(balancer.borrow());
+        }
+    }
+
+    @Test
+    @DisplayName("failover test: should skip a busy replica at once instead of waiting for its borrow timeout")
+    void shouldSkipBusyReplicaWithoutWaiting() {
+        ConnectionPool busy = new ConnectionPool(() -> fakeConnection("replica 0"),
+                getConfig().setMaxPoolSize(1).setBorrowTimeoutMillis(10_000));
+        List<ConnectionPool> pools = Arrays.asList(busy, pool("replica 1"));
+        try (ReadBalancer balancer = new ReadBalancer(pools, new int[]{1, 1}, BalancingStrategy.WEIGHTED_ROUND_ROBIN, 60_000)) {
+            PooledConnection leased = balancer.borrow();
+            Assertions.assertEquals(0, indexOf(pools, leased));
+            long start = System.nanoTime();
+            for (int i = 0; i < 4; i++) {
+                try (PooledConnection connection = balancer.borrow()) {
+                    Assertions.assertEquals(1, indexOf(pools, connection));
+                }
+            }
+            Assertions.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+            leased.close();
+        }
+    }
+
+    private static int indexOf(List<ConnectionPool> pools, PooledConnection connection) {
+        for (int i = 0; i < pools.size(); i++) {
+            if (connection.getConnection().toString().equals("replica " + i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<ConnectionPool> pools(int count) {
+        List<ConnectionPool> pools = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pools.add(pool("replica " + i));
+        }
+        return pools;
+    }
+
+    private static ConnectionPool pool(String name) {
+        return new ConnectionPool(() -> fakeConnection(name), getConfig());
+    }
+
+    private static ConnectionPoolConfig getConfig() {
+        return new ConnectionPoolConfig()
+                .setMaxPoolSize(4)
+                .setBorrowTimeoutMillis(50)
+                .setEvictionIntervalMillis(0);
+    }
+
+    private static Connection fakeConnection(String name) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return name;
+                        case "isClosed":
+                            return false;
+                        case "isValid":
+                            return true;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,30 @@
+package QueryExecutor.Replication;
+
+/**
+ * JDBC URL of a read replica and its share of reads
+ */
+public class ReplicaEndpoint {
+    private final String url;
+    private final int weight;
+
+    public ReplicaEndpoint(String url, int weight) {
+        if (weight < 1 || weight > ReplicationConfig.MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weight must be between 1 and " + ReplicationConfig.MAX_WEIGHT + ": " + weight);
+        }
+        this.url = url;
+        this.weight = weight;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return url + " (weight " + weight + ")";
+    }
+}
@@ -0,0 +1,85 @@
+package QueryExecutor.Replication;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**<h1>ReplicationConfig class</h1>
+ * <h2>
+ * Read replicas of the primary database and how reads are spread over them. Every setter returns the config itself,
+ * so settings can be chained:
+ * {@code new ReplicationConfig().addReplica(url1).addReplica(url2, 2).setReadYourWritesMillis(1000)}
+ * </h2>
+ * <h3>
+ * Replicas use the credentials and the {@link QueryExecutor.ConnectionPool.ConnectionPoolConfig} of the primary,
+ * every replica gets its own connection pool.
+ * </h3>
+ */
+public class ReplicationConfig {
+    static final int MAX_WEIGHT = 1000;
+    private final List<ReplicaEndpoint> replicas = new ArrayList<>();
+    private BalancingStrategy balancingStrategy = BalancingStrategy.LEAST_OUTSTANDING;
+    private long readYourWritesMillis = 0;
+    private long replicaRetryMillis = 5_000;
+
+    /**
+     * @param url full JDBC URL of a replica, that gets a share of reads with weight 1
+     */
+    public ReplicationConfig addReplica(String url) {
+        return addReplica(url, 1);
+    }
+
+    /**
+     * @param url full JDBC URL of a replica
+     * @param weight share of reads of the replica relative to the other replicas, from 1 to 1000
+     */
+    public ReplicationConfig addReplica(String url, int weight) {
+        replicas.add(new ReplicaEndpoint(url, weight));
+        return this;
+    }
+
+    /**
+     * @param balancingStrategy how a replica is chosen for a read, {@link BalancingStrategy#LEAST_OUTSTANDING}
+     * by default
+     */
+    public ReplicationConfig setBalancingStrategy(BalancingStrategy balancingStrategy) {
+        this.balancingStrategy = balancingStrategy;
+        return this;
+    }
+
+    /**
+     * @param readYourWritesMillis time after a write to the primary during which all reads of the executor go to
+     * the primary, so they see the write even if replicas lag behind. 0 turns it off
+     */
+    public ReplicationConfig setReadYourWritesMillis(long readYourWritesMillis) {
+        if (readYourWritesMillis < 0) {
+            throw new IllegalArgumentException("Read-your-writes window must not be negative: " + readYourWritesMillis);
+        }
+        this.readYourWritesMillis = readYourWritesMillis;
+        return this;
+    }
+
+    /**
+     * @param replicaRetryMillis time a replica gets no reads after a connection to it could not be opened
+     */
+    public ReplicationConfig setReplicaRetryMillis(long replicaRetryMillis) {
+        this.replicaRetryMillis = replicaRetryMillis;
+        return this;
+    }
+
+    public List<ReplicaEndpoint> getReplicas() {
+        return Collections.unmodifiableList(replicas);
+    }
+
+    public BalancingStrategy getBalancingStrategy() {
+        return balancingStrategy;
+    }
+
+    public long getReadYourWritesMillis() {
+        return readYourWritesMillis;
+    }
+
+    public long getReplicaRetryMillis() {
+        return replicaRetryMillis;
+    }
+}
@@ -0,0 +1,52 @@
+package QueryExecutor.Schema;
+
+/**<h1>ColumnInfo class</h1>
+ * <h2>
+ * Description of one column of a database table
+ * </h2>
+ */
+public class ColumnInfo {
+    private final String name;
+    private final int ordinal;
+    private final int jdbcType;
+    private final boolean nullable;
+
+    /**
+     * @param name column name
+     * @param ordinal 1-based position of the column in the table
+     * @param jdbcType type of the column from {@link java.sql.Types}
+     * @param nullable true if the column accepts NULL
+     */
+    public ColumnInfo(String name, int ordinal, int jdbcType, boolean nullable) {
+        this.name = name;
+        this.ordinal = ordinal;
+        this.jdbcType = jdbcType;
+        this.nullable = nullable;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public int getJdbcType() {
+        return jdbcType;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnInfo{" +
+                "name='" + name + '\'' +
+                ", ordinal=" + ordinal +
+                ", jdbcType=" + jdbcType +
+                ", nullable=" + nullable +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package QueryExecutor.Schema;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**<h1>SchemaCache class</h1>
+ * <h2>
+ * Thread-safe cache of {@link TableSchema} by table name.
+ * </h2>
+ * <h3>
+ * A schema is loaded once from {@link DatabaseMetaData} and kept until it is invalidated. When the table is not
+ * visible through the metadata (views, case differences of table names) the schema is read from the metadata of an
+ * empty {@code SELECT * ... LIMIT 0} result, which makes the server report a missing table in the usual way.
+ * </h3>
+ */
+public class SchemaCache {
+    private final Map<String, TableSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * @param tableName name of the table
+     * @param connection connection used to load the schema if it is not cached yet
+     * @return cached or freshly loaded schema of the table
+     * @throws SQLException if the schema can not be loaded, for example the table does not exist
+     */
+    public TableSchema get(String tableName, Connection connection) throws SQLException {
+        TableSchema schema = schemas.get(tableName);
+        if (schema == null) {
+            schema = load(tableName, connection);
+            TableSchema concurrent = schemas.putIfAbsent(tableName, schema);
+            if (concurrent != null) {
+                schema = concurrent;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @return cached schema of the table or {@code null} if it is not loaded
+     */
+    public TableSchema getIfCached(String tableName) {
+        return schemas.get(tableName);
+    }
+
+    public void invalidate(String tableName) {
+        schemas.remove(tableName);
+    }
+
+    public void invalidateAll() {
+        schemas.clear();
+    }
+
+    private TableSchema load(String tableName, Connection connection) throws SQLException {
+        List<ColumnInfo> columns = new ArrayList<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, tableName, null)) {
+            while (rs.next()) {
+                // '_' in the table name is a pattern wildcard, so other tables may match too
+                if (!tableName.equals(rs.getString("TABLE_NAME"))) {
+                    continue;
+                }
+                columns.add(new ColumnInfo(rs.getString("COLUMN_NAME"), rs.getInt("ORDINAL_POSITION"),
+                        rs.getInt("DATA_TYPE"), rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls));
+            }
+        }
+        if (columns.isEmpty()) {
+            return loadFromEmptyResult(tableName, connection);
+        }
+        columns.sort((left, right) -> Integer.compare(left.getOrdinal(), right.getOrdinal()));
+        return new TableSchema(tableName, columns);
+    }
+
+    private TableSchema loadFromEmptyResult(String tableName, Connection connection) throws SQLException {
+        List<ColumnInfo> columns = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM " + tableName + " LIMIT 0")) {
+            ResultSetMetaData rsmd = rs.getMetaData();
+            int colCount = rsmd.getColumnCount();
+            for (int i = 1; i <= colCount; i++) {
+                columns.add(new ColumnInfo(rsmd.getColumnName(i), i, rsmd.getColumnType(i),
+                        rsmd.isNullable(i) != ResultSetMetaData.columnNoNulls));
+            }
+        }
+        return new TableSchema(tableName, columns);
+    }
+}
@@ -0,0 +1,68 @@
+package QueryExecutor.Schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**<h1>TableSchema class</h1>
+ * <h2>
+ * Immutable list of columns of a database table in their ordinal order
+ * </h2>
+ */
+public class TableSchema {
+    private final String tableName;
+    private final List<ColumnInfo> columns;
+    private final List<String> columnNames;
+    private final Map<String, ColumnInfo> columnsByName;
+
+    public TableSchema(String tableName, List<ColumnInfo> columns) {
+        this.tableName = tableName;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        List<String> names = new ArrayList<>(columns.size());
+        Map<String, ColumnInfo> byName = new HashMap<>();
+        for (ColumnInfo column: columns) {
+            names.add(column.getName());
+            byName.put(column.getName(), column);
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+        this.columnsByName = byName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<ColumnInfo> getColumns() {
+        return columns;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public boolean contains(String columnName) {
+        return columnsByName.containsKey(columnName);
+    }
+
+    /**
+     * @param columnName name of the column
+     * @return column description or {@code null} if the table has no such column
+     */
+    public ColumnInfo getColumn(String columnName) {
+        return columnsByName.get(columnName);
+    }
+
+    @Override
+    public String toString() {
+        return "TableSchema{" +
+                "tableName='" + tableName + '\'' +
+                ", columns=" + columns +
+                '}';
+    }
+}
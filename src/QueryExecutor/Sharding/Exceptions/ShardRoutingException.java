@@ -0,0 +1,23 @@
+package QueryExecutor.Sharding.Exceptions;
+
+public class ShardRoutingException extends RuntimeException {
+    public ShardRoutingException() {
+        super();
+    }
+
+    public ShardRoutingException(String message) {
+        super(message);
+    }
+
+    public ShardRoutingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ShardRoutingException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ShardRoutingException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,46 @@
+package QueryExecutor.Sharding;
+
+/**<h1>HashShardMap class</h1>
+ * <h2>
+ * Spreads keys evenly over a number of shards by their hash.
+ * </h2>
+ * <h3>
+ * The shard is chosen by jump consistent hashing (Lamping and Veach): when the number of shards grows from n to n + 1,
+ * only about 1 / (n + 1) of the keys move, all of them to the new shard. The hash of a key does not depend on
+ * the JVM, integral numbers of any type hash by value and other keys by the UTF-8 bytes of their string form.
+ * </h3>
+ */
+public class HashShardMap implements ShardMap {
+    private final int shardCount;
+
+    /**
+     * @param shardCount number of shards
+     */
+    public HashShardMap(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Number of shards must be positive: " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int shardOf(Object key) {
+        return jump(ShardKeys.hash(key), shardCount);
+    }
+
+    static int jump(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
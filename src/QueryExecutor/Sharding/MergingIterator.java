@@ -0,0 +1,71 @@
+package QueryExecutor.Sharding;
+
+import QueryExecutor.Record.Record;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of iterators that are each sorted by the same columns. Keeps one row per iterator in a heap, so a row
+ * is read from a shard only when the previous row of that shard is taken
+ */
+class MergingIterator implements Iterator<Record> {
+    private final PriorityQueue<Head> heads;
+
+    MergingIterator(List<Iterator<Record>> sources, List<String> orderBy) {
+        Comparator<Record> order = (left, right) -> {
+            for (String column: orderBy) {
+                int comparison = ShardKeys.compare(left.getValue(column), right.getValue(column));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return 0;
+        };
+        // rows with equal keys keep the order of the shards
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), (left, right) -> {
+            int comparison = order.compare(left.row, right.row);
+            return comparison != 0 ? comparison : Integer.compare(left.shard, right.shard);
+        });
+        for (int i = 0; i < sources.size(); i++) {
+            Iterator<Record> source = sources.get(i);
+            if (source.hasNext()) {
+                heads.add(new Head(i, source, source.next()));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Record next() {
+        Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        Record row = head.row;
+        if (head.source.hasNext()) {
+            head.row = head.source.next();
+            heads.add(head);
+        }
+        return row;
+    }
+
+    private static class Head {
+        private final int shard;
+        private final Iterator<Record> source;
+        private Record row;
+
+        private Head(int shard, Iterator<Record> source, Record row) {
+            this.shard = shard;
+            this.source = source;
+            this.row = row;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package QueryExecutor.Sharding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**<h1>RangeShardMap class</h1>
+ * <h2>
+ * Maps ranges of keys to shards: with split points {@code 1000, 2000} keys below 1000 go to shard 0,
+ * keys from 1000 to 1999 to shard 1 and keys from 2000 to shard 2.
+ * </h2>
+ * <h3>
+ * Keys are compared with the split points as numbers by value whatever their type, other keys as strings.
+ * Ranges keep neighbouring keys together, so they suit keys that are read in ranges, but a growing key sends all new
+ * rows to the last shard.
+ * </h3>
+ */
+public class RangeShardMap implements ShardMap {
+    private final Object[] splitPoints;
+
+    /**
+     * @param splitPoints first keys of shards 1, 2, …, in ascending order
+     */
+    public RangeShardMap(List<?> splitPoints) {
+        this.splitPoints = splitPoints.toArray();
+        for (int i = 0; i < this.splitPoints.length; i++) {
+            if (this.splitPoints[i] == null) {
+                throw new IllegalArgumentException("Split point must not be null");
+            }
+            if (i > 0 && ShardKeys.compare(this.splitPoints[i - 1], this.splitPoints[i]) >= 0) {
+                throw new IllegalArgumentException("Split points must be ascending: " + splitPoints);
+            }
+        }
+    }
+
+    public RangeShardMap(Object... splitPoints) {
+        this(Arrays.asList(splitPoints));
+    }
+
+    @Override
+    public int getShardCount() {
+        return splitPoints.length + 1;
+    }
+
+    @Override
+    public int shardOf(Object key) {
+        int low = 0;
+        int high = splitPoints.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ShardKeys.compare(key, splitPoints[middle]) >= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return first keys of shards 1, 2, …
+     */
+    public List<Object> getSplitPoints() {
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(splitPoints)));
+    }
+}
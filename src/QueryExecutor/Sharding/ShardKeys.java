@@ -0,0 +1,57 @@
+package QueryExecutor.Sharding;
+
+import QueryExecutor.Record.FieldValues;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hashing and ordering of shard key values. Numbers are equal and ordered by value whatever their type,
+ * so a key read back as {@code Long} maps to the same shard as the {@code Integer} it was written with
+ */
+final class ShardKeys {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ShardKeys() {
+    }
+
+    /**
+     * @return 64-bit hash of the key that does not depend on the JVM
+     */
+    static long hash(Object key) {
+        if (FieldValues.isIntegral(key)) {
+            return mix(((Number) key).longValue());
+        }
+        if (key instanceof BigInteger && ((BigInteger) key).bitLength() < 64) {
+            return mix(((BigInteger) key).longValue());
+        }
+        byte[] bytes = key instanceof byte[] ? (byte[]) key : key.toString().getBytes(StandardCharsets.UTF_8);
+        long hash = FNV_OFFSET;
+        for (byte b: bytes) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Orders values as an ascending ORDER BY does: {@code null} first, numbers by value, strings by their characters
+     */
+    static int compare(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        return FieldValues.compare(left, right);
+    }
+
+    /**
+     * Finalizer of SplitMix64, spreads sequential keys over all bits
+     */
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
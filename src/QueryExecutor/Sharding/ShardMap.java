@@ -0,0 +1,19 @@
+package QueryExecutor.Sharding;
+
+/**
+ * Maps values of a shard key to shards of {@link ShardedQueryExecutor}. Implementations must be thread-safe and give
+ * the same shard for equal keys in every process, otherwise rows are written to one shard and searched on another.
+ * See {@link HashShardMap} and {@link RangeShardMap}
+ */
+public interface ShardMap {
+    /**
+     * @return number of shards the keys are mapped to
+     */
+    int getShardCount();
+
+    /**
+     * @param key value of the shard key, not {@code null}
+     * @return index of the shard of the key, from 0 to {@link #getShardCount()} - 1
+     */
+    int shardOf(Object key);
+}
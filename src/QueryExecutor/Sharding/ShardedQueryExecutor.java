@@ -0,0 +1,433 @@
+package QueryExecutor.Sharding;
+
+import QueryExecutor.ConnectionPool.ConnectionPoolConfig;
+import QueryExecutor.MySQLQueryExecutor.AsyncQueryExecutorAdapter;
+import QueryExecutor.MySQLQueryExecutor.MySQLQueryExecutor;
+import QueryExecutor.MySQLQueryExecutor.QueryExecutor;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Sharding.Exceptions.ShardRoutingException;
+import QueryExecutor.WhereExpression.Predicate;
+import QueryExecutor.WhereExpression.WhereExpression;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**<h1>ShardedQueryExecutor class</h1>
+ * <h2>
+ * {@link QueryExecutor} over several databases (shards) that hold different rows of the same tables.
+ * </h2>
+ * <h3>
+ * Every table has a shard key column ({@link ShardingConfig}) and a {@link ShardMap} maps its values to shards.
+ * Inserts go to the shard of the key of every record, {@code insertAll} groups the records by shard and writes
+ * the groups in parallel.
+ * </h3>
+ * <h3>
+ * Selects, updates and deletes go only to the shards of the key values their {@link WhereExpression} pins
+ * ({@link WhereExpression#getPinnedValues(String)}), for example a {@link Predicate#eq(String, Object)} or
+ * {@link Predicate#in(String, java.util.Collection)} on the key joined by AND. Other conditions run on all shards in
+ * parallel and their results are concatenated in the order of the shards. Streaming selects sorted by columns
+ * ({@link #selectStream(String, List, WhereExpression, List)}) are merged row by row from the sorted streams of the
+ * shards, so the merged stream is sorted too and no shard result is loaded into memory.
+ * </h3>
+ * <h3>
+ * Operations on several shards are not atomic: if one shard fails, the changes on the other shards stay. The first
+ * failure is thrown with the failures of the other shards suppressed.
+ * </h3>
+ */
+public class ShardedQueryExecutor implements QueryExecutor, AutoCloseable {
+    private final List<QueryExecutor> shards;
+    private final ShardMap shardMap;
+    private final ShardingConfig config;
+    private final ExecutorService threads;
+    private final List<MySQLQueryExecutor> ownedShards;
+
+    /**
+     * @param shards executors of the shards, in the order of the shard indexes of {@code shardMap}. They are not
+     * closed by {@link #close()}
+     * @param shardMap maps shard key values to shards
+     * @param config shard keys of the tables
+     */
+    public ShardedQueryExecutor(List<? extends QueryExecutor> shards, ShardMap shardMap, ShardingConfig config) {
+        this(shards, shardMap, config, Collections.emptyList());
+    }
+
+    private ShardedQueryExecutor(List<? extends QueryExecutor> shards, ShardMap shardMap, ShardingConfig config,
+                                 List<MySQLQueryExecutor> ownedShards) {
+        if (shards.isEmpty() || shards.size() != shardMap.getShardCount()) {
+            throw new IllegalArgumentException("Shard map has " + shardMap.getShardCount() + " shards, but "
+                    + shards.size() + " executors are given");
+        }
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+        this.shardMap = shardMap;
+        this.config = config;
+        this.ownedShards = ownedShards;
+        this.threads = AsyncQueryExecutorAdapter.newDefaultThreads("QueryExecutor-shard-");
+    }
+
+    /**
+     * Creates and connects a {@link MySQLQueryExecutor} for every shard, for example for several local servers:
+     * {@code jdbc:mysql://localhost:3306/db}, {@code jdbc:mysql://localhost:3307/db}. They are closed by {@link #close()}
+     * @param urls full JDBC URLs of the shards, in the order of the shard indexes of {@code shardMap}
+     * @param user username of db user, the same for all shards
+     * @param password password of db user, the same for all shards
+     * @param poolConfig settings of the connection pool of every shard ({@link ConnectionPoolConfig})
+     * @param shardMap maps shard key values to shards
+     * @param config shard keys of the tables
+     * @return connected executor
+     * @throws SQLException if a shard can not be connected, the connected ones are closed
+     */
+    public static ShardedQueryExecutor connect(List<String> urls, String user, String password,
+                                               ConnectionPoolConfig poolConfig, ShardMap shardMap,
+                                               ShardingConfig config) throws SQLException {
+        List<MySQLQueryExecutor> executors = new ArrayList<>(urls.size());
+        try {
+            for (String url: urls) {
+                MySQLQueryExecutor executor = MySQLQueryExecutor.forUrl(url, user, password, poolConfig);
+                executor.openConnection();
+                executors.add(executor);
+            }
+            return new ShardedQueryExecutor(executors, shardMap, config, executors);
+        } catch (SQLException | RuntimeException e) {
+            for (MySQLQueryExecutor executor: executors) {
+                try {
+                    executor.closeConnection();
+                } catch (SQLException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * @param index index of the shard
+     * @return executor of the shard, for operations that are not routed
+     */
+    public QueryExecutor getShard(int index) {
+        return shards.get(index);
+    }
+
+    /**
+     * @param tableName string representation of the table name
+     * @param record record with the shard key of the table
+     * @return index of the shard the record belongs to
+     * @throws ShardRoutingException if the table has no shard key or the record has no value of it
+     */
+    public int shardOf(String tableName, Record record) {
+        String key = requireShardKey(tableName);
+        Object value = record.contains(key) ? record.getValue(key) : null;
+        if (value == null) {
+            throw new ShardRoutingException("Record has no value of shard key '" + key + "' of table " + tableName);
+        }
+        return shardMap.shardOf(value);
+    }
+
+    /**
+     * @throws ShardRoutingException if the table has no shard key or the record has no value of it
+     */
+    @Override
+    public int insert(String tableName, Record record) throws SQLException {
+        return shards.get(shardOf(tableName, record)).insert(tableName, record);
+    }
+
+    /**
+     * Records are grouped by shard, the groups are inserted in parallel. Records are checked before any of them is
+     * sent
+     * @return inserted rows of every chunk, the chunks of the shards in the order of the shards
+     * @throws ShardRoutingException if the table has no shard key or a record has no value of it
+     */
+    @Override
+    public List<Integer> insertAll(String tableName, List<Record> records) throws SQLException {
+        List<List<Record>> groups = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (Record record: records) {
+            groups.get(shardOf(tableName, record)).add(record);
+        }
+        BitSet targets = new BitSet(shards.size());
+        for (int i = 0; i < groups.size(); i++) {
+            if (!groups.get(i).isEmpty()) {
+                targets.set(i);
+            }
+        }
+        List<Integer> chunkCounts = new ArrayList<>();
+        for (List<Integer> counts: fanOut(targets, (shard, index) -> shard.insertAll(tableName, groups.get(index)))) {
+            chunkCounts.addAll(counts);
+        }
+        return chunkCounts;
+    }
+
+    /**
+     * @return number of changed rows on all shards
+     * @throws ShardRoutingException if the record changes the shard key so that the rows would belong to another shard
+     */
+    @Override
+    public int update(String tableName, Record record, WhereExpression whereExpression) throws SQLException {
+        BitSet targets = targets(tableName, whereExpression);
+        String key = config.getShardKey(tableName);
+        if (key != null && record.contains(key)) {
+            Object value = record.getValue(key);
+            if (value == null || targets.cardinality() != 1 || targets.nextSetBit(0) != shardMap.shardOf(value)) {
+                throw new ShardRoutingException("Shard key '" + key + "' of table " + tableName
+                        + " can only be updated within one shard");
+            }
+        }
+        return sum(fanOut(targets, (shard, index) -> shard.update(tableName, record, whereExpression)));
+    }
+
+    @Override
+    public List<Record> select(String tableName) throws SQLException {
+        return select(tableName, null, null);
+    }
+
+    @Override
+    public List<Record> select(String tableName, WhereExpression expression) throws SQLException {
+        return select(tableName, null, expression);
+    }
+
+    @Override
+    public List<Record> select(String tableName, List<String> fields) throws SQLException {
+        return select(tableName, fields, null);
+    }
+
+    /**
+     * @return rows of the shards the expression pins, or of all shards in the order of the shards
+     */
+    @Override
+    public List<Record> select(String tableName, List<String> fields, WhereExpression expression) throws SQLException {
+        BitSet targets = targets(tableName, expression);
+        if (targets.cardinality() == 1) {
+            return shards.get(targets.nextSetBit(0)).select(tableName, fields, expression);
+        }
+        List<Record> records = new ArrayList<>();
+        for (List<Record> shardRecords: fanOut(targets, (shard, index) -> shard.select(tableName, fields, expression))) {
+            records.addAll(shardRecords);
+        }
+        return records;
+    }
+
+    /**
+     * Streams of the shards are opened at once and read one after another in the order of the shards
+     */
+    @Override
+    public Stream<Record> selectStream(String tableName, List<String> fields, WhereExpression expression) throws SQLException {
+        BitSet targets = targets(tableName, expression);
+        if (targets.cardinality() == 1) {
+            return shards.get(targets.nextSetBit(0)).selectStream(tableName, fields, expression);
+        }
+        List<Stream<Record>> streams = fanOut(targets, (shard, index) -> shard.selectStream(tableName, fields, expression));
+        return streams.stream().flatMap(stream -> stream).onClose(() -> closeAll(streams));
+    }
+
+    /**
+     * Sorted streams of the shards are merged row by row, so the result is sorted by the columns as well.
+     * Values are compared as numbers by value or as strings by their characters, so string columns should have
+     * a binary collation for the order of the shards to match the merge
+     * @param orderBy columns the rows are sorted by in ascending order, they must be among the selected fields.
+     * {@code null} or empty leaves rows unsorted
+     */
+    @Override
+    public Stream<Record> selectStream(String tableName, List<String> fields, WhereExpression expression,
+                                       List<String> orderBy) throws SQLException {
+        if (orderBy == null || orderBy.isEmpty()) {
+            return selectStream(tableName, fields, expression);
+        }
+        if (fields != null && !fields.containsAll(orderBy)) {
+            throw new IllegalArgumentException("Selected fields must contain the order columns: " + orderBy);
+        }
+        BitSet targets = targets(tableName, expression);
+        if (targets.cardinality() == 1) {
+            return shards.get(targets.nextSetBit(0)).selectStream(tableName, fields, expression, orderBy);
+        }
+        List<Stream<Record>> streams = fanOut(targets,
+                (shard, index) -> shard.selectStream(tableName, fields, expression, orderBy));
+        List<Iterator<Record>> sources = new ArrayList<>(streams.size());
+        for (Stream<Record> stream: streams) {
+            sources.add(stream.iterator());
+        }
+        Iterator<Record> merged = new MergingIterator(sources, orderBy);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> closeAll(streams));
+    }
+
+    @Override
+    public int delete(String tableName) throws SQLException {
+        return delete(tableName, null);
+    }
+
+    /**
+     * @return number of deleted rows on all shards
+     */
+    @Override
+    public int delete(String tableName, WhereExpression expression) throws SQLException {
+        BitSet targets = targets(tableName, expression);
+        if (expression == null) {
+            return sum(fanOut(targets, (shard, index) -> shard.delete(tableName)));
+        }
+        return sum(fanOut(targets, (shard, index) -> shard.delete(tableName, expression)));
+    }
+
+    @Override
+    public void truncate(String tableName) throws SQLException {
+        fanOut(targets(tableName, null), (shard, index) -> {
+            shard.truncate(tableName);
+            return null;
+        });
+    }
+
+    /**
+     * Stops the threads of parallel operations and closes the shards created by
+     * {@link #connect(List, String, String, ConnectionPoolConfig, ShardMap, ShardingConfig)}
+     * @throws SQLException if a shard can not be closed, the other shards are closed anyway
+     */
+    @Override
+    public void close() throws SQLException {
+        threads.shutdown();
+        SQLException failure = null;
+        for (MySQLQueryExecutor executor: ownedShards) {
+            try {
+                executor.closeConnection();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return shards of the key values pinned by the expression, or all shards
+     */
+    private BitSet targets(String tableName, WhereExpression expression) {
+        BitSet targets = new BitSet(shards.size());
+        String key = config.getShardKey(tableName);
+        List<Object> pinned = key == null || expression == null ? null : expression.getPinnedValues(key);
+        if (pinned == null) {
+            targets.set(0, shards.size());
+        } else {
+            for (Object value: pinned) {
+                targets.set(shardMap.shardOf(value));
+            }
+        }
+        return targets;
+    }
+
+    private String requireShardKey(String tableName) {
+        String key = config.getShardKey(tableName);
+        if (key == null) {
+            throw new ShardRoutingException("Table " + tableName + " has no shard key");
+        }
+        return key;
+    }
+
+    /**
+     * Runs the call on every target shard, the first one on the calling thread and the others on the shard threads
+     * @return results in the order of the shards
+     */
+    private <T> List<T> fanOut(BitSet targets, ShardCall<T> call) throws SQLException {
+        int first = targets.nextSetBit(0);
+        if (first < 0) {
+            return Collections.emptyList();
+        }
+        List<Future<T>> futures = new ArrayList<>();
+        for (int index = targets.nextSetBit(first + 1); index >= 0; index = targets.nextSetBit(index + 1)) {
+            int shard = index;
+            futures.add(threads.submit(() -> call.run(shards.get(shard), shard)));
+        }
+        List<T> results = new ArrayList<>(futures.size() + 1);
+        Exception failure = null;
+        try {
+            results.add(call.run(shards.get(first), first));
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+        }
+        for (Future<T> future: futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = addFailure(failure, new SQLException("Interrupted while waiting for a shard", e));
+            } catch (ExecutionException e) {
+                failure = addFailure(failure, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+            }
+        }
+        if (failure == null) {
+            return results;
+        }
+        for (T result: results) {
+            if (result instanceof Stream) {
+                ((Stream<?>) result).close();
+            }
+        }
+        if (failure instanceof SQLException) {
+            throw (SQLException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        throw new SQLException("Shard operation failed", failure);
+    }
+
+    private static Exception addFailure(Exception failure, Exception next) {
+        if (failure == null) {
+            return next;
+        }
+        failure.addSuppressed(next);
+        return failure;
+    }
+
+    private static void closeAll(List<Stream<Record>> streams) {
+        RuntimeException failure = null;
+        for (Stream<Record> stream: streams) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static int sum(List<Integer> counts) {
+        int sum = 0;
+        for (int count: counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Operation on one shard
+     */
+    @FunctionalInterface
+    private interface ShardCall<T> {
+        T run(QueryExecutor shard, int index) throws SQLException;
+    }
+}
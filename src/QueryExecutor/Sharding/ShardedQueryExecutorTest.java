@@ -0,0 +1,202 @@
+package QueryExecutor.Sharding;
+import QueryExecutor.MySQLQueryExecutor.QueryExecutor;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import QueryExecutor.Sharding.Exceptions.ShardRoutingException;
+import QueryExecutor.WhereExpression.Predicate;
+import QueryExecutor.WhereExpression.WhereExpression;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class ShardedQueryExecutorTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id", "name");
+
+    /**
+     * Shard that keeps inserted rows in a list and records the names of the called methods
+     */
+    private static class FakeShard {
+        private final List<Record> rows = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger closedStreams = new AtomicInteger();
+
+        @SuppressWarnings("unchecked")
+        private QueryExecutor executor() {
+            return (QueryExecutor) Proxy.newProxyInstance(QueryExecutor.class.getClassLoader(),
+                    new Class<?>[]{QueryExecutor.class}, (proxy, method, args) -> {
+                        calls.add(method.getName());
+                        switch (method.getName()) {
+                            case "insert":
+                                rows.add((Record) args[1]);
+                                return 1;
+                            case "insertAll":
+                                rows.addAll((List<Record>) args[1]);
+                                return Collections.singletonList(((List<Record>) args[1]).size());
+                            case "select":
+                                return new ArrayList<>(rows);
+                            case "selectStream": {
+                                List<Record> result = new ArrayList<>(rows);
+                                if (args.length == 4) {
+                                    result.sort(Comparator.comparing(record -> (Integer) record.getValue("id")));
+                                }
+                                return result.stream().onClose(closedStreams::incrementAndGet);
+                            }
+                            case "update":
+                            case "delete":
+                                return rows.size();
+                            default:
+                                return null;
+                        }
+                    });
+        }
+    }
+
+    private static Record user(int id) {
+        return new Record(SCHEMA, new Object[]{id, "user " + id});
+    }
+
+    private static List<FakeShard> fakeShards(int count) {
+        List<FakeShard> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shards.add(new FakeShard());
+        }
+        return shards;
+    }
+
+    private static ShardedQueryExecutor sharded(List<FakeShard> shards, ShardMap shardMap) {
+        return new ShardedQueryExecutor(shards.stream().map(FakeShard::executor).collect(Collectors.toList()),
+                shardMap, new ShardingConfig().setShardKey("users", "id"));
+    }
+
+    @Test
+    @DisplayName("shard map test: should keep keys on their shard and move few keys when a shard is added")
+    void shouldMapKeysToShards() {
+        HashShardMap four = new HashShardMap(4);
+        HashShardMap five = new HashShardMap(5);
+        int[] counts = new int[4];
+        int moved = 0;
+        for (int id = 0; id < 10_000; id++) {
+            int shard = four.shardOf(id);
+            Assertions.assertEquals(shard, four.shardOf((long) id));
+            Assertions.assertEquals(shard, four.shardOf(id));
+            counts[shard]++;
+            int next = five.shardOf(id);
+            if (next != shard) {
+                Assertions.assertEquals(4, next);
+                moved++;
+            }
+        }
+        for (int count: counts) {
+            Assertions.assertTrue(count > 2_000 && count < 3_000);
+        }
+        Assertions.assertTrue(moved > 1_500 && moved < 2_500);
+        Assertions.assertEquals(four.shardOf("Ivan"), four.shardOf("Ivan"));
+        RangeShardMap ranges = new RangeShardMap(100, 200);
+        Assertions.assertEquals(3, ranges.getShardCount());
+        Assertions.assertEquals(0, ranges.shardOf(-5));
+        Assertions.assertEquals(1, ranges.shardOf(100L));
+        Assertions.assertEquals(1, ranges.shardOf(199));
+        Assertions.assertEquals(2, ranges.shardOf(200));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RangeShardMap(200, 100));
+    }
+
+    @Test
+    @DisplayName("sharded executor test: should route pinned keys to their shards and fan out the rest")
+    void shouldRouteByShardKey() throws Exception {
+        List<FakeShard> shards = fakeShards(3);
+        RangeShardMap ranges = new RangeShardMap(10, 20);
+        try (ShardedQueryExecutor executor = sharded(shards, ranges)) {
+            Assertions.assertEquals(1, executor.insert("users", user(15)));
+            Assertions.assertEquals(Arrays.asList(2, 1, 1),
+                    executor.insertAll("users", Arrays.asList(user(1), user(25), user(5), user(12))));
+            Assertions.assertEquals(2, shards.get(0).rows.size());
+            Assertions.assertEquals(2, shards.get(1).rows.size());
+            Assertions.assertEquals(1, shards.get(2).rows.size());
+            Assertions.assertThrows(ShardRoutingException.class, () -> executor.insert("orders", user(1)));
+            Record anonymous = new Record();
+            anonymous.addField("name", "nobody");
+            Assertions.assertThrows(ShardRoutingException.class, () -> executor.insert("users", anonymous));
+
+            for (FakeShard shard: shards) {
+                shard.calls.clear();
+            }
+            executor.select("users", new WhereExpression(Predicate.eq("id", 25)));
+            Assertions.assertEquals(Collections.emptyList(), shards.get(0).calls);
+            Assertions.assertEquals(Collections.emptyList(), shards.get(1).calls);
+            Assertions.assertEquals(Collections.singletonList("select"), shards.get(2).calls);
+
+            WhereExpression twoShards = new WhereExpression(Predicate.in("id", 1, 12));
+            twoShards.addCondition("name IS NOT NULL");
+            Assertions.assertEquals(4, executor.select("users", twoShards).size());
+            Assertions.assertEquals(Collections.singletonList("select"), shards.get(2).calls);
+
+            List<Record> all = executor.select("users", new WhereExpression(Predicate.gt("id", 0)));
+            Assertions.assertEquals(5, all.size());
+            Assertions.assertEquals(Arrays.asList(1, 5, 15, 12, 25),
+                    all.stream().map(record -> record.getValue("id")).collect(Collectors.toList()));
+            Assertions.assertEquals(5, executor.delete("users"));
+        }
+    }
+
+    @Test
+    @DisplayName("sharded executor test: should reject an update that moves rows to another shard")
+    void shouldRejectShardKeyUpdateAcrossShards() throws Exception {
+        List<FakeShard> shards = fakeShards(2);
+        try (ShardedQueryExecutor executor = sharded(shards, new RangeShardMap(10))) {
+            executor.insertAll("users", Arrays.asList(user(1), user(2), user(11)));
+            Record rename = new Record();
+            rename.addField("name", "renamed");
+            Assertions.assertEquals(3, executor.update("users", rename, new WhereExpression(Predicate.lt("id", 100))));
+            Record sameShard = new Record();
+            sameShard.addField("id", 3);
+            Assertions.assertEquals(2, executor.update("users", sameShard, new WhereExpression(Predicate.eq("id", 1))));
+            Record otherShard = new Record();
+            otherShard.addField("id", 12);
+            Assertions.assertThrows(ShardRoutingException.class,
+                    () -> executor.update("users", otherShard, new WhereExpression(Predicate.eq("id", 1))));
+            Assertions.assertThrows(ShardRoutingException.class,
+                    () -> executor.update("users", sameShard, new WhereExpression(Predicate.lt("id", 5))));
+        }
+    }
+
+    @Test
+    @DisplayName("sharded executor test: should merge sorted streams of the shards into one sorted stream")
+    void shouldMergeSortedStreams() throws Exception {
+        List<FakeShard> shards = fakeShards(4);
+        try (ShardedQueryExecutor executor = sharded(shards, new HashShardMap(4))) {
+            List<Record> users = new ArrayList<>();
+            for (int id = 200; id > 0; id -= 3) {
+                users.add(user(id));
+            }
+            executor.insertAll("users", users);
+            List<Object> ids;
+            try (Stream<Record> stream = executor.selectStream("users", null, null, Collections.singletonList("id"))) {
+                ids = stream.map(record -> record.getValue("id")).collect(Collectors.toList());
+            }
+            Assertions.assertEquals(users.size(), ids.size());
+            for (int i = 1; i < ids.size(); i++) {
+                Assertions.assertTrue((Integer) ids.get(i - 1) < (Integer) ids.get(i));
+            }
+            for (FakeShard shard: shards) {
+                Assertions.assertEquals(1, shard.closedStreams.get());
+            }
+            Assertions.assertThrows(IllegalArgumentException.class, () -> executor.selectStream("users",
+                    Collections.singletonList("name"), null, Collections.singletonList("id")));
+            try (Stream<Record> stream = executor.selectStream("users", Collections.singletonList("name"), null, null)) {
+                Assertions.assertEquals(users.size(), stream.count());
+            }
+            try (Stream<Record> stream = executor.selectStream("users", null, null, null)) {
+                Assertions.assertEquals(users.size(), stream.count());
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package QueryExecutor.Sharding;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**<h1>ShardingConfig class</h1>
+ * <h2>
+ * Shard keys of the tables of {@link ShardedQueryExecutor}. Every setter returns the config itself, so settings can be
+ * chained: {@code new ShardingConfig().setShardKey("orders", "customer_id").setShardKey("customers", "id")}
+ * </h2>
+ * <h3>
+ * Rows of a table are placed by the value of its shard key column. Records written to a table without a shard key
+ * can not be routed, selects, updates and deletes on such tables go to all shards.
+ * </h3>
+ */
+public class ShardingConfig {
+    private final Map<String, String> shardKeys = new HashMap<>();
+
+    /**
+     * @param tableName name of the table
+     * @param column column whose value chooses the shard of a row
+     */
+    public ShardingConfig setShardKey(String tableName, String column) {
+        shardKeys.put(tableName, column);
+        return this;
+    }
+
+    /**
+     * @param tableName name of the table
+     * @return shard key column of the table or {@code null} if it has none
+     */
+    public String getShardKey(String tableName) {
+        return shardKeys.get(tableName);
+    }
+}
@@ -0,0 +1,20 @@
+package QueryExecutor.Tracing;
+
+import QueryExecutor.Record.Record;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Runs {@code EXPLAIN} for a slow statement captured by {@link QueryTracer}. Called on the tracer thread
+ */
+@FunctionalInterface
+public interface ExplainRunner {
+    /**
+     * @param sql SQL text of the statement with {@code ?} placeholders
+     * @param parameters values of the placeholders
+     * @return rows of the plan
+     * @throws SQLException
+     */
+    List<Record> explain(String sql, List<Object> parameters) throws SQLException;
+}
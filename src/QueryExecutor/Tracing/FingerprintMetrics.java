@@ -0,0 +1,45 @@
+package QueryExecutor.Tracing;
+
+import QueryExecutor.Metrics.Operation;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters of one statement fingerprint
+ */
+class FingerprintMetrics {
+    private final String fingerprint;
+    private final String tableName;
+    private final Operation operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    FingerprintMetrics(String fingerprint, String tableName, Operation operation) {
+        this.fingerprint = fingerprint;
+        this.tableName = tableName;
+        this.operation = operation;
+    }
+
+    void record(long nanos, long rows, boolean failed) {
+        calls.increment();
+        if (failed) {
+            failures.increment();
+        }
+        this.rows.add(rows);
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    FingerprintStats snapshot() {
+        return new FingerprintStats(fingerprint, tableName, operation, calls.sum(), failures.sum(), rows.sum(),
+                totalNanos.sum(), maxNanos.get());
+    }
+}
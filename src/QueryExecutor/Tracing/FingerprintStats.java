@@ -0,0 +1,91 @@
+package QueryExecutor.Tracing;
+
+import QueryExecutor.Metrics.Operation;
+
+/**<h1>FingerprintStats class</h1>
+ * <h2>
+ * Immutable snapshot of the aggregates of one statement fingerprint ({@link SqlFingerprint})
+ * </h2>
+ */
+public class FingerprintStats {
+    private final String fingerprint;
+    private final String tableName;
+    private final Operation operation;
+    private final long calls;
+    private final long failures;
+    private final long rows;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    FingerprintStats(String fingerprint, String tableName, Operation operation, long calls, long failures, long rows,
+                     long totalNanos, long maxNanos) {
+        this.fingerprint = fingerprint;
+        this.tableName = tableName;
+        this.operation = operation;
+        this.calls = calls;
+        this.failures = failures;
+        this.rows = rows;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return table of the first traced statement with this fingerprint
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return number of finished statements, failed ones included
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return rows read by selects or rows written by other operations
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getAverageNanos() {
+        return calls == 0 ? 0 : totalNanos / calls;
+    }
+
+    @Override
+    public String toString() {
+        return "FingerprintStats{" +
+                "fingerprint='" + fingerprint + '\'' +
+                ", tableName='" + tableName + '\'' +
+                ", operation=" + operation +
+                ", calls=" + calls +
+                ", failures=" + failures +
+                ", rows=" + rows +
+                ", totalNanos=" + totalNanos +
+                ", averageNanos=" + getAverageNanos() +
+                ", maxNanos=" + maxNanos +
+                '}';
+    }
+}
@@ -0,0 +1,251 @@
+package QueryExecutor.Tracing;
+
+import QueryExecutor.Metrics.Operation;
+import QueryExecutor.Record.Record;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**<h1>QueryTracer class</h1>
+ * <h2>
+ * Aggregates executed statements by their fingerprint ({@link SqlFingerprint}) and captures slow statements with
+ * their {@code EXPLAIN} output, so expensive statement shapes can be found without the slow log of the server.
+ * </h2>
+ * <h3>
+ * Every fingerprint keeps lock-free counts of calls, failures, rows, total and maximum time. The number of
+ * fingerprints is bounded by {@link QueryTracerConfig#setMaxFingerprints(int)}: a new fingerprint over the limit
+ * replaces the one with the smallest total time, so the report keeps the statements that cost the most.
+ * </h3>
+ * <h3>
+ * A statement that takes at least {@link QueryTracerConfig#setSlowQueryMillis(long)} is captured with its SQL text.
+ * {@code EXPLAIN} with the same values runs later on the tracer thread, never on the thread of the statement, and
+ * at most {@value #MAX_PENDING_EXPLAINS} plans wait at a time; slow statements over that are captured without a plan.
+ * The report is available from {@link #getReport()} and, if configured, given to a {@link TraceReportListener}
+ * periodically. The tracer must be closed to stop its thread.
+ * </h3>
+ */
+public class QueryTracer implements AutoCloseable {
+    static final int MAX_PENDING_EXPLAINS = 4;
+
+    private final QueryTracerConfig config;
+    private final ExplainRunner explainRunner;
+    private final long slowNanos;
+    private final Map<String, FingerprintMetrics> fingerprints = new ConcurrentHashMap<>();
+    private final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final LongAdder evicted = new LongAdder();
+    private final AtomicInteger pendingExplains = new AtomicInteger();
+    private final ScheduledExecutorService worker;
+    private volatile long sinceMillis = System.currentTimeMillis();
+    private volatile boolean closed;
+
+    /**
+     * Starts the tracer thread
+     * @param config settings of the tracer ({@link QueryTracerConfig})
+     * @param explainRunner runs {@code EXPLAIN} for slow statements, {@code null} captures them without a plan
+     */
+    public QueryTracer(QueryTracerConfig config, ExplainRunner explainRunner) {
+        this.config = config;
+        this.explainRunner = config.isExplainSlowQueries() ? explainRunner : null;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowQueryMillis());
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "QueryExecutor-tracer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getDumpIntervalMillis();
+        if (interval > 0 && config.getDumpListener() != null) {
+            worker.scheduleAtFixedRate(this::dump, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records one finished statement
+     * @param tableName table of the statement
+     * @param operation kind of the statement
+     * @param sql SQL text of the statement
+     * @param parameters values bound to the statement, {@code null} if they are not known
+     * @param nanos duration of the statement
+     * @param rows rows read or written
+     * @param failure exception thrown by the statement or {@code null} if it succeeded
+     */
+    public void record(String tableName, Operation operation, String sql, List<Object> parameters, long nanos,
+                       long rows, Throwable failure) {
+        if (closed) {
+            return;
+        }
+        String fingerprint = SqlFingerprint.of(sql);
+        FingerprintMetrics metrics = fingerprints.get(fingerprint);
+        if (metrics == null) {
+            metrics = register(fingerprint, tableName, operation);
+        }
+        metrics.record(nanos, rows, failure != null);
+        if (slowNanos > 0 && nanos >= slowNanos) {
+            capture(new SlowQuery(sql, fingerprint, tableName, operation, nanos, rows, failure != null,
+                    System.currentTimeMillis(), null, null), parameters);
+        }
+    }
+
+    /**
+     * @return report with all aggregated fingerprints
+     */
+    public TraceReport getReport() {
+        return getReport(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param limit maximum number of fingerprints in the report
+     * @return report with the fingerprints of the largest total time
+     */
+    public TraceReport getReport(int limit) {
+        List<FingerprintStats> stats = new ArrayList<>(fingerprints.size());
+        for (FingerprintMetrics metrics: fingerprints.values()) {
+            stats.add(metrics.snapshot());
+        }
+        stats.sort(Comparator.comparingLong(FingerprintStats::getTotalNanos).reversed());
+        if (stats.size() > limit) {
+            stats = new ArrayList<>(stats.subList(0, limit));
+        }
+        List<SlowQuery> slow;
+        synchronized (slowQueries) {
+            slow = new ArrayList<>(slowQueries);
+        }
+        return new TraceReport(sinceMillis, System.currentTimeMillis(), Collections.unmodifiableList(stats),
+                Collections.unmodifiableList(slow), evicted.sum());
+    }
+
+    /**
+     * Drops all aggregates and slow statements and starts a new period
+     */
+    public void reset() {
+        fingerprints.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+        evicted.reset();
+        sinceMillis = System.currentTimeMillis();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops the tracer thread. Plans that are not taken yet are dropped, later statements are not recorded
+     */
+    @Override
+    public void close() {
+        closed = true;
+        worker.shutdownNow();
+    }
+
+    private FingerprintMetrics register(String fingerprint, String tableName, Operation operation) {
+        synchronized (fingerprints) {
+            FingerprintMetrics metrics = fingerprints.get(fingerprint);
+            if (metrics != null) {
+                return metrics;
+            }
+            if (fingerprints.size() >= config.getMaxFingerprints()) {
+                evictSmallest();
+            }
+            metrics = new FingerprintMetrics(fingerprint, tableName, operation);
+            fingerprints.put(fingerprint, metrics);
+            return metrics;
+        }
+    }
+
+    private void evictSmallest() {
+        String smallest = null;
+        long smallestNanos = Long.MAX_VALUE;
+        for (Map.Entry<String, FingerprintMetrics> entry: fingerprints.entrySet()) {
+            long total = entry.getValue().getTotalNanos();
+            if (total < smallestNanos) {
+                smallest = entry.getKey();
+                smallestNanos = total;
+            }
+        }
+        if (smallest != null) {
+            fingerprints.remove(smallest);
+            evicted.increment();
+        }
+    }
+
+    private void capture(SlowQuery query, List<Object> parameters) {
+        if (explainRunner == null || parameters == null || !isExplainable(query.getSql())) {
+            add(query, explainRunner == null ? "EXPLAIN is disabled" : "Statement can not be explained");
+            return;
+        }
+        if (pendingExplains.incrementAndGet() > MAX_PENDING_EXPLAINS) {
+            pendingExplains.decrementAndGet();
+            add(query, "Too many plans are pending");
+            return;
+        }
+        List<Object> values = new ArrayList<>(parameters);
+        try {
+            worker.execute(() -> {
+                try {
+                    List<Record> plan = explainRunner.explain(query.getSql(), values);
+                    add(withPlan(query, Collections.unmodifiableList(plan), null));
+                } catch (SQLException | RuntimeException e) {
+                    add(query, e.toString());
+                } finally {
+                    pendingExplains.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingExplains.decrementAndGet();
+        }
+    }
+
+    private void add(SlowQuery query, String explainError) {
+        add(withPlan(query, null, explainError));
+    }
+
+    private void add(SlowQuery query) {
+        synchronized (slowQueries) {
+            if (slowQueries.size() >= config.getMaxSlowQueries()) {
+                slowQueries.pollFirst();
+            }
+            slowQueries.addLast(query);
+        }
+    }
+
+    private void dump() {
+        try {
+            TraceReport report = getReport();
+            if (config.isResetOnDump()) {
+                reset();
+            }
+            config.getDumpListener().onReport(report);
+        } catch (RuntimeException e) {
+            // a broken listener must not stop the next dumps
+        }
+    }
+
+    private static SlowQuery withPlan(SlowQuery query, List<Record> plan, String explainError) {
+        return new SlowQuery(query.getSql(), query.getFingerprint(), query.getTableName(), query.getOperation(),
+                query.getNanos(), query.getRows(), query.isFailed(), query.getTimeMillis(), plan, explainError);
+    }
+
+    /**
+     * MySQL explains only these statements
+     */
+    static boolean isExplainable(String sql) {
+        String start = sql.trim();
+        start = start.substring(0, Math.min(start.length(), 7)).toUpperCase(Locale.ROOT);
+        return start.startsWith("SELECT") || start.startsWith("INSERT") || start.startsWith("UPDATE")
+                || start.startsWith("DELETE") || start.startsWith("REPLACE");
+    }
+}
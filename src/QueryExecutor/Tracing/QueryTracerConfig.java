@@ -0,0 +1,114 @@
+package QueryExecutor.Tracing;
+
+/**<h1>QueryTracerConfig class</h1>
+ * <h2>
+ * Settings of {@link QueryTracer}. Every setter returns the config itself, so settings can be chained:
+ * {@code new QueryTracerConfig().setSlowQueryMillis(200).setDumpIntervalMillis(60_000).setDumpListener(log::info)}
+ * </h2>
+ */
+public class QueryTracerConfig {
+    private int maxFingerprints = 1000;
+    private long slowQueryMillis = 1000;
+    private int maxSlowQueries = 100;
+    private boolean explainSlowQueries = true;
+    private long dumpIntervalMillis = 0;
+    private TraceReportListener dumpListener;
+    private boolean resetOnDump = false;
+
+    /**
+     * @param maxFingerprints maximum number of aggregated fingerprints. When a new fingerprint comes and the limit
+     * is reached, the fingerprint with the smallest total time is dropped
+     */
+    public QueryTracerConfig setMaxFingerprints(int maxFingerprints) {
+        if (maxFingerprints < 1) {
+            throw new IllegalArgumentException("Number of fingerprints must be positive: " + maxFingerprints);
+        }
+        this.maxFingerprints = maxFingerprints;
+        return this;
+    }
+
+    /**
+     * @param slowQueryMillis statements that take at least this time are captured, 0 captures none
+     */
+    public QueryTracerConfig setSlowQueryMillis(long slowQueryMillis) {
+        if (slowQueryMillis < 0) {
+            throw new IllegalArgumentException("Slow query time must not be negative: " + slowQueryMillis);
+        }
+        this.slowQueryMillis = slowQueryMillis;
+        return this;
+    }
+
+    /**
+     * @param maxSlowQueries number of the latest slow statements that are kept
+     */
+    public QueryTracerConfig setMaxSlowQueries(int maxSlowQueries) {
+        if (maxSlowQueries < 1) {
+            throw new IllegalArgumentException("Number of slow queries must be positive: " + maxSlowQueries);
+        }
+        this.maxSlowQueries = maxSlowQueries;
+        return this;
+    }
+
+    /**
+     * @param explainSlowQueries true runs {@code EXPLAIN} for captured slow statements on the tracer thread
+     */
+    public QueryTracerConfig setExplainSlowQueries(boolean explainSlowQueries) {
+        this.explainSlowQueries = explainSlowQueries;
+        return this;
+    }
+
+    /**
+     * @param dumpIntervalMillis how often the report is given to the dump listener, 0 never
+     */
+    public QueryTracerConfig setDumpIntervalMillis(long dumpIntervalMillis) {
+        if (dumpIntervalMillis < 0) {
+            throw new IllegalArgumentException("Dump interval must not be negative: " + dumpIntervalMillis);
+        }
+        this.dumpIntervalMillis = dumpIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @param dumpListener receives the periodic reports, {@code null} dumps nothing
+     */
+    public QueryTracerConfig setDumpListener(TraceReportListener dumpListener) {
+        this.dumpListener = dumpListener;
+        return this;
+    }
+
+    /**
+     * @param resetOnDump true starts a new period after every dump, so every report covers one interval
+     */
+    public QueryTracerConfig setResetOnDump(boolean resetOnDump) {
+        this.resetOnDump = resetOnDump;
+        return this;
+    }
+
+    public int getMaxFingerprints() {
+        return maxFingerprints;
+    }
+
+    public long getSlowQueryMillis() {
+        return slowQueryMillis;
+    }
+
+    public int getMaxSlowQueries() {
+        return maxSlowQueries;
+    }
+
+    public boolean isExplainSlowQueries() {
+        return explainSlowQueries;
+    }
+
+    public long getDumpIntervalMillis() {
+        return dumpIntervalMillis;
+    }
+
+    public TraceReportListener getDumpListener() {
+        return dumpListener;
+    }
+
+    public boolean isResetOnDump() {
+        return resetOnDump;
+    }
+}
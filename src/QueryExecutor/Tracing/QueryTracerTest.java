@@ -0,0 +1,88 @@
+package QueryExecutor.Tracing;
+import QueryExecutor.Metrics.Operation;
+import QueryExecutor.Record.Record;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class QueryTracerTest {
+
+    @Test
+    @DisplayName("fingerprint test: should strip literals, comments and lengths of value lists")
+    void shouldStripLiteralsAndValueLists() {
+        Assertions.assertEquals("SELECT * FROM test_table WHERE name = ? AND id > ?",
+                SqlFingerprint.of("SELECT *  FROM test_table\n WHERE name = 'O''Brien \\' x' AND id > 42"));
+        Assertions.assertEquals("SELECT * FROM t1 WHERE id IN (?+) AND price < ? LIMIT ?",
+                SqlFingerprint.of("SELECT * FROM t1 /* hint */ WHERE id IN (1, 2, 3) AND price < -1.5e3 LIMIT 10"));
+        Assertions.assertEquals(SqlFingerprint.of("INSERT INTO t (a, b) VALUES (?, ?)"),
+                SqlFingerprint.of("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)"));
+        Assertions.assertEquals("SELECT `col 1` FROM t WHERE h = ? AND x = ?",
+                SqlFingerprint.of("SELECT `col 1` FROM t WHERE h = 0xFF AND x = X'0A' -- trailing\n"));
+    }
+
+    @Test
+    @DisplayName("aggregation test: should keep the fingerprints of the largest total time")
+    void shouldKeepFingerprintsOfLargestTotalTime() {
+        try (QueryTracer tracer = new QueryTracer(new QueryTracerConfig().setMaxFingerprints(2).setSlowQueryMillis(0), null)) {
+            tracer.record("t", Operation.SELECT, "SELECT * FROM t WHERE id = 1", null, 5_000, 1, null);
+            tracer.record("t", Operation.SELECT, "SELECT * FROM t WHERE id = 2", null, 7_000, 1, null);
+            tracer.record("t", Operation.DELETE, "DELETE FROM t WHERE id = 3", null, 1_000, 0, new SQLException("locked"));
+            tracer.record("t", Operation.UPDATE, "UPDATE t SET a = 1", null, 100, 3, null);
+            TraceReport report = tracer.getReport();
+            Assertions.assertEquals(2, report.getFingerprints().size());
+            Assertions.assertEquals(1, report.getEvictedFingerprints());
+            FingerprintStats top = report.getFingerprints().get(0);
+            Assertions.assertEquals("SELECT * FROM t WHERE id = ?", top.getFingerprint());
+            Assertions.assertEquals(2, top.getCalls());
+            Assertions.assertEquals(12_000, top.getTotalNanos());
+            Assertions.assertEquals(7_000, top.getMaxNanos());
+            Assertions.assertEquals(2, top.getRows());
+            Assertions.assertEquals(Operation.UPDATE, report.getFingerprints().get(1).getOperation());
+            Assertions.assertEquals(1, tracer.getReport(1).getFingerprints().size());
+            Assertions.assertTrue(report.getSlowQueries().isEmpty());
+            tracer.reset();
+            Assertions.assertTrue(tracer.getReport().getFingerprints().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("slow query test: should capture slow statements with their plan and dump reports")
+    void shouldCaptureSlowStatementsWithPlan() throws InterruptedException {
+        Record planRow = new Record();
+        planRow.addField("type", "ALL");
+        CountDownLatch dumped = new CountDownLatch(1);
+        QueryTracerConfig config = new QueryTracerConfig().setSlowQueryMillis(1).setMaxSlowQueries(2)
+                .setDumpIntervalMillis(10).setDumpListener(report -> dumped.countDown());
+        try (QueryTracer tracer = new QueryTracer(config, (sql, parameters) -> {
+            Assertions.assertEquals(Collections.singletonList(7), parameters);
+            return Collections.singletonList(planRow);
+        })) {
+            tracer.record("t", Operation.SELECT, "SELECT * FROM t WHERE id = ?", Collections.singletonList(7),
+                    TimeUnit.MILLISECONDS.toNanos(5), 1, null);
+            tracer.record("t", Operation.TRUNCATE, "TRUNCATE TABLE t", null, TimeUnit.MILLISECONDS.toNanos(3), 0, null);
+            tracer.record("t", Operation.SELECT, "SELECT * FROM t", Collections.emptyList(), 10, 1, null);
+            Assertions.assertTrue(dumped.await(5, TimeUnit.SECONDS));
+            List<SlowQuery> slow = tracer.getReport().getSlowQueries();
+            for (int i = 0; i < 500 && slow.size() < 2; i++) {
+                Thread.sleep(10);
+                slow = tracer.getReport().getSlowQueries();
+            }
+            Assertions.assertEquals(2, slow.size());
+            for (SlowQuery query: slow) {
+                if (query.getOperation() == Operation.TRUNCATE) {
+                    Assertions.assertNull(query.getPlan());
+                    Assertions.assertNotNull(query.getExplainError());
+                } else {
+                    Assertions.assertEquals(Arrays.asList(planRow), query.getPlan());
+                    Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(5), query.getNanos());
+                }
+            }
+            Assertions.assertTrue(tracer.getReport().toString().contains("SELECT * FROM t WHERE id = ?"));
+        }
+    }
+}
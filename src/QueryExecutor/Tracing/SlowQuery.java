@@ -0,0 +1,105 @@
+package QueryExecutor.Tracing;
+
+import QueryExecutor.Metrics.Operation;
+import QueryExecutor.Record.Record;
+
+import java.util.List;
+
+/**<h1>SlowQuery class</h1>
+ * <h2>
+ * Immutable capture of one statement that took longer than {@link QueryTracerConfig#setSlowQueryMillis(long)},
+ * with the {@code EXPLAIN} output of the statement if it could be taken
+ * </h2>
+ */
+public class SlowQuery {
+    private final String sql;
+    private final String fingerprint;
+    private final String tableName;
+    private final Operation operation;
+    private final long nanos;
+    private final long rows;
+    private final boolean failed;
+    private final long timeMillis;
+    private final List<Record> plan;
+    private final String explainError;
+
+    SlowQuery(String sql, String fingerprint, String tableName, Operation operation, long nanos, long rows,
+              boolean failed, long timeMillis, List<Record> plan, String explainError) {
+        this.sql = sql;
+        this.fingerprint = fingerprint;
+        this.tableName = tableName;
+        this.operation = operation;
+        this.nanos = nanos;
+        this.rows = rows;
+        this.failed = failed;
+        this.timeMillis = timeMillis;
+        this.plan = plan;
+        this.explainError = explainError;
+    }
+
+    /**
+     * @return SQL text of the statement as it was sent, with {@code ?} for bound values
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * @return time the statement finished, in milliseconds since the epoch
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * @return rows of {@code EXPLAIN} of the statement with the same values, {@code null} if it was not taken
+     */
+    public List<Record> getPlan() {
+        return plan;
+    }
+
+    /**
+     * @return why {@code EXPLAIN} was not taken or failed, {@code null} if the plan is present
+     */
+    public String getExplainError() {
+        return explainError;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowQuery{" +
+                "sql='" + sql + '\'' +
+                ", tableName='" + tableName + '\'' +
+                ", operation=" + operation +
+                ", nanos=" + nanos +
+                ", rows=" + rows +
+                ", failed=" + failed +
+                ", timeMillis=" + timeMillis +
+                (plan != null ? ", plan=" + plan : ", explainError='" + explainError + '\'') +
+                '}';
+    }
+}
@@ -0,0 +1,165 @@
+package QueryExecutor.Tracing;
+
+import java.util.regex.Pattern;
+
+/**<h1>SqlFingerprint class</h1>
+ * <h2>
+ * Normalizes SQL text into the shape of the statement, so statements that differ only in their values are
+ * aggregated together.
+ * </h2>
+ * <h3>
+ * String, numeric and hexadecimal literals become {@code ?}, comments are removed and whitespace is collapsed to
+ * single spaces. Lists of placeholders such as {@code IN (?, ?, ?)} become {@code (?+)} and multi-row
+ * {@code VALUES (?, ?), (?, ?)} become {@code VALUES (?+)}, so the number of values does not create new shapes.
+ * Quoted identifiers are kept as they are.
+ * </h3>
+ */
+public final class SqlFingerprint {
+    private static final Pattern VALUE_LIST = Pattern.compile("\\( ?\\?(?: ?, ?\\?)* ?\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\+\\)(?: ?, ?\\(\\?\\+\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * @param sql SQL text of a statement
+     * @return fingerprint of the statement
+     */
+    public static String of(String sql) {
+        int length = sql.length();
+        StringBuilder out = new StringBuilder(length);
+        boolean space = false;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                space = true;
+                continue;
+            }
+            if (c == '#' || (c == '-' && i + 2 < length && sql.charAt(i + 1) == '-'
+                    && Character.isWhitespace(sql.charAt(i + 2)))) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+                space = true;
+                continue;
+            }
+            if (space && out.length() > 0) {
+                out.append(' ');
+            }
+            space = false;
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i, c);
+                out.append('?');
+            } else if (c == '`') {
+                int end = skipQuoted(sql, i, c);
+                out.append(sql, i, end);
+                i = end;
+            } else if (isDigit(c) || (c == '.' && i + 1 < length && isDigit(sql.charAt(i + 1)))) {
+                i = skipNumber(sql, i);
+                dropSign(out);
+                out.append('?');
+            } else if (isIdentifierPart(c)) {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                if (end == i + 1 && end < length && sql.charAt(end) == '\'' && "xXbBnN".indexOf(c) >= 0) {
+                    i = skipQuoted(sql, end, '\'');
+                    out.append('?');
+                } else {
+                    out.append(sql, i, end);
+                    i = end;
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        String fingerprint = VALUE_LIST.matcher(out).replaceAll("(?+)");
+        return ROW_LIST.matcher(fingerprint).replaceAll("(?+)");
+    }
+
+    /**
+     * @return index after the closing quote, quotes are escaped by doubling them or, except in identifiers,
+     * by a backslash
+     */
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    private static int skipNumber(String sql, int start) {
+        int i = start;
+        if (sql.startsWith("0x", i) || sql.startsWith("0X", i) || sql.startsWith("0b", i) || sql.startsWith("0B", i)) {
+            i += 2;
+            while (i < sql.length() && Character.isLetterOrDigit(sql.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (isDigit(c) || c == '.') {
+                i++;
+            } else if ((c == 'e' || c == 'E') && i + 1 < sql.length()) {
+                char next = sql.charAt(i + 1);
+                if (isDigit(next)) {
+                    i += 2;
+                } else if ((next == '+' || next == '-') && i + 2 < sql.length() && isDigit(sql.charAt(i + 2))) {
+                    i += 3;
+                } else {
+                    return i;
+                }
+            } else {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Removes the minus of a negative number, a minus after an operand is subtraction and stays
+     */
+    private static void dropSign(StringBuilder out) {
+        int last = out.length() - 1;
+        if (last < 0 || out.charAt(last) != '-') {
+            return;
+        }
+        int before = last - 1;
+        if (before >= 0 && out.charAt(before) == ' ') {
+            before--;
+        }
+        if (before < 0 || "=<>!(,+-*/".indexOf(out.charAt(before)) >= 0) {
+            out.setLength(last);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
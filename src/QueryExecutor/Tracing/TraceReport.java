@@ -0,0 +1,96 @@
+package QueryExecutor.Tracing;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**<h1>TraceReport class</h1>
+ * <h2>
+ * Immutable report of {@link QueryTracer}: statement fingerprints ordered by total time, the largest first,
+ * and the captured slow statements, the oldest first.
+ * </h2>
+ * <h3>
+ * {@link #toString()} formats the report as a text table for logs.
+ * </h3>
+ */
+public class TraceReport {
+    private final long sinceMillis;
+    private final long untilMillis;
+    private final List<FingerprintStats> fingerprints;
+    private final List<SlowQuery> slowQueries;
+    private final long evictedFingerprints;
+
+    TraceReport(long sinceMillis, long untilMillis, List<FingerprintStats> fingerprints, List<SlowQuery> slowQueries,
+                long evictedFingerprints) {
+        this.sinceMillis = sinceMillis;
+        this.untilMillis = untilMillis;
+        this.fingerprints = fingerprints;
+        this.slowQueries = slowQueries;
+        this.evictedFingerprints = evictedFingerprints;
+    }
+
+    /**
+     * @return start of the traced period, in milliseconds since the epoch
+     */
+    public long getSinceMillis() {
+        return sinceMillis;
+    }
+
+    /**
+     * @return time the report was taken, in milliseconds since the epoch
+     */
+    public long getUntilMillis() {
+        return untilMillis;
+    }
+
+    /**
+     * @return unmodifiable list of fingerprints ordered by total time, the largest first
+     */
+    public List<FingerprintStats> getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * @return unmodifiable list of captured slow statements, the oldest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueries;
+    }
+
+    /**
+     * @return number of fingerprints dropped from the report to keep it within
+     * {@link QueryTracerConfig#setMaxFingerprints(int)}
+     */
+    public long getEvictedFingerprints() {
+        return evictedFingerprints;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("Query trace for ").append(untilMillis - sinceMillis).append(" ms, ")
+                .append(fingerprints.size()).append(" fingerprints, ")
+                .append(evictedFingerprints).append(" evicted\n");
+        text.append(String.format("%12s %10s %8s %10s %10s %12s  %s%n",
+                "total ms", "calls", "failures", "avg ms", "max ms", "rows", "fingerprint"));
+        for (FingerprintStats stats: fingerprints) {
+            text.append(String.format("%12.3f %10d %8d %10.3f %10.3f %12d  %s%n",
+                    millis(stats.getTotalNanos()), stats.getCalls(), stats.getFailures(),
+                    millis(stats.getAverageNanos()), millis(stats.getMaxNanos()), stats.getRows(),
+                    stats.getFingerprint()));
+        }
+        for (SlowQuery query: slowQueries) {
+            text.append(String.format("slow %.3f ms, %d rows%s: %s%n", millis(query.getNanos()), query.getRows(),
+                    query.isFailed() ? ", failed" : "", query.getSql()));
+            if (query.getPlan() != null) {
+                query.getPlan().forEach(row -> text.append("    ").append(row).append('\n'));
+            } else {
+                text.append("    no plan: ").append(query.getExplainError()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,9 @@
+package QueryExecutor.Tracing;
+
+/**
+ * Receives the periodic dumps of {@link QueryTracer}, for example to write them to a log. Called on the tracer thread
+ */
+@FunctionalInterface
+public interface TraceReportListener {
+    void onReport(TraceReport report);
+}
@@ -0,0 +1,448 @@
+package QueryExecutor.WhereExpression;
+
+import QueryExecutor.Record.FieldValues;
+import QueryExecutor.Record.Record;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**<h1>Predicate class</h1>
+ * <h2>
+ * Typed condition on record fields that can be rendered to parameterized SQL and evaluated in memory.
+ * </h2>
+ * <h3>
+ * Conditions are built with the static methods and combined with {@link #and(Predicate...)}, {@link #or(Predicate...)}
+ * and {@link #not(Predicate)}: {@code Predicate.and(Predicate.eq("name", "Ivan"), Predicate.lt("age", 30))}.
+ * Values are never written into the SQL text, they become {@code ?} parameters, so conditions that differ only in
+ * values have the same SQL text and share one prepared statement. The values of {@link #in(String, Collection)} are
+ * padded to a power of two by repeating the last one, so lists of similar length share a statement too.
+ * </h3>
+ * <h3>
+ * {@link #test(Record)} evaluates the condition with the three-valued logic of SQL: a comparison with {@code NULL}
+ * is unknown and a record matches only if the whole condition is true. Numbers are compared by value whatever their
+ * type, a string is compared with a non-numeric value by the string form of that value (e.g. dates), string
+ * comparison and {@code LIKE} are case-sensitive, unlike the default collations of MySQL.
+ * </h3>
+ */
+public abstract class Predicate implements java.util.function.Predicate<Record> {
+
+    Predicate() {
+    }
+
+    public static Predicate eq(String column, Object value) {
+        return new Comparison(column, Operator.EQ, value);
+    }
+
+    public static Predicate ne(String column, Object value) {
+        return new Comparison(column, Operator.NE, value);
+    }
+
+    public static Predicate lt(String column, Object value) {
+        return new Comparison(column, Operator.LT, value);
+    }
+
+    public static Predicate le(String column, Object value) {
+        return new Comparison(column, Operator.LE, value);
+    }
+
+    public static Predicate gt(String column, Object value) {
+        return new Comparison(column, Operator.GT, value);
+    }
+
+    public static Predicate ge(String column, Object value) {
+        return new Comparison(column, Operator.GE, value);
+    }
+
+    /**
+     * @return condition {@code column BETWEEN low AND high}, both bounds included
+     */
+    public static Predicate between(String column, Object low, Object high) {
+        return new Between(column, requireValue(low), requireValue(high));
+    }
+
+    /**
+     * @param values not empty collection of values
+     */
+    public static Predicate in(String column, Collection<?> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("IN list of column '" + column + "' is empty");
+        }
+        for (Object value: values) {
+            requireValue(value);
+        }
+        return new In(column, new ArrayList<>(values));
+    }
+
+    public static Predicate in(String column, Object... values) {
+        return in(column, Arrays.asList(values));
+    }
+
+    public static Predicate isNull(String column) {
+        return new IsNull(column);
+    }
+
+    public static Predicate isNotNull(String column) {
+        return not(new IsNull(column));
+    }
+
+    /**
+     * @param pattern pattern where {@code %} matches any sequence, {@code _} any single character
+     * and backslash escapes the next character
+     */
+    public static Predicate like(String column, String pattern) {
+        return new Like(column, requireValue(pattern).toString());
+    }
+
+    public static Predicate and(Predicate... predicates) {
+        return new Junction("AND", predicates);
+    }
+
+    public static Predicate or(Predicate... predicates) {
+        return new Junction("OR", predicates);
+    }
+
+    public static Predicate not(Predicate predicate) {
+        return new Not(Objects.requireNonNull(predicate));
+    }
+
+    /**
+     * @return SQL text of the condition with {@code ?} in place of every value
+     */
+    public String toSql() {
+        StringBuilder sql = new StringBuilder();
+        render(sql, new ArrayList<>());
+        return sql.toString();
+    }
+
+    /**
+     * @return values of the {@code ?} parameters of {@link #toSql()} in their order
+     */
+    public List<Object> getParameters() {
+        List<Object> parameters = new ArrayList<>();
+        render(new StringBuilder(), parameters);
+        return parameters;
+    }
+
+    /**
+     * @param record record with all fields the condition refers to
+     * @return true if the condition is true for the record, false if it is false or unknown
+     * @throws QueryExecutor.Record.Exceptions.FieldNameDoesNotExistsException if the record has no such field
+     */
+    @Override
+    public boolean test(Record record) {
+        return Boolean.TRUE.equals(evaluate(record));
+    }
+
+    /**
+     * @param column name of the column
+     * @return values one of which the column must be equal to for the condition to be true, or {@code null} if
+     * the condition does not pin the column to a finite list of values
+     */
+    public List<Object> getPinnedValues(String column) {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return toSql() + " " + getParameters();
+    }
+
+    /**
+     * Appends SQL text of the condition and its parameters
+     */
+    abstract void render(StringBuilder sql, List<Object> parameters);
+
+    /**
+     * @return true, false or {@code null} if the result is unknown
+     */
+    abstract Boolean evaluate(Record record);
+
+    private static Object requireValue(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("NULL can not be compared, use isNull()");
+        }
+        return value;
+    }
+
+    private enum Operator {
+        EQ("="), NE("<>"), LT("<"), LE("<="), GT(">"), GE(">=");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        private boolean matches(int comparison) {
+            switch (this) {
+                case EQ:
+                    return comparison == 0;
+                case NE:
+                    return comparison != 0;
+                case LT:
+                    return comparison < 0;
+                case LE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+
+    private static class Comparison extends Predicate {
+        private final String column;
+        private final Operator operator;
+        private final Object value;
+
+        private Comparison(String column, Operator operator, Object value) {
+            this.column = column;
+            this.operator = operator;
+            this.value = requireValue(value);
+        }
+
+        @Override
+        void render(StringBuilder sql, List<Object> parameters) {
+            sql.append(column).append(' ').append(operator.sql).append(" ?");
+            parameters.add(value);
+        }
+
+        @Override
+        Boolean evaluate(Record record) {
+            Object actual = record.getValue(column);
+            return actual == null ? null : operator.matches(FieldValues.compare(actual, value));
+        }
+
+        @Override
+        public List<Object> getPinnedValues(String column) {
+            return operator == Operator.EQ && this.column.equals(column) ? Collections.singletonList(value) : null;
+        }
+    }
+
+    private static class Between extends Predicate {
+        private final String column;
+        private final Object low;
+        private final Object high;
+
+        private Between(String column, Object low, Object high) {
+            this.column = column;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        void render(StringBuilder sql, List<Object> parameters) {
+            sql.append(column).append(" BETWEEN ? AND ?");
+            parameters.add(low);
+            parameters.add(high);
+        }
+
+        @Override
+        Boolean evaluate(Record record) {
+            Object actual = record.getValue(column);
+            return actual == null ? null
+                    : FieldValues.compare(actual, low) >= 0 && FieldValues.compare(actual, high) <= 0;
+        }
+    }
+
+    private static class In extends Predicate {
+        private final String column;
+        private final List<Object> values;
+
+        private In(String column, List<Object> values) {
+            this.column = column;
+            this.values = values;
+        }
+
+        @Override
+        void render(StringBuilder sql, List<Object> parameters) {
+            int size = Integer.highestOneBit(values.size());
+            if (size < values.size()) {
+                size <<= 1;
+            }
+            sql.append(column).append(" IN (");
+            for (int i = 0; i < size; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                parameters.add(values.get(Math.min(i, values.size() - 1)));
+            }
+            sql.append(')');
+        }
+
+        @Override
+        Boolean evaluate(Record record) {
+            Object actual = record.getValue(column);
+            if (actual == null) {
+                return null;
+            }
+            for (Object value: values) {
+                if (FieldValues.compare(actual, value) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public List<Object> getPinnedValues(String column) {
+            return this.column.equals(column) ? Collections.unmodifiableList(values) : null;
+        }
+    }
+
+    private static class IsNull extends Predicate {
+        private final String column;
+
+        private IsNull(String column) {
+            this.column = column;
+        }
+
+        @Override
+        void render(StringBuilder sql, List<Object> parameters) {
+            sql.append(column).append(" IS NULL");
+        }
+
+        @Override
+        Boolean evaluate(Record record) {
+            return record.getValue(column) == null;
+        }
+    }
+
+    private static class Like extends Predicate {
+        private final String column;
+        private final String pattern;
+        private final Pattern regex;
+
+        private Like(String column, String pattern) {
+            this.column = column;
+            this.pattern = pattern;
+            this.regex = toRegex(pattern);
+        }
+
+        @Override
+        void render(StringBuilder sql, List<Object> parameters) {
+            sql.append(column).append(" LIKE ?");
+            parameters.add(pattern);
+        }
+
+        @Override
+        Boolean evaluate(Record record) {
+            Object actual = record.getValue(column);
+            return actual == null ? null : regex.matcher(actual.toString()).matches();
+        }
+
+        private static Pattern toRegex(String pattern) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '\\' && i + 1 < pattern.length()) {
+                    literal.append(pattern.charAt(++i));
+                } else if (c == '%' || c == '_') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '%' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            return Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+    }
+
+    private static class Junction extends Predicate {
+        private final String operator;
+        private final List<Predicate> predicates;
+
+        private Junction(String operator, Predicate[] predicates) {
+            if (predicates.length == 0) {
+                throw new IllegalArgumentException(operator + " needs at least one condition");
+            }
+            this.operator = operator;
+            this.predicates = Collections.unmodifiableList(Arrays.asList(predicates.clone()));
+        }
+
+        @Override
+        void render(StringBuilder sql, List<Object> parameters) {
+            sql.append('(');
+            for (int i = 0; i < predicates.size(); i++) {
+                if (i > 0) {
+                    sql.append(' ').append(operator).append(' ');
+                }
+                predicates.get(i).render(sql, parameters);
+            }
+            sql.append(')');
+        }
+
+        @Override
+        Boolean evaluate(Record record) {
+            boolean and = operator.equals("AND");
+            boolean unknown = false;
+            for (Predicate predicate: predicates) {
+                Boolean result = predicate.evaluate(record);
+                if (result == null) {
+                    unknown = true;
+                } else if (result != and) {
+                    return result;
+                }
+            }
+            return unknown ? null : and;
+        }
+
+        /**
+         * AND is pinned by its most selective pinned condition, OR only if every condition is pinned
+         */
+        @Override
+        public List<Object> getPinnedValues(String column) {
+            boolean and = operator.equals("AND");
+            List<Object> pinned = null;
+            for (Predicate predicate: predicates) {
+                List<Object> values = predicate.getPinnedValues(column);
+                if (values == null) {
+                    if (!and) {
+                        return null;
+                    }
+                } else if (pinned == null) {
+                    pinned = and ? values : new ArrayList<>(values);
+                } else if (and) {
+                    if (values.size() < pinned.size()) {
+                        pinned = values;
+                    }
+                } else {
+                    pinned.addAll(values);
+                }
+            }
+            return pinned == null ? null : Collections.unmodifiableList(pinned);
+        }
+    }
+
+    private static class Not extends Predicate {
+        private final Predicate predicate;
+
+        private Not(Predicate predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void render(StringBuilder sql, List<Object> parameters) {
+            sql.append("NOT (");
+            predicate.render(sql, parameters);
+            sql.append(')');
+        }
+
+        @Override
+        Boolean evaluate(Record record) {
+            Boolean result = predicate.evaluate(record);
+            return result == null ? null : !result;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package QueryExecutor.WhereExpression;
+import QueryExecutor.Record.Record;
+import QueryExecutor.Record.RecordSchema;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+class PredicateTest {
+
+    private static final RecordSchema SCHEMA = new RecordSchema("id", "name", "age");
+
+    @Test
+    @DisplayName("predicate test: should render parameterized SQL with the same text for different values")
+    void shouldRenderParameterizedSql() {
+        Predicate first = Predicate.and(Predicate.eq("name", "Ivan"), Predicate.or(Predicate.lt("age", 30),
+                Predicate.isNull("age")), Predicate.not(Predicate.in("id", 1, 2, 3)));
+        Predicate second = Predicate.and(Predicate.eq("name", "Petr"), Predicate.or(Predicate.lt("age", 40),
+                Predicate.isNull("age")), Predicate.not(Predicate.in("id", 7, 8, 9, 10)));
+        Assertions.assertEquals("(name = ? AND (age < ? OR age IS NULL) AND NOT (id IN (?, ?, ?, ?)))", first.toSql());
+        Assertions.assertEquals(first.toSql(), second.toSql());
+        Assertions.assertEquals(Arrays.asList("Ivan", 30, 1, 2, 3, 3), first.getParameters());
+        WhereExpression expression = new WhereExpression();
+        expression.addCondition(Predicate.between("age", 18, 65)).and(Predicate.like("name", "I%")).and("id > 0");
+        Assertions.assertEquals("age BETWEEN ? AND ? AND name LIKE ? AND id > 0", expression.toString());
+        Assertions.assertEquals(Arrays.asList(18, 65, "I%"), expression.getParameters());
+    }
+
+    @Test
+    @DisplayName("predicate test: should evaluate records with the three-valued logic of SQL")
+    void shouldEvaluateRecords() {
+        Record ivan = new Record(SCHEMA, new Object[]{1L, "Ivan", 25});
+        Record unknown = new Record(SCHEMA, new Object[]{2L, "Petr", null});
+        Assertions.assertTrue(Predicate.eq("id", 1).test(ivan));
+        Assertions.assertTrue(Predicate.between("age", 20.5, 25).test(ivan));
+        Assertions.assertTrue(Predicate.like("name", "I_a%").test(ivan));
+        Assertions.assertFalse(Predicate.like("name", "i%").test(ivan));
+        Assertions.assertFalse(Predicate.lt("age", 30).test(unknown));
+        Assertions.assertFalse(Predicate.not(Predicate.lt("age", 30)).test(unknown));
+        Assertions.assertTrue(Predicate.or(Predicate.lt("age", 30), Predicate.eq("name", "Petr")).test(unknown));
+        Assertions.assertTrue(Predicate.isNull("age").test(unknown));
+        List<Record> adults = Arrays.asList(ivan, unknown);
+        Assertions.assertEquals(1, adults.stream().filter(Predicate.ge("age", 18)).count());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Predicate.eq("age", null));
+    }
+
+    @Test
+    @DisplayName("predicate test: should find the values a condition pins a column to")
+    void shouldFindPinnedValues() {
+        Assertions.assertEquals(Arrays.asList(7), Predicate.eq("id", 7).getPinnedValues("id"));
+        Assertions.assertEquals(Arrays.asList(1, 2), Predicate.in("id", 1, 2).getPinnedValues("id"));
+        Assertions.assertNull(Predicate.lt("id", 7).getPinnedValues("id"));
+        Assertions.assertEquals(Arrays.asList(3), Predicate.and(Predicate.in("id", 1, 2, 3), Predicate.eq("id", 3),
+                Predicate.eq("name", "Ivan")).getPinnedValues("id"));
+        Assertions.assertEquals(Arrays.asList(1, 2), Predicate.or(Predicate.eq("id", 1), Predicate.eq("id", 2))
+                .getPinnedValues("id"));
+        Assertions.assertNull(Predicate.or(Predicate.eq("id", 1), Predicate.eq("name", "Ivan")).getPinnedValues("id"));
+        Assertions.assertNull(Predicate.not(Predicate.eq("id", 1)).getPinnedValues("id"));
+        WhereExpression expression = new WhereExpression(Predicate.eq("id", 5));
+        expression.addCondition("age > 18");
+        Assertions.assertEquals(Arrays.asList(5), expression.getPinnedValues("id"));
+        WhereExpression disjunction = new WhereExpression(Predicate.eq("id", 5));
+        disjunction.addCondition("age > 18 OR name = 'Ivan'");
+        Assertions.assertNull(disjunction.getPinnedValues("id"));
+        WhereExpression alternative = new WhereExpression(Predicate.eq("id", 5));
+        alternative.addCondition(Predicate.eq("age", 18)).or(Predicate.eq("id", 6));
+        Assertions.assertNull(alternative.getPinnedValues("id"));
+    }
+}
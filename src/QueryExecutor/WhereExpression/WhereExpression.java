@@ -1,10 +1,39 @@
 package QueryExecutor.WhereExpression;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**<h1>WhereExpression class</h1>
+ * <h2>
+ * Condition of WHERE SQL keyword built from raw SQL text and typed {@link Predicate} conditions.
+ * </h2>
+ * <h3>
+ * Raw text is used as is. Values of predicates are rendered as {@code ?} and kept in {@link #getParameters()},
+ * the executor binds them to the prepared statement in the order they were added.
+ * </h3>
+ * <h3>
+ * Predicates joined by AND are remembered, so {@link #getPinnedValues(String)} can tell that the condition allows
+ * only some values of a column, for example to send a select only to the shard of those values.
+ * </h3>
+ */
 public class WhereExpression {
+    private static final Pattern DISJUNCTION = Pattern.compile("\\b(X?OR)\\b|\\|\\|", Pattern.CASE_INSENSITIVE);
+
     private final StringBuilder  expression;
+    private final List<Object> parameters;
+    private final List<Predicate> conjuncts = new ArrayList<>();
+    private boolean disjunctive;
 
     public WhereExpression() {
         expression = new StringBuilder();
+        parameters = new ArrayList<>();
+    }
+
+    public WhereExpression(Predicate predicate) {
+        this();
+        addCondition(predicate);
     }
 
     public class Condition {
@@ -16,16 +45,40 @@ public class WhereExpression {
 
         public Condition or(String condition) {
             expression.append(" OR ").append(condition);
+            disjunctive = true;
             return this;
         }
 
         public Condition and(String condition) {
             expression.append(" AND ").append(condition);
+            checkText(condition);
             return this;
         }
 
         public Condition not(String condition) {
             expression.append(" NOT ").append(condition);
+            disjunctive = true;
+            return this;
+        }
+
+        public Condition or(Predicate condition) {
+            expression.append(" OR ");
+            condition.render(expression, parameters);
+            disjunctive = true;
+            return this;
+        }
+
+        public Condition and(Predicate condition) {
+            expression.append(" AND ");
+            condition.render(expression, parameters);
+            conjuncts.add(condition);
+            return this;
+        }
+
+        public Condition not(Predicate condition) {
+            expression.append(" NOT ");
+            condition.render(expression, parameters);
+            disjunctive = true;
             return this;
         }
 
@@ -33,9 +86,49 @@ public class WhereExpression {
 
     public Condition addCondition(String condition) {
         expression.append(condition);
+        checkText(condition);
         return new Condition(expression);
     }
 
+    public Condition addCondition(Predicate condition) {
+        condition.render(expression, parameters);
+        conjuncts.add(condition);
+        return new Condition(expression);
+    }
+
+    /**
+     * @return values of the {@code ?} parameters of the expression in their order
+     */
+    public List<Object> getParameters() {
+        return Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * @param column name of the column
+     * @return values one of which the column must be equal to for the whole condition to be true, or {@code null}
+     * if no predicate joined by AND pins the column. Raw text with OR makes the answer {@code null}, since
+     * the predicates could be on one side of it
+     */
+    public List<Object> getPinnedValues(String column) {
+        if (disjunctive) {
+            return null;
+        }
+        List<Object> pinned = null;
+        for (Predicate conjunct: conjuncts) {
+            List<Object> values = conjunct.getPinnedValues(column);
+            if (values != null && (pinned == null || values.size() < pinned.size())) {
+                pinned = values;
+            }
+        }
+        return pinned;
+    }
+
+    private void checkText(String condition) {
+        if (DISJUNCTION.matcher(condition).find()) {
+            disjunctive = true;
+        }
+    }
+
     @Override
     public String toString () {
         return expression.toString();
@@ -0,0 +1,18 @@
+package QueryExecutor.WriteBehind;
+
+import QueryExecutor.Record.Record;
+
+import java.util.List;
+
+/**
+ * Receives batches that {@link WriteBehindWriter} could not write. Called on the flusher thread
+ */
+@FunctionalInterface
+public interface BatchFailureHandler {
+    /**
+     * @param tableName table of the batch
+     * @param records records of the batch, none of them is retried
+     * @param cause exception thrown by the insert
+     */
+    void onFailure(String tableName, List<Record> records, Exception cause);
+}
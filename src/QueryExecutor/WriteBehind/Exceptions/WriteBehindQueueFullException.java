@@ -0,0 +1,23 @@
+package QueryExecutor.WriteBehind.Exceptions;
+
+public class WriteBehindQueueFullException extends RuntimeException {
+    public WriteBehindQueueFullException() {
+        super();
+    }
+
+    public WriteBehindQueueFullException(String message) {
+        super(message);
+    }
+
+    public WriteBehindQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public WriteBehindQueueFullException(Throwable cause) {
+        super(cause);
+    }
+
+    protected WriteBehindQueueFullException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
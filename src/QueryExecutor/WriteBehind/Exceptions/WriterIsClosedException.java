@@ -0,0 +1,23 @@
+package QueryExecutor.WriteBehind.Exceptions;
+
+public class WriterIsClosedException extends RuntimeException {
+    public WriterIsClosedException() {
+        super();
+    }
+
+    public WriterIsClosedException(String message) {
+        super(message);
+    }
+
+    public WriterIsClosedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public WriterIsClosedException(Throwable cause) {
+        super(cause);
+    }
+
+    protected WriterIsClosedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
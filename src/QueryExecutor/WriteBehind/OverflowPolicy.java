@@ -0,0 +1,19 @@
+package QueryExecutor.WriteBehind;
+
+/**
+ * What {@link WriteBehindWriter#write(String, QueryExecutor.Record.Record)} does when the queue is full
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait until the flusher frees space in the queue
+     */
+    BLOCK,
+    /**
+     * Discard the record and return false
+     */
+    DROP,
+    /**
+     * Throw {@link QueryExecutor.WriteBehind.Exceptions.WriteBehindQueueFullException}
+     */
+    FAIL
+}
@@ -0,0 +1,78 @@
+package QueryExecutor.WriteBehind;
+
+/**<h1>WriteBehindConfig class</h1>
+ * <h2>
+ * Settings of {@link WriteBehindWriter}. Every setter returns the config itself, so settings can be chained:
+ * {@code new WriteBehindConfig().setBatchSize(1000).setLingerMillis(20)}
+ * </h2>
+ */
+public class WriteBehindConfig {
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private long lingerMillis = 50;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private BatchFailureHandler failureHandler;
+
+    /**
+     * @param queueCapacity maximum number of records waiting to be written
+     */
+    public WriteBehindConfig setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * @param batchSize number of records that are written at once without waiting for the linger time
+     */
+    public WriteBehindConfig setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @param lingerMillis how long the first record of a batch waits for more records before the batch is written
+     */
+    public WriteBehindConfig setLingerMillis(long lingerMillis) {
+        this.lingerMillis = lingerMillis;
+        return this;
+    }
+
+    public WriteBehindConfig setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * @param failureHandler receives batches that could not be written, {@code null} only counts them
+     */
+    public WriteBehindConfig setFailureHandler(BatchFailureHandler failureHandler) {
+        this.failureHandler = failureHandler;
+        return this;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public BatchFailureHandler getFailureHandler() {
+        return failureHandler;
+    }
+}
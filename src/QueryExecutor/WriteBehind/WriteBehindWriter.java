@@ -0,0 +1,265 @@
+package QueryExecutor.WriteBehind;
+
+import QueryExecutor.MySQLQueryExecutor.QueryExecutor;
+import QueryExecutor.Record.Record;
+import QueryExecutor.WriteBehind.Exceptions.WriteBehindQueueFullException;
+import QueryExecutor.WriteBehind.Exceptions.WriterIsClosedException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**<h1>WriteBehindWriter class</h1>
+ * <h2>
+ * Asynchronous insert buffer: producers put records into a bounded queue and a background flusher writes them
+ * in batches with {@link QueryExecutor#insertAll(String, List)}.
+ * </h2>
+ * <h3>
+ * The flusher takes records from the queue until {@code batchSize} records are collected or the first of them has
+ * waited {@code lingerMillis}, groups the batch by table and inserts every group. When the queue is full,
+ * {@link #write(String, Record)} blocks, drops the record or fails according to the {@link OverflowPolicy}.
+ * </h3>
+ * <h3>
+ * A batch that can not be inserted is not retried, it is given to the {@link BatchFailureHandler}.
+ * {@link #flush()} waits until every record written before it is inserted or reported as failed, {@link #close()}
+ * does the same and stops the flusher. The flusher is a daemon thread, so records that are not flushed are lost
+ * if the JVM exits without {@link #close()}.
+ * </h3>
+ */
+public class WriteBehindWriter implements AutoCloseable {
+    private final QueryExecutor executor;
+    private final WriteBehindConfig config;
+    private final BlockingQueue<Entry> queue;
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Thread flusher;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Starts the flusher thread
+     * @param executor executor the batches are inserted with
+     * @param config settings of the writer ({@link WriteBehindConfig})
+     */
+    public WriteBehindWriter(QueryExecutor executor, WriteBehindConfig config) {
+        this.executor = executor;
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.flusher = new Thread(this::runFlusher, "QueryExecutor-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Puts the record into the queue. Returns at once unless the queue is full and the policy is
+     * {@link OverflowPolicy#BLOCK}
+     * @param tableName string representation of the table name
+     * @param record a {@link Record} corresponding to the table, it must not be changed after it is written
+     * @return true if the record is queued, false if it is dropped by {@link OverflowPolicy#DROP}
+     * @throws WriteBehindQueueFullException if the queue is full and the policy is {@link OverflowPolicy#FAIL},
+     * or if the thread is interrupted while it waits for space
+     * @throws WriterIsClosedException if the writer is closed
+     */
+    public boolean write(String tableName, Record record) {
+        Entry entry = new Entry(tableName, record, null);
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new WriterIsClosedException("Write-behind writer is closed");
+            }
+            switch (config.getOverflowPolicy()) {
+                case BLOCK:
+                    queue.put(entry);
+                    return true;
+                case DROP:
+                    if (queue.offer(entry)) {
+                        return true;
+                    }
+                    dropped.increment();
+                    return false;
+                default:
+                    if (!queue.offer(entry)) {
+                        throw new WriteBehindQueueFullException("Write-behind queue is full: " + config.getQueueCapacity());
+                    }
+                    return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindQueueFullException("Interrupted while waiting for space in the queue", e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until every record written before the call is inserted or given to the failure handler
+     * @throws WriterIsClosedException if the writer is closed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new WriterIsClosedException("Write-behind writer is closed");
+            }
+            queue.put(new Entry(null, null, done));
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        done.await();
+    }
+
+    /**
+     * Stops accepting records, writes all queued records and stops the flusher. Waits for the flusher even if
+     * the thread is interrupted, the interrupt flag is restored afterwards
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        boolean interrupted = false;
+        Entry stop = new Entry(null, null, null);
+        while (true) {
+            try {
+                queue.put(stop);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return number of records waiting in the queue
+     */
+    public int getPending() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    private void runFlusher() {
+        List<Entry> batch = new ArrayList<>(config.getBatchSize());
+        while (true) {
+            Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                // only close() stops the flusher, so the queued records are never abandoned
+                continue;
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getLingerMillis());
+            while (entry != null && entry.record != null) {
+                batch.add(entry);
+                if (batch.size() >= config.getBatchSize()) {
+                    entry = null;
+                    break;
+                }
+                entry = pollUntil(deadline);
+            }
+            writeBatch(batch);
+            batch.clear();
+            if (entry != null) {
+                if (entry.done == null) {
+                    return;
+                }
+                entry.done.countDown();
+            }
+        }
+    }
+
+    /**
+     * @return next entry or {@code null} if the deadline is reached first
+     */
+    private Entry pollUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        try {
+            return remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, List<Record>> tables = new LinkedHashMap<>();
+        for (Entry entry: batch) {
+            tables.computeIfAbsent(entry.tableName, tableName -> new ArrayList<>()).add(entry.record);
+        }
+        for (Map.Entry<String, List<Record>> table: tables.entrySet()) {
+            List<Record> records = table.getValue();
+            try {
+                executor.insertAll(table.getKey(), records);
+                written.add(records.size());
+            } catch (Exception e) {
+                failed.add(records.size());
+                BatchFailureHandler handler = config.getFailureHandler();
+                if (handler != null) {
+                    try {
+                        handler.onFailure(table.getKey(), records, e);
+                    } catch (RuntimeException ignored) {
+                        // a broken handler must not stop the flusher
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Queued record, or a marker if {@code record} is {@code null}: flush marker with a latch or stop marker without it
+     */
+    private static class Entry {
+        private final String tableName;
+        private final Record record;
+        private final CountDownLatch done;
+
+        private Entry(String tableName, Record record, CountDownLatch done) {
+            this.tableName = tableName;
+            this.record = record;
+            this.done = done;
+        }
+    }
+}
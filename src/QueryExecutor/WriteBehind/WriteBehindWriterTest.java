@@ -0,0 +1,107 @@
+package QueryExecutor.WriteBehind;
+import QueryExecutor.MySQLQueryExecutor.QueryExecutor;
+import QueryExecutor.Record.Record;
+import QueryExecutor.WriteBehind.Exceptions.WriteBehindQueueFullException;
+import QueryExecutor.WriteBehind.Exceptions.WriterIsClosedException;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class WriteBehindWriterTest {
+
+    private interface InsertAnswer {
+        void answer(String tableName, List<Record> records) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static QueryExecutor fakeExecutor(InsertAnswer answer) {
+        return (QueryExecutor) Proxy.newProxyInstance(QueryExecutor.class.getClassLoader(),
+                new Class<?>[]{QueryExecutor.class}, (proxy, method, args) -> {
+                    answer.answer((String) args[0], new ArrayList<>((List<Record>) args[1]));
+                    return Collections.emptyList();
+                });
+    }
+
+    private static Record record(int id) {
+        Record record = new Record();
+        record.addField("id", id);
+        return record;
+    }
+
+    @Test
+    @DisplayName("write-behind test: should write all records grouped by table before close returns")
+    void shouldWriteAllRecordsOnClose() throws Exception {
+        List<String> batches = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindWriter writer = new WriteBehindWriter(
+                fakeExecutor((tableName, records) -> batches.add(tableName + ":" + records.size())),
+                new WriteBehindConfig().setBatchSize(4).setLingerMillis(10_000));
+        for (int i = 0; i < 3; i++) {
+            writer.write("events", record(i));
+            writer.write("audit", record(i));
+        }
+        writer.close();
+        Assertions.assertEquals(List.of("events:2", "audit:2", "events:1", "audit:1"), batches);
+        Assertions.assertEquals(6, writer.getWritten());
+        Assertions.assertEquals(0, writer.getPending());
+        Assertions.assertThrows(WriterIsClosedException.class, () -> writer.write("events", record(7)));
+    }
+
+    @Test
+    @DisplayName("write-behind test: should report a failed batch and keep writing the next ones")
+    void shouldReportFailedBatch() throws Exception {
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        try (WriteBehindWriter writer = new WriteBehindWriter(
+                fakeExecutor((tableName, records) -> {
+                    if (tableName.equals("missing")) {
+                        throw new SQLException("table does not exist");
+                    }
+                }),
+                new WriteBehindConfig().setLingerMillis(1)
+                        .setFailureHandler((tableName, records, cause) -> failures.add(tableName + ":" + records.size())))) {
+            writer.write("missing", record(1));
+            writer.write("events", record(2));
+            writer.flush();
+            Assertions.assertEquals(List.of("missing:1"), failures);
+            Assertions.assertEquals(1, writer.getFailed());
+            Assertions.assertEquals(1, writer.getWritten());
+        }
+    }
+
+    @Test
+    @DisplayName("write-behind test: should drop or reject records when the queue is full")
+    void shouldApplyOverflowPolicy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        InsertAnswer blocked = (tableName, records) -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        };
+        WriteBehindWriter dropping = new WriteBehindWriter(fakeExecutor(blocked),
+                new WriteBehindConfig().setQueueCapacity(1).setBatchSize(1).setOverflowPolicy(OverflowPolicy.DROP));
+        WriteBehindWriter failing = new WriteBehindWriter(fakeExecutor(blocked),
+                new WriteBehindConfig().setQueueCapacity(1).setBatchSize(1).setOverflowPolicy(OverflowPolicy.FAIL));
+        try {
+            dropping.write("events", record(1));
+            started.await(5, TimeUnit.SECONDS);
+            Assertions.assertTrue(dropping.write("events", record(2)));
+            Assertions.assertFalse(dropping.write("events", record(3)));
+            Assertions.assertEquals(1, dropping.getDropped());
+            failing.write("events", record(1));
+            Assertions.assertThrows(WriteBehindQueueFullException.class, () -> {
+                for (int i = 0; i < 3; i++) {
+                    failing.write("events", record(i));
+                }
+            });
+        } finally {
+            release.countDown();
+            dropping.close();
+            failing.close();
+        }
+    }
+}